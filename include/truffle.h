@@ -134,6 +134,27 @@ void *truffle_read_n_bytes(const char *bytes, int n);
 // Managed operations
 void *truffle_managed_malloc(long size);
 
+// Typed array views of native memory for other languages (no copy)
+void *truffle_export_array_i(int *array, int length);
+void *truffle_export_array_l(long *array, int length);
+void *truffle_export_array_c(char *array, int length);
+void *truffle_export_array_f(float *array, int length);
+void *truffle_export_array_d(double *array, int length);
+void *truffle_export_array_b(bool *array, int length);
+
+// Bulk copies between the elements [index, index + length) of a foreign array and native memory
+void truffle_copy_to_native_i(void *object, int index, int *target, int length);
+void truffle_copy_to_native_l(void *object, int index, long *target, int length);
+void truffle_copy_to_native_c(void *object, int index, char *target, int length);
+void truffle_copy_to_native_f(void *object, int index, float *target, int length);
+void truffle_copy_to_native_d(void *object, int index, double *target, int length);
+
+void truffle_copy_from_native_i(void *object, int index, const int *source, int length);
+void truffle_copy_from_native_l(void *object, int index, const long *source, int length);
+void truffle_copy_from_native_c(void *object, int index, const char *source, int length);
+void truffle_copy_from_native_f(void *object, int index, const float *source, int length);
+void truffle_copy_from_native_d(void *object, int index, const double *source, int length);
+
 #if defined(__cplusplus)
 }
 #endif
@@ -138,7 +138,7 @@ def executeGate():
             if t: command()
 
 def travis1(args=None):
-    """executes the first Travis job (Javac build, benchmarks, polyglot, interop, tck, asm, types, and LLVM test cases)"""
+    """executes the first Travis job (Javac build, benchmarks, polyglot, interop, tck, asm, types, nodes, and LLVM test cases)"""
     tasks = []
     with Task('BuildJavaWithJavac', tasks) as t:
         if t: mx.command_function('build')(['-p', '--warning-as-error', '--force-javac'])
@@ -154,6 +154,8 @@ def travis1(args=None):
         if t: runAsmTestCases()
     with Task('TestTypes', tasks) as t:
         if t: runTypeTestCases()
+    with Task('TestNodes', tasks) as t:
+        if t: runNodeTestCases()
     with Task('TestLLVM', tasks) as t:
         if t: runLLVMTestCases()
     with Task('TestMainArgs', tasks) as t:
@@ -198,6 +200,14 @@ def travisTestSulong(args=None):
         if t: mx.command_function('build')(['-p', '--warning-as-error', '--force-javac'])
     with Task('TestSulong', tasks) as t:
         if t: runTruffleTestCases()
+    with Task('TestFunctionSplit', tasks) as t:
+        if t: runFunctionSplitTestCases()
+    with Task('TestNoInstructionFusion', tasks) as t:
+        if t: runNoInstructionFusionTestCases()
+    with Task('TestBufferedStdio', tasks) as t:
+        if t: runBufferedStdioTestCases()
+    with Task('TestNIOMemoryMappings', tasks) as t:
+        if t: runNIOMemoryMappingsTestCases()
 
 def travisArgon2(args=None):
     """executes the argon2 Travis job (Javac build, argon2 test cases)"""
@@ -578,11 +588,32 @@ def runTruffleTestCases(args=None):
     vmArgs, _ = truffle_extract_VM_args(args)
     return unittest(getCommonUnitTestOptions() + ['-Dsulong.ExecutionCount=1000'] + vmArgs + ["com.oracle.truffle.llvm.test.SulongTestSuite"])
 
+def runFunctionSplitTestCases(args=None):
+    """runs the Sulong test suite with loops of all but the smallest functions outlined into separate call targets"""
+    return runTruffleTestCases(['-Dsulong.FunctionSplitBlockCount=2'] + (args or []))
+
+def runNoInstructionFusionTestCases(args=None):
+    """runs the Sulong test suite without instruction fusion, so that fused and unfused results are compared to the same native results"""
+    return runTruffleTestCases(['-Dsulong.InstructionFusion=false'] + (args or []))
+
+def runBufferedStdioTestCases(args=None):
+    """runs the Sulong test suite with the stdio functions buffered in Java"""
+    return runTruffleTestCases(['-Dsulong.BufferedStdio=true'] + (args or []))
+
+def runNIOMemoryMappingsTestCases(args=None):
+    """runs the Sulong test suite with the memory mapping functions substituted by NIO file mappings"""
+    return runTruffleTestCases(['-Dsulong.NIOMemoryMappings=true'] + (args or []))
+
 def runTypeTestCases(args=None):
     """runs the type test cases"""
     vmArgs, _ = truffle_extract_VM_args(args)
     return unittest(getCommonUnitTestOptions() + vmArgs + ['com.oracle.truffle.llvm.types.floating.test'])
 
+def runNodeTestCases(args=None):
+    """runs the node test cases"""
+    vmArgs, _ = truffle_extract_VM_args(args)
+    return unittest(getCommonUnitTestOptions() + vmArgs + ['com.oracle.truffle.llvm.test.nodes'])
+
 def runLifetimeTestCases(args=None):
     """runs the lifetime analysis test cases"""
     ensureLifetimeReferenceExists()
@@ -945,6 +976,13 @@ def suBench(args=None):
     compileWithClang(['-S', '-emit-llvm', '-o', 'test.ll', sulongArgs[0]])
     return runLLVM(getBenchmarkOptions() + ['test.ll'] + vmArgs)
 
+def suJmh(args=None):
+    """runs the JMH microbenchmarks of the runtime types and the interop paths, passing the arguments on to JMH"""
+    ensureLLVMBinariesExist()
+    vmArgs, jmhArgs = truffle_extract_VM_args(args)
+    classpath = mx.classpath('com.oracle.truffle.llvm.bench.jmh', jdk=mx.get_jdk(tag='jvmci'))
+    return mx.run_java(getCommonOptions() + [getLLVMRootOption()] + vmArgs + ['-cp', classpath, '-XX:-UseJVMCIClassLoader', 'org.openjdk.jmh.Main'] + jmhArgs, jdk=mx.get_jdk(tag='jvmci'))
+
 def getStandardLLVMOptFlags():
     """gets the optimal LLVM opt flags for Sulong"""
     return ['-mem2reg', '-globalopt', '-simplifycfg', '-constprop', '-instcombine', '-dse', '-loop-simplify', '-reassociate', '-licm', '-gvn']
@@ -1123,8 +1161,13 @@ testCases = {
     'gcc' : runGCCTestCases,
     'llvm' : runLLVMTestCases,
     'sulong' : runTruffleTestCases,
+    'function-split' : runFunctionSplitTestCases,
+    'no-fusion' : runNoInstructionFusionTestCases,
+    'buffered-stdio' : runBufferedStdioTestCases,
+    'nio-mmap' : runNIOMemoryMappingsTestCases,
     'nwcc' : runNWCCTestCases,
     'types' : runTypeTestCases,
+    'nodes' : runNodeTestCases,
     'polyglot' : runPolyglotTestCases,
     'interop' : runInteropTestCases,
     'tck' : runTckTestCases,
@@ -1155,6 +1198,7 @@ originalBuildCommand = mx.command_function('build')
 mx.update_commands(_suite, {
     'suoptbench' : [suOptBench, ''],
     'subench' : [suBench, ''],
+    'su-jmh' : [suJmh, ''],
     'clangbench' : [clangBench, ''],
     'gccbench' : [gccBench, ''],
     'build' : [sulongBuild, ''],
@@ -256,6 +256,24 @@ suite = {
       "license" : "BSD-new",
     },
 
+    "com.oracle.truffle.llvm.bench.jmh" : {
+      "subDir" : "projects",
+      "sourceDirs" : ["src"],
+      "dependencies" : [
+        "com.oracle.truffle.llvm",
+        "com.oracle.truffle.llvm.tools",
+        "com.oracle.truffle.llvm.parser.factories",
+        "com.oracle.truffle.llvm.nodes.impl",
+        "com.oracle.truffle.llvm.types",
+        "mx:JMH",
+      ],
+      "checkstyle" : "com.oracle.truffle.llvm",
+      "javaCompliance" : "1.8",
+      "annotationProcessors" : ["mx:JMH"],
+      "workingSets" : "Truffle, LLVM",
+      "license" : "BSD-new",
+    },
+
     "com.oracle.truffle.llvm.tools" : {
       "subDir" : "projects",
       "sourceDirs" : ["src"],
@@ -480,6 +498,20 @@ suite = {
       "license" : "BSD-new",
     },
 
+    "com.oracle.truffle.llvm.upcall.native" : {
+      "subDir" : "projects",
+      "native" : True,
+      "vpath" : True,
+      "results" : [
+        "bin/libupcall.so"
+      ],
+      "dependencies" : [
+        "com.oracle.truffle.llvm.nodes.impl",
+      ],
+      "checkstyle" : "com.oracle.truffle.llvm",
+      "license" : "BSD-new",
+    },
+
     "com.oracle.truffle.llvm.option" : {
       "subDir" : "projects",
       "sourceDirs" : ["src"],
@@ -0,0 +1,72 @@
+#include <truffle.h>
+
+int read_by_name(void *object, int operations) {
+  int sum = 0;
+  for (int i = 0; i < operations; i++) {
+    sum += truffle_read_i(object, "value");
+  }
+  return sum;
+}
+
+int write_by_name(void *object, int operations) {
+  for (int i = 0; i < operations; i++) {
+    truffle_write_i(object, "value", i);
+  }
+  return truffle_read_i(object, "value");
+}
+
+int read_by_index(void *array, int length, int operations) {
+  int sum = 0;
+  for (int i = 0; i < operations; i++) {
+    sum += truffle_read_idx_i(array, i % length);
+  }
+  return sum;
+}
+
+int write_by_index(void *array, int length, int operations) {
+  for (int i = 0; i < operations; i++) {
+    truffle_write_idx_i(array, i % length, i);
+  }
+  return truffle_read_idx_i(array, 0);
+}
+
+int invoke(void *object, int operations) {
+  int sum = 0;
+  for (int i = 0; i < operations; i++) {
+    sum += truffle_invoke_i(object, "add", 1);
+  }
+  return sum;
+}
+
+int execute(void *function, int operations) {
+  int sum = 0;
+  for (int i = 0; i < operations; i++) {
+    sum += truffle_execute_i(function, i);
+  }
+  return sum;
+}
+
+long managed_malloc(int operations) {
+  long sum = 0;
+  for (int i = 0; i < operations; i++) {
+    long *values = (long *)truffle_managed_malloc(4 * sizeof(long));
+    values[0] = i;
+    values[3] = values[0] + 1;
+    sum += values[3];
+  }
+  return sum;
+}
+
+long iterate_pointer(long *array, int length, int operations) {
+  long sum = 0;
+  for (int i = 0; i < operations / length; i++) {
+    for (int j = 0; j < length; j++) {
+      sum += array[j];
+    }
+  }
+  return sum;
+}
+
+int add_ints(int a, int b) { return a + b; }
+
+int main() { return 0; }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.java.JavaInterop;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.llvm.runtime.options.LLVMOptions;
+import com.oracle.truffle.llvm.tools.Clang;
+import com.oracle.truffle.llvm.tools.Clang.ClangOptions;
+import com.oracle.truffle.llvm.tools.Opt;
+import com.oracle.truffle.llvm.tools.Opt.OptOptions;
+import com.oracle.truffle.llvm.tools.Opt.OptOptions.Pass;
+
+/**
+ * Measures the interop paths between Sulong and Java. Except for the foreign call, each benchmark
+ * calls a C function that loops over the operations and calls back into Java, so the time is
+ * reported per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InteropBenchmark {
+
+    private static final File BENCHMARKS_DIR = new File(LLVMOptions.ENGINE.projectRoot() + File.separator + InteropBenchmark.class.getPackage().getName(), "benchmarks");
+
+    private static final int ARRAY_LENGTH = 64;
+    private static final int OPERATIONS = 10000;
+
+    private PolyglotEngine engine;
+    private TruffleObject counter;
+    private TruffleObject ints;
+    private TruffleObject longs;
+    private TruffleObject increment;
+    private PolyglotEngine.Value readByName;
+    private PolyglotEngine.Value writeByName;
+    private PolyglotEngine.Value readByIndex;
+    private PolyglotEngine.Value writeByIndex;
+    private PolyglotEngine.Value invoke;
+    private PolyglotEngine.Value execute;
+    private PolyglotEngine.Value managedMalloc;
+    private PolyglotEngine.Value iteratePointer;
+    private PolyglotEngine.Value addInts;
+    private int sum;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        engine = PolyglotEngine.newBuilder().build();
+        engine.eval(Source.newBuilder(compile("interop")).build());
+        counter = JavaInterop.asTruffleObject(new Counter());
+        ints = JavaInterop.asTruffleObject(new int[ARRAY_LENGTH]);
+        long[] longValues = new long[ARRAY_LENGTH];
+        Arrays.fill(longValues, 1);
+        longs = JavaInterop.asTruffleObject(longValues);
+        increment = JavaInterop.asTruffleFunction(IntFunction.class, x -> x + 1);
+        readByName = engine.findGlobalSymbol("read_by_name");
+        writeByName = engine.findGlobalSymbol("write_by_name");
+        readByIndex = engine.findGlobalSymbol("read_by_index");
+        writeByIndex = engine.findGlobalSymbol("write_by_index");
+        invoke = engine.findGlobalSymbol("invoke");
+        execute = engine.findGlobalSymbol("execute");
+        managedMalloc = engine.findGlobalSymbol("managed_malloc");
+        iteratePointer = engine.findGlobalSymbol("iterate_pointer");
+        addInts = engine.findGlobalSymbol("add_ints");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.dispose();
+    }
+
+    private static File compile(String name) throws IOException {
+        File cFile = new File(BENCHMARKS_DIR, name + ".c");
+        File bcFile = File.createTempFile("bc_" + name, ".ll");
+        File bcOptFile = File.createTempFile("bcopt_" + name, ".ll");
+        bcFile.deleteOnExit();
+        bcOptFile.deleteOnExit();
+        Clang.compileToLLVMIR(cFile, bcFile, ClangOptions.builder());
+        Opt.optimizeBitcodeFile(bcFile, bcOptFile, OptOptions.builder().pass(Pass.MEM_TO_REG));
+        return bcOptFile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object readByName() throws IOException {
+        return readByName.execute(counter, OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object writeByName() throws IOException {
+        return writeByName.execute(counter, OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object readByIndex() throws IOException {
+        return readByIndex.execute(ints, ARRAY_LENGTH, OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object writeByIndex() throws IOException {
+        return writeByIndex.execute(ints, ARRAY_LENGTH, OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object invoke() throws IOException {
+        return invoke.execute(counter, OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object execute() throws IOException {
+        return execute.execute(increment, OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object managedMalloc() throws IOException {
+        return managedMalloc.execute(OPERATIONS).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Object pointerIteration() throws IOException {
+        return iteratePointer.execute(longs, ARRAY_LENGTH, OPERATIONS).get();
+    }
+
+    @Benchmark
+    public int foreignCall() throws IOException {
+        sum = ((Number) addInts.execute(sum, 1).get()).intValue();
+        return sum;
+    }
+
+    public static final class Counter {
+        public int value;
+
+        public int add(int x) {
+            value += x;
+            return value;
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntFunction {
+        int apply(int x);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
+import com.oracle.truffle.llvm.types.memory.LLVMStack.AllocationResult;
+
+/**
+ * Measures the raw memory primitives that the load, store, memcpy, and alloca nodes are built on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MemoryBenchmark {
+
+    private static final int I64_SIZE = 8;
+    private static final int STACK_SIZE = 1024 * 1024;
+    private static final int ALLOCA_SIZE = 24;
+    private static final int ALLOCA_ALIGNMENT = 8;
+
+    @Param({"16", "256", "4096"}) public int copySize;
+
+    private LLVMAddress source;
+    private LLVMAddress target;
+    private LLVMStack stack;
+    private LLVMAddress stackPointer;
+    private long value;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = LLVMHeap.allocateZeroedMemory(copySize);
+        target = LLVMHeap.allocateZeroedMemory(copySize);
+        stack = new LLVMStack();
+        stackPointer = stack.allocate(STACK_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LLVMHeap.freeMemory(source);
+        LLVMHeap.freeMemory(target);
+        stack.free();
+    }
+
+    @Benchmark
+    public int getPutI32() {
+        int loaded = LLVMMemory.getI32(source);
+        LLVMMemory.putI32(target, loaded + 1);
+        return loaded;
+    }
+
+    @Benchmark
+    public long getPutI64() {
+        long loaded = LLVMMemory.getI64(source);
+        LLVMMemory.putI64(target, loaded + value++);
+        return loaded;
+    }
+
+    @Benchmark
+    public double getPutDouble() {
+        double loaded = LLVMMemory.getDouble(source);
+        LLVMMemory.putDouble(target, loaded + 1);
+        return loaded;
+    }
+
+    @Benchmark
+    public long getPutI64Array() {
+        long sum = 0;
+        for (int offset = 0; offset + I64_SIZE <= copySize; offset += I64_SIZE) {
+            long loaded = LLVMMemory.getI64(source.increment(offset));
+            LLVMMemory.putI64(target.increment(offset), loaded);
+            sum += loaded;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public LLVMAddress memCopy() {
+        LLVMHeap.memCopy(target, source, copySize);
+        return target;
+    }
+
+    @Benchmark
+    public LLVMAddress stackAllocate() {
+        AllocationResult result = stack.allocateMemory(stackPointer, ALLOCA_SIZE, ALLOCA_ALIGNMENT);
+        return result.getAllocatedMemory();
+    }
+}
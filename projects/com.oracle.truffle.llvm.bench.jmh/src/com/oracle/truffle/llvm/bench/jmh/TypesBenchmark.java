@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMIVarBit;
+import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.vector.LLVMDoubleVector;
+import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
+
+/**
+ * Measures the arithmetic of the value types that have no direct Java counterpart.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypesBenchmark {
+
+    private static final int VAR_BIT_WIDTH = 128;
+    private static final int I32_SIZE = 4;
+    private static final int DOUBLE_SIZE = 8;
+    private static final int VECTORS_PER_TYPE = 3;
+
+    private static final long VAR_BIT_LEFT = 123456789L;
+    private static final long VAR_BIT_RIGHT = 987654321L;
+    private static final double FLOAT_LEFT = 3.25;
+    private static final double FLOAT_RIGHT = 1.5;
+    private static final int[] I32_LEFT = {1, 2, 3, 4};
+    private static final int[] I32_RIGHT = {5, 6, 7, 8};
+    private static final double[] DOUBLE_LEFT = {1.0, 2.0, 3.0, 4.0};
+    private static final double[] DOUBLE_RIGHT = {0.5, 0.25, 0.125, 0.0625};
+
+    private LLVMIVarBit varBitLeft;
+    private LLVMIVarBit varBitRight;
+
+    private LLVM80BitFloat floatLeft;
+    private LLVM80BitFloat floatRight;
+
+    private LLVMAddress vectorMemory;
+    private LLVMAddress i32Target;
+    private LLVMAddress doubleTarget;
+    private LLVMI32Vector i32Left;
+    private LLVMI32Vector i32Right;
+    private LLVMDoubleVector doubleLeft;
+    private LLVMDoubleVector doubleRight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        varBitLeft = LLVMIVarBit.fromLong(VAR_BIT_WIDTH, VAR_BIT_LEFT);
+        varBitRight = LLVMIVarBit.fromLong(VAR_BIT_WIDTH, VAR_BIT_RIGHT);
+        floatLeft = LLVM80BitFloat.fromDouble(FLOAT_LEFT);
+        floatRight = LLVM80BitFloat.fromDouble(FLOAT_RIGHT);
+
+        int i32Bytes = I32_LEFT.length * I32_SIZE;
+        int doubleBytes = DOUBLE_LEFT.length * DOUBLE_SIZE;
+        vectorMemory = LLVMHeap.allocateMemory(VECTORS_PER_TYPE * (i32Bytes + doubleBytes));
+        LLVMAddress current = vectorMemory;
+        i32Left = LLVMI32Vector.fromI32Array(current, I32_LEFT);
+        current = current.increment(i32Bytes);
+        i32Right = LLVMI32Vector.fromI32Array(current, I32_RIGHT);
+        current = current.increment(i32Bytes);
+        i32Target = current;
+        current = current.increment(i32Bytes);
+        doubleLeft = LLVMDoubleVector.fromDoubleArray(current, DOUBLE_LEFT);
+        current = current.increment(doubleBytes);
+        doubleRight = LLVMDoubleVector.fromDoubleArray(current, DOUBLE_RIGHT);
+        current = current.increment(doubleBytes);
+        doubleTarget = current;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LLVMHeap.freeMemory(vectorMemory);
+    }
+
+    @Benchmark
+    public LLVMIVarBit varBitAdd() {
+        return varBitLeft.add(varBitRight);
+    }
+
+    @Benchmark
+    public LLVMIVarBit varBitMul() {
+        return varBitLeft.mul(varBitRight);
+    }
+
+    @Benchmark
+    public LLVMIVarBit varBitDiv() {
+        return varBitRight.div(varBitLeft);
+    }
+
+    @Benchmark
+    public LLVM80BitFloat float80Add() {
+        return floatLeft.add(floatRight);
+    }
+
+    @Benchmark
+    public LLVM80BitFloat float80Mul() {
+        return floatLeft.mul(floatRight);
+    }
+
+    @Benchmark
+    public LLVM80BitFloat float80Div() {
+        return floatLeft.div(floatRight);
+    }
+
+    @Benchmark
+    public LLVMI32Vector i32VectorAdd() {
+        return i32Left.add(i32Target, i32Right);
+    }
+
+    @Benchmark
+    public LLVMI32Vector i32VectorMul() {
+        return i32Left.mul(i32Target, i32Right);
+    }
+
+    @Benchmark
+    public LLVMDoubleVector doubleVectorAdd() {
+        return doubleLeft.add(doubleTarget, doubleRight);
+    }
+
+    @Benchmark
+    public LLVMDoubleVector doubleVectorMul() {
+        return doubleLeft.mul(doubleTarget, doubleRight);
+    }
+}
@@ -37,11 +37,10 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ControlFlowException;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
-import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
-import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
 import com.oracle.truffle.llvm.runtime.LLVMLogger;
 import com.oracle.truffle.llvm.runtime.options.LLVMOptions;
 
@@ -160,12 +159,12 @@ public class LLVMBasicBlockNode extends LLVMNode {
 
     @Override
     public String getSourceDescription() {
-        LLVMFunctionStartNode functionStartNode = NodeUtil.findParent(this, LLVMFunctionStartNode.class);
-        assert functionStartNode != null : getParent().getClass();
+        RootNode functionRootNode = getRootNode();
+        assert functionRootNode != null : getParent().getClass();
         if (blockId == 0) {
-            return String.format("first basic block in function %s", functionStartNode.getFunctionName());
+            return String.format("first basic block in function %s", functionRootNode.getName());
         } else {
-            return String.format("basic block %s in function %s", blockName, functionStartNode.getFunctionName());
+            return String.format("basic block %s in function %s", blockName, functionRootNode.getName());
         }
     }
 
@@ -174,6 +173,14 @@ public class LLVMBasicBlockNode extends LLVMNode {
         return String.format(FORMAT_STRING, blockId, statements.length, Arrays.toString(termInstruction.getSuccessors()));
     }
 
+    public LLVMNode[] getStatements() {
+        return statements;
+    }
+
+    public LLVMTerminatorNode getTerminator() {
+        return termInstruction;
+    }
+
     public int getBlockId() {
         return blockId;
     }
@@ -45,6 +45,11 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.llvm.nativeint.NativeLookup;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMThread;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMUpcallStubs;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMMemoryMappings;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMNativeFunctions;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdio;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMImportCache;
 import com.oracle.truffle.llvm.parser.base.facade.NodeFactoryFacade;
 import com.oracle.truffle.llvm.types.LLVMFunction;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
@@ -66,6 +71,12 @@ public class LLVMContext extends ExecutionContext {
 
     private final LLVMStack stack = new LLVMStack();
 
+    private final LLVMNativeFunctions nativeFunctions = new LLVMNativeFunctions();
+    private final LLVMStdio stdio = new LLVMStdio(this);
+    private final LLVMMemoryMappings memoryMappings = new LLVMMemoryMappings(nativeFunctions);
+    private final LLVMImportCache importCache = new LLVMImportCache();
+    private final LLVMUpcallStubs upcallStubs = new LLVMUpcallStubs(stack);
+
     private Object[] mainArguments;
 
     private Source mainSourceFile;
@@ -118,6 +129,20 @@ public class LLVMContext extends ExecutionContext {
         return getNativeLookup().getNativeHandle(functionName);
     }
 
+    /**
+     * Returns the address of a native stub that calls a Sulong function whose pointer is passed to
+     * a native function, or 0 if the function cannot be called from native code. Throws an
+     * {@link com.oracle.truffle.llvm.runtime.LLVMUnsupportedException} if all stubs are in use.
+     */
+    public long getUpcallStub(LLVMFunctionDescriptor function) {
+        CompilerAsserts.neverPartOfCompilation();
+        RootCallTarget callTarget = getFunction(function);
+        if (callTarget == null) {
+            return 0;
+        }
+        return upcallStubs.getStub(getFunctionDescriptor(function), callTarget);
+    }
+
     public Map<LLVMFunction, Integer> getNativeFunctionLookupStats() {
         return getNativeLookup().getNativeFunctionLookupStats();
     }
@@ -126,6 +151,26 @@ public class LLVMContext extends ExecutionContext {
         return stack;
     }
 
+    public LLVMNativeFunctions getNativeFunctions() {
+        return nativeFunctions;
+    }
+
+    public LLVMStdio getStdio() {
+        return stdio;
+    }
+
+    public LLVMMemoryMappings getMemoryMappings() {
+        return memoryMappings;
+    }
+
+    public LLVMImportCache getImportCache() {
+        return importCache;
+    }
+
+    public LLVMUpcallStubs getUpcallStubs() {
+        return upcallStubs;
+    }
+
     public void setMainArguments(Object[] mainArguments) {
         this.mainArguments = mainArguments;
     }
@@ -31,6 +31,7 @@ package com.oracle.truffle.llvm.nodes.impl.cast;
 
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVM80BitFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
@@ -40,7 +41,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 
-public abstract class LLVMTo80BitFloatingNode extends LLVM80BitFloatNode {
+public abstract class LLVMTo80BitFloatingNode extends LLVM80BitFloatNode implements LLVMSideEffectFreeNode {
 
     @NodeChild(value = "fromNode", type = LLVMI8Node.class)
     public abstract static class LLVMI8ToLLVM80BitFloatNode extends LLVMTo80BitFloatingNode {
@@ -33,13 +33,14 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 
-public abstract class LLVMToAddressNode extends LLVMAddressNode {
+public abstract class LLVMToAddressNode extends LLVMAddressNode implements LLVMSideEffectFreeNode {
 
     @NodeChild(value = "fromNode", type = LLVMI1Node.class)
     public abstract static class LLVMI1ToAddressNode extends LLVMToAddressNode {
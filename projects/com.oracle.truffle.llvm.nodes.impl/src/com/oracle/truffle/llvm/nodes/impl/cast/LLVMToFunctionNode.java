@@ -33,11 +33,12 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 
-public abstract class LLVMToFunctionNode extends LLVMFunctionNode {
+public abstract class LLVMToFunctionNode extends LLVMFunctionNode implements LLVMSideEffectFreeNode {
 
     @NodeChild(value = "fromNode", type = LLVMI64Node.class)
     public abstract static class LLVMI64ToFunctionNode extends LLVMToFunctionNode {
@@ -31,6 +31,7 @@ package com.oracle.truffle.llvm.nodes.impl.cast;
 
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
@@ -42,7 +43,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 public abstract class LLVMToI1Node {
 
     @NodeChild(value = "fromNode", type = LLVMI8Node.class)
-    public abstract static class LLVMI8ToI1Node extends LLVMI1Node {
+    public abstract static class LLVMI8ToI1Node extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public boolean executeI1(byte from) {
@@ -51,7 +52,7 @@ public abstract class LLVMToI1Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMI16Node.class)
-    public abstract static class LLVMI16ToI1Node extends LLVMI1Node {
+    public abstract static class LLVMI16ToI1Node extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public boolean executeI1(short from) {
@@ -60,7 +61,7 @@ public abstract class LLVMToI1Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMI32Node.class)
-    public abstract static class LLVMI32ToI1Node extends LLVMI1Node {
+    public abstract static class LLVMI32ToI1Node extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public boolean executeI1(int from) {
@@ -69,7 +70,7 @@ public abstract class LLVMToI1Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMI64Node.class)
-    public abstract static class LLVMI64ToI1Node extends LLVMI1Node {
+    public abstract static class LLVMI64ToI1Node extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public boolean executeI1(long from) {
@@ -78,7 +79,7 @@ public abstract class LLVMToI1Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMFloatNode.class)
-    public abstract static class LLVMFloatToI1Node extends LLVMI1Node {
+    public abstract static class LLVMFloatToI1Node extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public boolean executeI1(float from) {
@@ -87,7 +88,7 @@ public abstract class LLVMToI1Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMDoubleNode.class)
-    public abstract static class LLVMDoubleToI1Node extends LLVMI1Node {
+    public abstract static class LLVMDoubleToI1Node extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public boolean executeI1(double from) {
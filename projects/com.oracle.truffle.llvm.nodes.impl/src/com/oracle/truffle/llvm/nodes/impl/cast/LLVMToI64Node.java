@@ -39,6 +39,7 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
@@ -138,7 +139,7 @@ public abstract class LLVMToI64Node extends LLVMI64Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMDoubleNode.class)
-    public abstract static class LLVMDoubleToI64BitCastNode extends LLVMToI64Node {
+    public abstract static class LLVMDoubleToI64BitCastNode extends LLVMToI64Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public long executeI64(double from) {
@@ -147,7 +148,7 @@ public abstract class LLVMToI64Node extends LLVMI64Node {
     }
 
     @NodeChild(value = "fromNode", type = LLVMExpressionNode.class)
-    public abstract static class LLVMToI64ZeroExtNode extends LLVMToI64Node {
+    public abstract static class LLVMToI64ZeroExtNode extends LLVMToI64Node implements LLVMSideEffectFreeNode {
 
         @Specialization
         public long executeI64(boolean from) {
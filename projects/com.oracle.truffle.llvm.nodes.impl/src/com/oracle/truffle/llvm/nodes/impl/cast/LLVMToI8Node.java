@@ -32,6 +32,7 @@ package com.oracle.truffle.llvm.nodes.impl.cast;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVM80BitFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
@@ -45,7 +46,7 @@ import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 
-public abstract class LLVMToI8Node extends LLVMI8Node {
+public abstract class LLVMToI8Node extends LLVMI8Node implements LLVMSideEffectFreeNode {
 
     @NodeChild(value = "fromNode", type = LLVMI1Node.class)
     public abstract static class LLVMI1ToI8Node extends LLVMToI8Node {
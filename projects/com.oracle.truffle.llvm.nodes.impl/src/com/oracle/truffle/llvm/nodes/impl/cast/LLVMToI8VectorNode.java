@@ -34,6 +34,7 @@ import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI16VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
@@ -45,7 +46,7 @@ import com.oracle.truffle.llvm.types.vector.LLVMI64Vector;
 import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
 import com.oracle.truffle.llvm.types.vector.LLVMVector;
 
-public abstract class LLVMToI8VectorNode extends LLVMI8VectorNode {
+public abstract class LLVMToI8VectorNode extends LLVMI8VectorNode implements LLVMSideEffectFreeNode {
 
     @ExplodeLoop
     protected LLVMI8Vector executeI8VectorBody(LLVMAddress target, LLVMVector<? extends Number> from) {
@@ -29,6 +29,8 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.control;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -312,4 +314,186 @@ public abstract class LLVMSwitchNode extends LLVMTerminatorNode {
 
     }
 
+    /**
+     * A switch whose case values are all constants. Instead of comparing the condition with every
+     * case value, it looks the condition up in a table if the case values form a compact range, and
+     * otherwise does a binary search over the sorted case values. The case that was found is then
+     * profiled like in the profiling switch nodes, with one counting profile per case.
+     */
+    public abstract static class LLVMConstantSwitchNode extends LLVMSwitchNode {
+
+        private static final int NO_CASE = -1;
+        private static final int MAX_TABLE_ENTRIES_PER_CASE = 4;
+
+        private final long minValue;
+        @CompilationFinal private final int[] caseTable;
+        @CompilationFinal private final long[] sortedValues;
+        @CompilationFinal private final int[] sortedCaseIndices;
+        @CompilationFinal private final ConditionProfile[] profiles;
+
+        public LLVMConstantSwitchNode(long[] caseValues, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(defaultLabel, successors, phiWriteNodes);
+            profiles = createProfiles(caseValues.length);
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (long caseValue : caseValues) {
+                min = Math.min(min, caseValue);
+                max = Math.max(max, caseValue);
+            }
+            long range = max - min;
+            minValue = min;
+            if (range >= 0 && range < (long) caseValues.length * MAX_TABLE_ENTRIES_PER_CASE) {
+                caseTable = createCaseTable(caseValues, min, (int) range + 1);
+                sortedValues = null;
+                sortedCaseIndices = null;
+            } else {
+                caseTable = null;
+                sortedCaseIndices = getSortedCaseIndices(caseValues);
+                sortedValues = new long[sortedCaseIndices.length];
+                for (int i = 0; i < sortedValues.length; i++) {
+                    sortedValues[i] = caseValues[sortedCaseIndices[i]];
+                }
+            }
+        }
+
+        private static int[] createCaseTable(long[] caseValues, long min, int length) {
+            CompilerAsserts.neverPartOfCompilation();
+            int[] table = new int[length];
+            Arrays.fill(table, NO_CASE);
+            // iterate backwards so that the first of several equal case values is taken
+            for (int i = caseValues.length - 1; i >= 0; i--) {
+                table[(int) (caseValues[i] - min)] = i;
+            }
+            return table;
+        }
+
+        private static int[] getSortedCaseIndices(long[] caseValues) {
+            CompilerAsserts.neverPartOfCompilation();
+            Integer[] indices = new Integer[caseValues.length];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = i;
+            }
+            // the sort is stable, so the first of several equal case values comes first
+            Arrays.sort(indices, (a, b) -> Long.compare(caseValues[a], caseValues[b]));
+            int[] uniqueIndices = new int[indices.length];
+            int length = 0;
+            for (int i = 0; i < indices.length; i++) {
+                if (length == 0 || caseValues[uniqueIndices[length - 1]] != caseValues[indices[i]]) {
+                    uniqueIndices[length++] = indices[i];
+                }
+            }
+            return Arrays.copyOf(uniqueIndices, length);
+        }
+
+        abstract long executeCondition(VirtualFrame frame);
+
+        @Override
+        public int executeGetSuccessorIndex(VirtualFrame frame) {
+            long val = executeCondition(frame);
+            executePhiWrites(frame);
+            int caseIndex = caseTable != null ? lookupCase(val) : searchCase(val);
+            return profileCase(caseIndex);
+        }
+
+        @ExplodeLoop
+        private int profileCase(int caseIndex) {
+            for (int i = 0; i < profiles.length; i++) {
+                if (profiles[i].profile(caseIndex == i)) {
+                    return i + CASE_LABEL_START_INDEX;
+                }
+            }
+            return DEFAULT_LABEL_INDEX;
+        }
+
+        private int lookupCase(long val) {
+            long offset = val - minValue;
+            if (offset < 0 || offset >= caseTable.length) {
+                return NO_CASE;
+            }
+            return caseTable[(int) offset];
+        }
+
+        private int searchCase(long val) {
+            int low = 0;
+            int high = sortedValues.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midValue = sortedValues[mid];
+                if (midValue < val) {
+                    low = mid + 1;
+                } else if (midValue > val) {
+                    high = mid - 1;
+                } else {
+                    return sortedCaseIndices[mid];
+                }
+            }
+            return NO_CASE;
+        }
+
+    }
+
+    public static class LLVMI8ConstantSwitchNode extends LLVMConstantSwitchNode {
+
+        @Child private LLVMI8Node cond;
+
+        public LLVMI8ConstantSwitchNode(LLVMI8Node cond, long[] caseValues, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(caseValues, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI8(frame);
+        }
+
+    }
+
+    public static class LLVMI16ConstantSwitchNode extends LLVMConstantSwitchNode {
+
+        @Child private LLVMI16Node cond;
+
+        public LLVMI16ConstantSwitchNode(LLVMI16Node cond, long[] caseValues, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(caseValues, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI16(frame);
+        }
+
+    }
+
+    public static class LLVMI32ConstantSwitchNode extends LLVMConstantSwitchNode {
+
+        @Child private LLVMI32Node cond;
+
+        public LLVMI32ConstantSwitchNode(LLVMI32Node cond, long[] caseValues, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(caseValues, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI32(frame);
+        }
+
+    }
+
+    public static class LLVMI64ConstantSwitchNode extends LLVMConstantSwitchNode {
+
+        @Child private LLVMI64Node cond;
+
+        public LLVMI64ConstantSwitchNode(LLVMI64Node cond, long[] caseValues, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(caseValues, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI64(frame);
+        }
+
+    }
+
 }
@@ -72,7 +72,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public boolean executeI1(VirtualFrame frame) {
-            return (boolean) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return LLVMCallNode.getPrimitiveArgument(arguments, getIndex()) != 0;
+            }
+            return (boolean) arguments[getIndex()];
         }
 
     }
@@ -85,7 +89,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public byte executeI8(VirtualFrame frame) {
-            return (byte) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return (byte) LLVMCallNode.getPrimitiveArgument(arguments, getIndex());
+            }
+            return (byte) arguments[getIndex()];
         }
 
     }
@@ -98,7 +106,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public short executeI16(VirtualFrame frame) {
-            return (short) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return (short) LLVMCallNode.getPrimitiveArgument(arguments, getIndex());
+            }
+            return (short) arguments[getIndex()];
         }
 
     }
@@ -111,7 +123,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public int executeI32(VirtualFrame frame) {
-            return (int) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return (int) LLVMCallNode.getPrimitiveArgument(arguments, getIndex());
+            }
+            return (int) arguments[getIndex()];
         }
 
     }
@@ -124,7 +140,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public long executeI64(VirtualFrame frame) {
-            return (long) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return LLVMCallNode.getPrimitiveArgument(arguments, getIndex());
+            }
+            return (long) arguments[getIndex()];
         }
 
     }
@@ -150,7 +170,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public float executeFloat(VirtualFrame frame) {
-            return (float) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return Float.intBitsToFloat((int) LLVMCallNode.getPrimitiveArgument(arguments, getIndex()));
+            }
+            return (float) arguments[getIndex()];
         }
 
     }
@@ -163,7 +187,11 @@ public class LLVMArgNode {
         @Specialization
         @Override
         public double executeDouble(VirtualFrame frame) {
-            return (double) frame.getArguments()[getIndex()];
+            Object[] arguments = frame.getArguments();
+            if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+                return Double.longBitsToDouble(LLVMCallNode.getPrimitiveArgument(arguments, getIndex()));
+            }
+            return (double) arguments[getIndex()];
         }
 
     }
@@ -186,6 +214,12 @@ public class LLVMArgNode {
 
         public abstract int getIndex();
 
+        @Specialization(guards = "isPrimitive(frame)")
+        public Object executePrimitive(VirtualFrame frame) {
+            // allocates no more than the copy of a passed address object in executePointee
+            return LLVMAddress.fromLong(LLVMCallNode.getPrimitiveArgument(frame.getArguments(), getIndex()));
+        }
+
         @Specialization(guards = "isAddress(frame)")
         public Object executePointee(VirtualFrame frame) {
             /*
@@ -196,6 +230,10 @@ public class LLVMArgNode {
             return ((LLVMAddress) frame.getArguments()[getIndex()]).copy();
         }
 
+        public boolean isPrimitive(VirtualFrame frame) {
+            return LLVMCallNode.hasPrimitiveArguments(frame.getArguments());
+        }
+
         public boolean isAddress(VirtualFrame frame) {
             return frame.getArguments()[getIndex()] instanceof LLVMAddress;
         }
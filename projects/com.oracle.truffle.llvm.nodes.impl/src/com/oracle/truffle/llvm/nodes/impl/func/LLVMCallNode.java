@@ -35,6 +35,7 @@ import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
@@ -57,6 +58,13 @@ import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVM80BitFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI64NodeFactory.LLVMAnyToI64NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNodeFactory.LLVMFunctionCallChainNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMNativeCallConvertNode.LLVMResolvedNative80BitFloatCallNode;
@@ -71,22 +79,87 @@ import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
 
 public abstract class LLVMCallNode {
 
     public static final int ARG_START_INDEX = 1;
 
-    private static Object doExecute(VirtualFrame frame, Node foreignExecute, TruffleObject value, Object[] rawArgs, ToLLVMNode toLLVM, LLVMRuntimeType expectedType) {
+    private static Object doExecute(VirtualFrame frame, Node foreignExecute, TruffleObject value, Object[] rawArgs, ToLLVMNode toLLVM, LLVMRuntimeType expectedType,
+                    LLVMStack stack) {
         int argsLength = rawArgs.length - ARG_START_INDEX;
         Object[] args = new Object[argsLength];
         for (int i = ARG_START_INDEX, j = 0; i < rawArgs.length; i++, j++) {
             args[j] = rawArgs[i];
         }
+        long previousStackPointer = stack.enterForeignCall((LLVMAddress) rawArgs[0]);
         try {
             Object rawValue = ForeignAccess.sendExecute(foreignExecute, frame, value, args);
             return toLLVM.convert(frame, rawValue, expectedType);
         } catch (UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
             throw new IllegalStateException(e);
+        } finally {
+            stack.leaveForeignCall(previousStackPointer);
+        }
+    }
+
+    /**
+     * Sulong functions that are called directly may receive their arguments in a primitive
+     * carrier: the stack pointer at index 0 and a single <code>long[]</code> at
+     * {@link #ARG_START_INDEX} that holds all other arguments, with floating point values stored
+     * as their raw bits and addresses as their native value. This avoids boxing each argument
+     * when the call is not inlined.
+     *
+     * @param arguments the arguments of a function frame
+     * @return whether the arguments are passed in the primitive carrier
+     */
+    public static boolean hasPrimitiveArguments(Object[] arguments) {
+        return arguments.length == ARG_START_INDEX + 1 && arguments[ARG_START_INDEX] instanceof long[];
+    }
+
+    /**
+     * @param arguments the arguments of a function frame that uses the primitive carrier
+     * @param index the index of the argument, counted like for the boxed arguments
+     * @return the raw bits of the argument
+     */
+    public static long getPrimitiveArgument(Object[] arguments, int index) {
+        return ((long[]) arguments[ARG_START_INDEX])[index - ARG_START_INDEX];
+    }
+
+    /**
+     * @return whether the call target is a Sulong function that can receive its arguments in the
+     *         primitive carrier
+     */
+    public static boolean acceptsPrimitiveArguments(CallTarget callTarget) {
+        if (!(callTarget instanceof RootCallTarget)) {
+            return false;
+        }
+        RootNode rootNode = ((RootCallTarget) callTarget).getRootNode();
+        return rootNode instanceof LLVMFunctionStartNode && ((LLVMFunctionStartNode) rootNode).acceptsPrimitiveArguments();
+    }
+
+    private static boolean isPrimitiveArgument(LLVMExpressionNode arg) {
+        return arg instanceof LLVMI1Node || arg instanceof LLVMI8Node || arg instanceof LLVMI16Node || arg instanceof LLVMI32Node || arg instanceof LLVMI64Node || arg instanceof LLVMFloatNode ||
+                        arg instanceof LLVMDoubleNode || arg instanceof LLVMAddressNode;
+    }
+
+    private static long executePrimitiveArgument(VirtualFrame frame, LLVMExpressionNode arg) {
+        if (arg instanceof LLVMI1Node) {
+            return ((LLVMI1Node) arg).executeI1(frame) ? 1 : 0;
+        } else if (arg instanceof LLVMI8Node) {
+            return ((LLVMI8Node) arg).executeI8(frame);
+        } else if (arg instanceof LLVMI16Node) {
+            return ((LLVMI16Node) arg).executeI16(frame);
+        } else if (arg instanceof LLVMI32Node) {
+            return ((LLVMI32Node) arg).executeI32(frame);
+        } else if (arg instanceof LLVMI64Node) {
+            return ((LLVMI64Node) arg).executeI64(frame);
+        } else if (arg instanceof LLVMFloatNode) {
+            return Float.floatToRawIntBits(((LLVMFloatNode) arg).executeFloat(frame));
+        } else if (arg instanceof LLVMDoubleNode) {
+            return Double.doubleToRawLongBits(((LLVMDoubleNode) arg).executeDouble(frame));
+        } else {
+            return ((LLVMAddressNode) arg).executePointee(frame).getVal();
         }
     }
 
@@ -138,10 +211,13 @@ public abstract class LLVMCallNode {
             } else {
                 String functionName = function.getName();
                 long getNativeSymbol = context.getNativeHandle(functionName);
+                if (getNativeSymbol == 0) {
+                    getNativeSymbol = context.getUpcallStub(function);
+                }
                 if (getNativeSymbol != 0) {
                     return new LLVMI64LiteralNode(getNativeSymbol);
                 } else {
-                    throw new LLVMUnsupportedException(UnsupportedReason.FUNCTION_POINTER_ESCAPES_TO_NATIVE);
+                    throw new LLVMUnsupportedException(UnsupportedReason.FUNCTION_POINTER_ESCAPES_TO_NATIVE, functionName);
                 }
             }
         } else {
@@ -212,40 +288,106 @@ public abstract class LLVMCallNode {
     }
 
     /**
-     * Call node for a Sulong function where the function is constant.
+     * Call node for a Sulong function where the function is constant. If the callee accepts it
+     * and all arguments are primitives or addresses, the arguments are passed in the primitive
+     * carrier instead of being boxed one by one, provided that this allocates less. The carrier
+     * always costs an <code>Object[]</code> of two elements and a <code>long[]</code>, while the
+     * boxed convention costs an <code>Object[]</code> slot per argument and a box per primitive
+     * that is not cached. An address costs an {@link LLVMAddress} in both conventions, since the
+     * callee copies a passed address object just like it recreates one from the carrier.
      */
     public static class LLVMResolvedDirectCallNode extends LLVMAbstractCallNode {
 
+        // object layout with compressed references: 12 byte object and 16 byte array headers
+        private static final int REFERENCE_BYTES = 4;
+
         @Child protected DirectCallNode callNode;
+        private final boolean primitiveArguments;
 
         public LLVMResolvedDirectCallNode(CallTarget callTarget, LLVMExpressionNode[] args) {
             super(args);
             this.callNode = Truffle.getRuntime().createDirectCallNode(callTarget);
+            this.primitiveArguments = canPassPrimitiveArguments(callTarget, args);
+        }
+
+        private static boolean canPassPrimitiveArguments(CallTarget callTarget, LLVMExpressionNode[] args) {
+            if (args.length <= ARG_START_INDEX || !acceptsPrimitiveArguments(callTarget)) {
+                return false;
+            }
+            int boxBytes = 0;
+            for (int i = ARG_START_INDEX; i < args.length; i++) {
+                if (!isPrimitiveArgument(args[i])) {
+                    return false;
+                }
+                boxBytes += getBoxBytes(args[i]);
+            }
+            int carrierBytes = getArrayBytes(ARG_START_INDEX + 1, REFERENCE_BYTES) + getArrayBytes(args.length - ARG_START_INDEX, Long.BYTES);
+            return carrierBytes < getArrayBytes(args.length, REFERENCE_BYTES) + boxBytes;
+        }
+
+        private static int getArrayBytes(int length, int elementBytes) {
+            return align(16 + length * elementBytes);
+        }
+
+        private static int getBoxBytes(LLVMExpressionNode arg) {
+            if (arg instanceof LLVMI1Node || arg instanceof LLVMI8Node || arg instanceof LLVMAddressNode) {
+                // Boolean and Byte boxes are always cached and an address is passed as it is
+                return 0;
+            } else if (arg instanceof LLVMI64Node || arg instanceof LLVMDoubleNode) {
+                return align(12 + Long.BYTES);
+            } else {
+                return align(12 + Integer.BYTES);
+            }
+        }
+
+        private static int align(int bytes) {
+            return (bytes + 7) & ~7;
         }
 
         @Override
         public Object executeGeneric(VirtualFrame frame) {
-            return callNode.call(frame, evaluateArgs(frame));
+            if (primitiveArguments) {
+                return callNode.call(frame, evaluatePrimitiveArgs(frame));
+            } else {
+                return callNode.call(frame, evaluateArgs(frame));
+            }
+        }
+
+        @ExplodeLoop
+        private Object[] evaluatePrimitiveArgs(VirtualFrame frame) {
+            LLVMExpressionNode[] args = getArgs();
+            Object stackPointer = args[0].executeGeneric(frame);
+            long[] slots = new long[args.length - ARG_START_INDEX];
+            for (int i = ARG_START_INDEX; i < args.length; i++) {
+                slots[i - ARG_START_INDEX] = executePrimitiveArgument(frame, args[i]);
+            }
+            return new Object[]{stackPointer, slots};
         }
 
     }
 
     /**
-     * Call node for a native function where the function is constant.
+     * Call node for a native function where the function is constant. The native function may call
+     * back into Sulong through the upcall stubs of function pointers that it received.
      */
     public static class LLVMResolvedDirectNativeCallNode extends LLVMAbstractCallNode {
 
         private final NativeFunctionHandle functionHandle;
+        private final LLVMUpcallStubs upcallStubs;
+        @Child private LLVMExpressionNode stackPointer;
 
         public LLVMResolvedDirectNativeCallNode(@SuppressWarnings("unused") LLVMFunctionDescriptor function, NativeFunctionHandle nativeFunctionHandle, LLVMExpressionNode[] args,
                         LLVMContext context) {
             super(convertToPrimitiveNodes(args, context));
             functionHandle = nativeFunctionHandle;
+            upcallStubs = context.getUpcallStubs();
+            stackPointer = args[0];
         }
 
         @Override
         public Object executeGeneric(VirtualFrame frame) {
-            return functionHandle.call(evaluateArgs(frame));
+            LLVMAddress currentStackPointer = (LLVMAddress) stackPointer.executeGeneric(frame);
+            return upcallStubs.callNative(functionHandle, currentStackPointer, evaluateArgs(frame));
         }
 
     }
@@ -309,7 +451,7 @@ public abstract class LLVMCallNode {
                     CompilerDirectives.transferToInterpreterAndInvalidate();
                     foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
                 }
-                return doExecute(frame, foreignExecute, function, args, toLLVM, chain.returnType);
+                return doExecute(frame, foreignExecute, function, args, toLLVM, chain.returnType, chain.getContext().getStack());
             }
         }
 
@@ -363,6 +505,7 @@ public abstract class LLVMCallNode {
                 printIndirectNativeCallWarning(function);
             }
             final NativeFunctionHandle nativeHandle = currentContext.getNativeHandle(function, convertToPrimitiveNodes(args, currentContext));
+            final LLVMUpcallStubs upcallStubs = currentContext.getUpcallStubs();
             if (nativeHandle == null) {
                 throw new IllegalStateException("could not find function " + function.getName());
             } else {
@@ -372,7 +515,7 @@ public abstract class LLVMCallNode {
                     @ExplodeLoop
                     public Object execute(VirtualFrame frame) {
                         Object[] arguments = frame.getArguments();
-                        return nativeHandle.call(convertToPrimitiveArgs(arguments));
+                        return upcallStubs.callNative(nativeHandle, (LLVMAddress) arguments[0], convertToPrimitiveArgs(arguments));
                     }
                 });
             }
@@ -40,6 +40,7 @@ import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
 
 public class LLVMFunctionStartNode extends RootNode {
 
@@ -47,16 +48,31 @@ public class LLVMFunctionStartNode extends RootNode {
     @Children private final LLVMNode[] beforeFunction;
     @Children private final LLVMNode[] afterFunction;
     private final String functionName;
+    private final boolean primitiveArguments;
+    @CompilationFinal(dimensions = 1) private final LLVMRuntimeType[] parameterTypes;
     @CompilationFinal private LLVMStackFrameNuller[] nullers;
 
     public LLVMFunctionStartNode(LLVMExpressionNode node, LLVMNode[] beforeFunction, LLVMNode[] afterFunction, SourceSection sourceSection, FrameDescriptor frameDescriptor, String functionName,
                     LLVMStackFrameNuller[] initNullers) {
+        this(node, beforeFunction, afterFunction, sourceSection, frameDescriptor, functionName, initNullers, false, null);
+    }
+
+    /**
+     * @param primitiveArguments whether the function reads its arguments only through the
+     *            argument nodes, so that callers may pass them in the primitive carrier (see
+     *            {@link LLVMCallNode#hasPrimitiveArguments(Object[])})
+     * @param parameterTypes the declared parameter types, which tell how to decode the carrier
+     */
+    public LLVMFunctionStartNode(LLVMExpressionNode node, LLVMNode[] beforeFunction, LLVMNode[] afterFunction, SourceSection sourceSection, FrameDescriptor frameDescriptor, String functionName,
+                    LLVMStackFrameNuller[] initNullers, boolean primitiveArguments, LLVMRuntimeType[] parameterTypes) {
         super(LLVMLanguage.class, sourceSection, frameDescriptor);
         this.node = node;
         this.beforeFunction = beforeFunction;
         this.afterFunction = afterFunction;
         this.functionName = functionName;
         this.nullers = initNullers;
+        this.primitiveArguments = primitiveArguments;
+        this.parameterTypes = parameterTypes;
     }
 
     @Override
@@ -86,6 +102,14 @@ public class LLVMFunctionStartNode extends RootNode {
         return functionName;
     }
 
+    public boolean acceptsPrimitiveArguments() {
+        return primitiveArguments;
+    }
+
+    public LLVMRuntimeType[] getParameterTypes() {
+        return parameterTypes;
+    }
+
     @Override
     public String getName() {
         return functionName;
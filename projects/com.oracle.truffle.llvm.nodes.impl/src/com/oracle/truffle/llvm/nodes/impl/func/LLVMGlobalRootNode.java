@@ -131,9 +131,13 @@ public class LLVMGlobalRootNode extends RootNode {
             returnCode = e.getReturnCode();
             throw e;
         } finally {
-            // We shouldn't execute atexit, when there was an abort
+            // We shouldn't execute atexit or flush the stdio buffers, when there was an abort
             if (returnCode != LLVMAbort.UNIX_SIGABORT) {
-                executeAtExitFunctions();
+                try {
+                    executeAtExitFunctions();
+                } finally {
+                    context.getStdio().flush();
+                }
             }
         }
 
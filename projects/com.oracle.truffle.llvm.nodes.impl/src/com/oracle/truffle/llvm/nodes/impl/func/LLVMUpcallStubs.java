@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.func;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.oracle.nfi.api.NativeFunctionHandle;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
+import com.oracle.truffle.llvm.runtime.options.LLVMOptions;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunction;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
+
+/**
+ * Hands out native stubs for Sulong functions whose pointers escape to native code, e.g. the
+ * <code>init_routine</code> of <code>pthread_once</code> or the comparison function of
+ * <code>lfind</code>. Each stub is a native function from a fixed pool in
+ * <code>libupcall.so</code>; it enters the JVM through JNI and calls the
+ * {@link RootCallTarget} of the function it is assigned to.
+ *
+ * The stubs receive six integer registers and return one, so that functions with up to six
+ * integer or pointer parameters and an integer, pointer or void result are supported. Floating
+ * point, aggregate and variadic signatures are not. The stubs of a context are cached by function
+ * index, and an escape fails with an {@link LLVMUnsupportedException} once all stubs are in use.
+ *
+ * A callback runs on the stack of the context, so it is only accepted on the thread that owns the
+ * stack (see {@link LLVMStack#getForeignEntryStackPointer()}). A callback on another thread is
+ * rejected with an exception, which the native stub reports before it aborts the process.
+ */
+public final class LLVMUpcallStubs {
+
+    private static final int MAX_ARGUMENTS = 6;
+
+    private static final class Upcall {
+
+        private final LLVMUpcallStubs owner;
+        private final RootCallTarget callTarget;
+        private final LLVMRuntimeType[] parameterTypes;
+
+        Upcall(LLVMUpcallStubs owner, RootCallTarget callTarget, LLVMRuntimeType[] parameterTypes) {
+            this.owner = owner;
+            this.callTarget = callTarget;
+            this.parameterTypes = parameterTypes;
+        }
+
+    }
+
+    private static volatile AtomicReferenceArray<Upcall> upcalls;
+    private static boolean loadFailed;
+
+    private final LLVMStack stack;
+    private final Map<Integer, Long> stubs = new HashMap<>();
+    // only accessed on the thread that owns the stack
+    private Throwable pendingException;
+
+    public LLVMUpcallStubs(LLVMStack stack) {
+        this.stack = stack;
+    }
+
+    /**
+     * @return the address of a native stub that calls the function, or 0 if the signature is not
+     *         supported or the stub library is not available
+     * @throws LLVMUnsupportedException if all stubs are in use
+     */
+    public synchronized long getStub(LLVMFunction function, RootCallTarget callTarget) {
+        CompilerDirectives.transferToInterpreter();
+        Long cachedStub = stubs.get(function.getFunctionIndex());
+        if (cachedStub != null) {
+            return cachedStub;
+        }
+        if (!isSupported(function) || !load()) {
+            return 0;
+        }
+        long stub = allocateStub(new Upcall(this, callTarget, function.getParameterTypes()));
+        if (stub == 0) {
+            throw new LLVMUnsupportedException(UnsupportedReason.FUNCTION_POINTER_ESCAPES_TO_NATIVE, function.getName() + " (all " + upcalls.length() + " upcall stubs are in use)");
+        }
+        stubs.put(function.getFunctionIndex(), stub);
+        return stub;
+    }
+
+    private static long allocateStub(Upcall upcall) {
+        synchronized (LLVMUpcallStubs.class) {
+            for (int i = 0; i < upcalls.length(); i++) {
+                if (upcalls.get(i) == null) {
+                    upcalls.set(i, upcall);
+                    return getStubAddress(i);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isSupported(LLVMFunction function) {
+        if (function.isVarArgs() || function.getParameterTypes().length > MAX_ARGUMENTS) {
+            return false;
+        }
+        for (LLVMRuntimeType type : function.getParameterTypes()) {
+            if (!isIntegerOrPointer(type)) {
+                return false;
+            }
+        }
+        return function.getReturnType() == LLVMRuntimeType.VOID || isIntegerOrPointer(function.getReturnType());
+    }
+
+    private static boolean isIntegerOrPointer(LLVMRuntimeType type) {
+        switch (type) {
+            case I1:
+            case I8:
+            case I16:
+            case I32:
+            case I64:
+            case ADDRESS:
+            case I1_POINTER:
+            case I8_POINTER:
+            case I16_POINTER:
+            case I32_POINTER:
+            case I64_POINTER:
+            case HALF_POINTER:
+            case FLOAT_POINTER:
+            case DOUBLE_POINTER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Loads <code>libupcall.so</code> from the <code>java.library.path</code>, or from the mx build
+     * directory of the project if it is not found there.
+     */
+    private static synchronized boolean load() {
+        if (upcalls == null && !loadFailed) {
+            try {
+                try {
+                    System.loadLibrary("upcall");
+                } catch (UnsatisfiedLinkError e) {
+                    System.load(new File(LLVMOptions.ENGINE.projectRoot()).getAbsolutePath() + "/mxbuild/projects/com.oracle.truffle.llvm.upcall.native/bin/" + System.mapLibraryName("upcall"));
+                }
+                initialize();
+                upcalls = new AtomicReferenceArray<>(getStubCount());
+            } catch (UnsatisfiedLinkError e) {
+                loadFailed = true;
+            }
+        }
+        return upcalls != null;
+    }
+
+    /**
+     * Calls a native function that may call back into Sulong through a stub. Functions that are
+     * called back allocate their stack frames below the current stack pointer, and an exception
+     * that a callback threw is rethrown once the native function returns.
+     */
+    public Object callNative(NativeFunctionHandle functionHandle, LLVMAddress stackPointer, Object[] arguments) {
+        long previousStackPointer = stack.enterForeignCall(stackPointer);
+        try {
+            return functionHandle.call(arguments);
+        } finally {
+            stack.leaveForeignCall(previousStackPointer);
+            if (pendingException != null) {
+                CompilerDirectives.transferToInterpreter();
+                rethrowPendingException();
+            }
+        }
+    }
+
+    private void rethrowPendingException() {
+        Throwable exception = pendingException;
+        pendingException = null;
+        if (exception instanceof RuntimeException) {
+            throw (RuntimeException) exception;
+        } else if (exception instanceof Error) {
+            throw (Error) exception;
+        } else {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Releases the stubs of a context that is disposed.
+     */
+    public synchronized void releaseAll() {
+        stubs.clear();
+        synchronized (LLVMUpcallStubs.class) {
+            if (upcalls != null) {
+                for (int i = 0; i < upcalls.length(); i++) {
+                    Upcall upcall = upcalls.get(i);
+                    if (upcall != null && upcall.owner == this) {
+                        upcalls.set(i, null);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Entered from the native stub with the given index. Exceptions of the called function cannot
+     * unwind through the native frames, so they are recorded and rethrown after the native call
+     * returns. Exceptions thrown before the call, e.g. on a thread that does not own the stack, are
+     * reported by the stub.
+     */
+    static long upcall(int index, long a0, long a1, long a2, long a3, long a4, long a5) {
+        Upcall upcall = upcalls.get(index);
+        if (upcall == null) {
+            throw new IllegalStateException("released upcall stub " + index + " was called");
+        }
+        // rejects other threads before the stack or the pending exception is touched
+        LLVMAddress stackPointer = upcall.owner.stack.getForeignEntryStackPointer();
+        long[] registers = {a0, a1, a2, a3, a4, a5};
+        LLVMRuntimeType[] parameterTypes = upcall.parameterTypes;
+        Object[] arguments = new Object[LLVMCallNode.ARG_START_INDEX + parameterTypes.length];
+        arguments[0] = stackPointer;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            arguments[LLVMCallNode.ARG_START_INDEX + i] = toSulong(registers[i], parameterTypes[i]);
+        }
+        try {
+            return toNative(upcall.callTarget.call(arguments));
+        } catch (Throwable t) {
+            if (upcall.owner.pendingException == null) {
+                upcall.owner.pendingException = t;
+            }
+            return 0;
+        }
+    }
+
+    private static Object toSulong(long register, LLVMRuntimeType type) {
+        // the upper bits of a register that holds a narrower argument are undefined
+        switch (type) {
+            case I1:
+                return (register & 1) != 0;
+            case I8:
+                return (byte) register;
+            case I16:
+                return (short) register;
+            case I32:
+                return (int) register;
+            case I64:
+                return register;
+            default:
+                return LLVMAddress.fromLong(register);
+        }
+    }
+
+    private static long toNative(Object result) {
+        if (result instanceof Boolean) {
+            return (boolean) result ? 1 : 0;
+        } else if (result instanceof Number) {
+            return ((Number) result).longValue();
+        } else if (result instanceof LLVMAddress) {
+            return ((LLVMAddress) result).getVal();
+        } else {
+            return 0;
+        }
+    }
+
+    private static native void initialize();
+
+    private static native int getStubCount();
+
+    private static native long getStubAddress(int index);
+
+}
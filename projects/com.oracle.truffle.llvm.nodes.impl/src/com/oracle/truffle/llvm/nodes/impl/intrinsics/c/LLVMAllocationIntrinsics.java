@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Implements the allocation functions from stdlib.h on top of {@link LLVMHeap}. The blocks still
+ * come from the C heap, since they can be passed to and freed by native code.
+ */
+public final class LLVMAllocationIntrinsics {
+
+    private LLVMAllocationIntrinsics() {
+    }
+
+    static final int ENOMEM = 12;
+    static final int EINVAL = 22;
+
+    @NodeChild(type = LLVMI64Node.class)
+    public abstract static class LLVMMalloc extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(long size) {
+            return LLVMHeap.allocateMemory(size);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMCalloc extends LLVMAddressIntrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(long count, long size) {
+            // the arguments are unsigned, so that negative values are too large as well
+            if (count < 0 || size < 0 || (size != 0 && count > Long.MAX_VALUE / size)) {
+                context.get().getNativeFunctions().setErrno(ENOMEM);
+                return LLVMAddress.NULL_POINTER;
+            }
+            return LLVMHeap.allocateZeroedMemory(count * size);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMRealloc extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress address, long size) {
+            return LLVMHeap.reallocateMemory(address, size);
+        }
+    }
+
+    /**
+     * Also implements <code>memalign</code>, which takes the same arguments.
+     */
+    @NodeChildren({@NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMAlignedAlloc extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(long alignment, long size) {
+            return LLVMHeap.allocateAlignedMemory(alignment, size);
+        }
+    }
+
+    /**
+     * Reports errors through the return value instead of <code>errno</code>.
+     */
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMPosixMemalign extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress result, long alignment, long size) {
+            if (alignment < Long.BYTES || Long.bitCount(alignment) != 1) {
+                return EINVAL;
+            }
+            LLVMAddress memory = LLVMHeap.allocateAlignedMemory(alignment, size);
+            if (memory.getVal() == 0) {
+                return ENOMEM;
+            }
+            LLVMMemory.putAddress(result, memory);
+            return 0;
+        }
+    }
+
+}
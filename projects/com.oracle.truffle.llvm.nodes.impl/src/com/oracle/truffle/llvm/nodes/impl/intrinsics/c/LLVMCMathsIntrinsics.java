@@ -33,14 +33,18 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMDoubleIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMFloatIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFMA;
 
 /**
- * Implements the C functions from math.h.
+ * Implements the C functions from math.h. The single-precision variants compute in double
+ * precision and round the result, so that they can use the same intrinsified {@link Math} methods.
  */
 public abstract class LLVMCMathsIntrinsics {
 
@@ -154,4 +158,394 @@ public abstract class LLVMCMathsIntrinsics {
 
     }
 
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMSin extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.sin(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMCos extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.cos(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMTan extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.tan(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMASin extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.asin(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMACos extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.acos(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMATan extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.atan(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMSinh extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.sinh(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMCosh extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.cosh(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMTanh extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.tanh(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMTrunc extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return value < 0 ? Math.ceil(value) : Math.floor(value);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMATan2 extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double a, double b) {
+            return Math.atan2(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMCopySign extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double a, double b) {
+            return Math.copySign(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMFMin extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double a, double b) {
+            return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.min(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMFMax extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double a, double b) {
+            return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.max(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMFma extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double a, double b, double c) {
+            return LLVMFMA.fma(a, b, c);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMSqrtF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.sqrt(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMLogF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.log(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMLog10F extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.log10(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMRintF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.rint(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMCeilF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.ceil(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMFloorF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.floor(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMExpF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.exp(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMSinF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.sin(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMCosF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.cos(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMTanF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.tan(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMASinF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.asin(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMACosF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.acos(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMATanF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.atan(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMSinhF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.sinh(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMCoshF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.cosh(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMTanhF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) Math.tanh(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMFAbsF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return Math.abs(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMFloatNode.class)
+    public abstract static class LLVMTruncF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float value) {
+            return (float) (value < 0 ? Math.ceil(value) : Math.floor(value));
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMPowF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float a, float b) {
+            return (float) Math.pow(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMATan2F extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float a, float b) {
+            return (float) Math.atan2(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMCopySignF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float a, float b) {
+            return Math.copySign(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMFMinF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float a, float b) {
+            return Float.isNaN(a) ? b : Float.isNaN(b) ? a : Math.min(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMFMaxF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float a, float b) {
+            return Float.isNaN(a) ? b : Float.isNaN(b) ? a : Math.max(a, b);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMFmaF extends LLVMFloatIntrinsic {
+
+        @Specialization
+        public float executeIntrinsic(float a, float b, float c) {
+            return LLVMFMA.fma(a, b, c);
+        }
+
+    }
+
 }
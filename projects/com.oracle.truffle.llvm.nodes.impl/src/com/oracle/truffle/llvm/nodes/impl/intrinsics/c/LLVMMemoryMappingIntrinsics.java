@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+/**
+ * Implements the memory mapping functions from sys/mman.h on top of {@link LLVMMemoryMappings}.
+ */
+public final class LLVMMemoryMappingIntrinsics {
+
+    private LLVMMemoryMappingIntrinsics() {
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI32Node.class),
+                    @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMMMap extends LLVMAddressIntrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress hint, long length, int protection, int flags, int fd, long offset) {
+            return context.get().getMemoryMappings().map(hint, length, protection, flags, fd, offset);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMMUnmap extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress address, long length) {
+            return context.get().getMemoryMappings().unmap(address, length);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMMSync extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress address, long length, int flags) {
+            return context.get().getMemoryMappings().sync(address, length, flags);
+        }
+    }
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+/**
+ * Tracks the memory mappings of a context. Read-only mappings and shared writable mappings of
+ * regular files are created with {@link FileChannel#map}, so that Sulong owns the mapped buffer;
+ * all other mappings, including those larger than the 2 GB limit of {@link FileChannel#map}, are
+ * created natively but are tracked as well. Like in the kernel, unmapping part of a native mapping
+ * only removes that part from the tracked ranges. Mappings that the program did not unmap are
+ * released when the context is disposed.
+ */
+public final class LLVMMemoryMappings {
+
+    // Linux x86_64 values of the mmap protection and flags arguments
+    private static final int PROT_READ = 0x1;
+    private static final int PROT_WRITE = 0x2;
+    private static final int MAP_SHARED = 0x01;
+    private static final int MAP_PRIVATE = 0x02;
+    private static final int MAP_NORESERVE = 0x4000;
+    private static final int MAP_POPULATE = 0x8000;
+    private static final int SUPPORTED_FLAGS = MAP_SHARED | MAP_PRIVATE | MAP_NORESERVE | MAP_POPULATE;
+    private static final long PAGE_SIZE = 4096;
+
+    // Linux x86_64 values of the fcntl command and the file status flags
+    private static final int F_GETFL = 3;
+    private static final int O_ACCMODE = 03;
+    private static final int O_RDONLY = 00;
+    private static final int O_RDWR = 02;
+    private static final int O_APPEND = 02000;
+
+    private static final int EINVAL = 22;
+
+    public static final long MAP_FAILED = -1;
+
+    // null if the address of a mapped buffer is not accessible, which leaves all mappings native
+    private static final Field ADDRESS_FIELD = getAddressField();
+
+    private final LLVMNativeFunctions nativeFunctions;
+    private final NavigableMap<Long, MappedByteBuffer> javaMappings = new TreeMap<>();
+    // the start and the end of the page ranges that are mapped natively
+    private final NavigableMap<Long, Long> nativeMappings = new TreeMap<>();
+
+    public LLVMMemoryMappings(LLVMNativeFunctions nativeFunctions) {
+        this.nativeFunctions = nativeFunctions;
+    }
+
+    @TruffleBoundary
+    public LLVMAddress map(LLVMAddress hint, long length, int protection, int flags, int fd, long offset) {
+        long address = mapFile(length, protection, flags, fd, offset);
+        if (address == 0) {
+            address = (long) nativeFunctions.call("mmap", long.class, hint, length, protection, flags, fd, offset);
+            if (address != MAP_FAILED) {
+                // a fixed mapping replaces the pages that were mapped there before
+                untrackNative(address, address + roundToPages(length));
+                nativeMappings.put(address, address + roundToPages(length));
+            }
+        }
+        return LLVMAddress.fromLong(address);
+    }
+
+    /**
+     * Maps the file with a {@link FileChannel}, or returns 0 if the mapping is not supported in
+     * Java, e.g. because it is anonymous, fixed, private and writable, larger than 2 GB or not
+     * backed by a regular file. Arguments that the native <code>mmap</code> rejects, such as an
+     * offset that is not page aligned or a descriptor whose access mode does not permit the
+     * protection, are also left to the native call, which then reports <code>EINVAL</code> or
+     * <code>EACCES</code>.
+     */
+    private long mapFile(long length, int protection, int flags, int fd, long offset) {
+        boolean shared = (flags & (MAP_SHARED | MAP_PRIVATE)) == MAP_SHARED;
+        boolean isPrivate = (flags & (MAP_SHARED | MAP_PRIVATE)) == MAP_PRIVATE;
+        boolean writable = (protection & PROT_WRITE) != 0;
+        if (ADDRESS_FIELD == null || (flags & ~SUPPORTED_FLAGS) != 0 || !(shared || isPrivate) || (protection & ~(PROT_READ | PROT_WRITE)) != 0 || (protection & PROT_READ) == 0 || (isPrivate && writable) ||
+                        length <= 0 || length > Integer.MAX_VALUE || offset < 0 || offset % PAGE_SIZE != 0 || fd < 0) {
+            return 0;
+        }
+        int status = (int) nativeFunctions.call("fcntl", int.class, fd, F_GETFL);
+        if (status < 0) {
+            return 0;
+        }
+        int accessMode = status & O_ACCMODE;
+        boolean readable = accessMode == O_RDONLY || accessMode == O_RDWR;
+        if (!readable || writable && (accessMode != O_RDWR || (status & O_APPEND) != 0)) {
+            return 0;
+        }
+        Path path = Paths.get("/proc/self/fd/" + fd);
+        if (!Files.isRegularFile(path)) {
+            return 0;
+        }
+        // the file is reopened with the access of the mapping, which the descriptor permits
+        MapMode mode = writable ? MapMode.READ_WRITE : MapMode.READ_ONLY;
+        try (FileChannel channel = writable ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE) : FileChannel.open(path, StandardOpenOption.READ)) {
+            if (offset + length > channel.size()) {
+                // FileChannel.map would extend the file, while mmap does not
+                return 0;
+            }
+            MappedByteBuffer buffer = channel.map(mode, offset, length);
+            long address = getAddress(buffer);
+            if (address != 0) {
+                javaMappings.put(address, buffer);
+            }
+            return address;
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static Field getAddressField() {
+        try {
+            Field addressField = Buffer.class.getDeclaredField("address");
+            addressField.setAccessible(true);
+            return addressField;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long getAddress(Buffer buffer) {
+        try {
+            return ADDRESS_FIELD.getLong(buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * A Java mapping cannot be split, so a range that only partially covers one is rejected with
+     * <code>EINVAL</code> and the mapping stays intact. Java mappings are never passed to the native
+     * <code>munmap</code>; only the parts of the range between them are.
+     */
+    @TruffleBoundary
+    public int unmap(LLVMAddress address, long length) {
+        long start = address.getVal();
+        long end = start + length;
+        Map<Long, MappedByteBuffer> overlapping = overlappingJavaMappings(start, length);
+        for (Entry<Long, MappedByteBuffer> mapping : overlapping.entrySet()) {
+            if (mapping.getKey() < start || mapping.getKey() + mappedLength(mapping.getValue()) > end) {
+                nativeFunctions.setErrno(EINVAL);
+                return -1;
+            }
+        }
+        long unmapped = start;
+        int result = 0;
+        for (Entry<Long, MappedByteBuffer> mapping : overlapping.entrySet()) {
+            if (mapping.getKey() > unmapped) {
+                result |= unmapNative(unmapped, mapping.getKey() - unmapped);
+            }
+            unmapped = mapping.getKey() + mappedLength(mapping.getValue());
+            javaMappings.remove(mapping.getKey());
+            release(mapping.getValue());
+        }
+        if (unmapped < end || overlapping.isEmpty()) {
+            result |= unmapNative(unmapped, end - unmapped);
+        }
+        return result;
+    }
+
+    private int unmapNative(long address, long length) {
+        int result = (int) nativeFunctions.call("munmap", int.class, LLVMAddress.fromLong(address), length);
+        if (result == 0) {
+            untrackNative(address, address + roundToPages(length));
+        }
+        return result;
+    }
+
+    /**
+     * Removes the pages from <code>start</code> to <code>end</code> from the native mappings, which
+     * splits or trims the mappings that the range only partially covers.
+     */
+    private void untrackNative(long start, long end) {
+        Entry<Long, Long> mapping = nativeMappings.lowerEntry(end);
+        while (mapping != null && mapping.getValue() > start) {
+            nativeMappings.remove(mapping.getKey());
+            if (mapping.getKey() < start) {
+                nativeMappings.put(mapping.getKey(), start);
+            }
+            if (mapping.getValue() > end) {
+                nativeMappings.put(end, mapping.getValue());
+            }
+            mapping = nativeMappings.lowerEntry(mapping.getKey());
+        }
+    }
+
+    private static long roundToPages(long length) {
+        return (length + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+    }
+
+    private Map<Long, MappedByteBuffer> overlappingJavaMappings(long start, long length) {
+        Long first = javaMappings.floorKey(start);
+        if (first == null || first + mappedLength(javaMappings.get(first)) <= start) {
+            first = start;
+        }
+        // a copy, since the caller may remove the mappings
+        return new TreeMap<>(javaMappings.subMap(first, true, start + Math.max(length, 1), false));
+    }
+
+    private static long mappedLength(MappedByteBuffer buffer) {
+        return roundToPages(buffer.capacity());
+    }
+
+    @TruffleBoundary
+    public int sync(LLVMAddress address, long length, int flags) {
+        Map<Long, MappedByteBuffer> overlapping = overlappingJavaMappings(address.getVal(), length);
+        if (!overlapping.isEmpty()) {
+            for (MappedByteBuffer buffer : overlapping.values()) {
+                buffer.force();
+            }
+            return 0;
+        }
+        return (int) nativeFunctions.call("msync", int.class, address, length, flags);
+    }
+
+    /**
+     * Unmaps the buffer right away instead of waiting for the garbage collector. If the cleaner of
+     * the buffer is not accessible, the pages stay mapped until the buffer is garbage collected, so
+     * that they are not reused in the meantime.
+     */
+    private static void release(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the mapping is released once the buffer is garbage collected
+        }
+    }
+
+    @TruffleBoundary
+    public void unmapAll() {
+        for (MappedByteBuffer buffer : javaMappings.values()) {
+            release(buffer);
+        }
+        javaMappings.clear();
+        for (Entry<Long, Long> mapping : nativeMappings.entrySet()) {
+            nativeFunctions.call("munmap", int.class, LLVMAddress.fromLong(mapping.getKey()), mapping.getValue() - mapping.getKey());
+        }
+        nativeMappings.clear();
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.oracle.nfi.api.NativeFunctionHandle;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.nativeint.NativeLookup;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Calls native C library functions from function substitutions that only handle part of the cases
+ * in Java, e.g. the stdio functions for streams other than <code>stdout</code> and
+ * <code>stderr</code>. The function handles are cached per name and parameter types.
+ */
+public final class LLVMNativeFunctions {
+
+    private final Map<String, NativeFunctionHandle> handles = new HashMap<>();
+
+    /**
+     * Calls the native function. The parameter types are derived from the argument values, which
+     * also supports variable arguments.
+     */
+    @TruffleBoundary
+    public Object call(String name, Class<?> returnType, Object... arguments) {
+        Class<?>[] parameterTypes = new Class<?>[arguments.length];
+        Object[] nativeArguments = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            if (argument instanceof LLVMAddress) {
+                parameterTypes[i] = long.class;
+                nativeArguments[i] = ((LLVMAddress) argument).getVal();
+            } else if (argument instanceof Integer) {
+                parameterTypes[i] = int.class;
+                nativeArguments[i] = argument;
+            } else if (argument instanceof Long) {
+                parameterTypes[i] = long.class;
+                nativeArguments[i] = argument;
+            } else if (argument instanceof Double) {
+                parameterTypes[i] = double.class;
+                nativeArguments[i] = argument;
+            } else {
+                throw new LLVMUnsupportedException(UnsupportedReason.OTHER_TYPE_NOT_IMPLEMENTED);
+            }
+        }
+        String key = name + Arrays.toString(parameterTypes);
+        NativeFunctionHandle handle = handles.get(key);
+        if (handle == null) {
+            handle = NativeLookup.getNFI().getFunctionHandle(name, returnType, parameterTypes);
+            handles.put(key, handle);
+        }
+        return handle.call(nativeArguments);
+    }
+
+    @TruffleBoundary
+    public void setErrno(int errno) {
+        long errnoLocation = (long) call("__errno_location", long.class);
+        LLVMMemory.putI32(LLVMAddress.fromLong(errnoLocation), errno);
+    }
+
+}
@@ -0,0 +1,490 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Formats the arguments of a <code>printf</code> call in Java. The common conversions
+ * <code>diouxXcspfFeEgG%</code> with flags, field width, precision and integer length modifiers
+ * are supported and produce the same output as glibc. For any other conversion or argument type
+ * the formatter gives up, and the caller falls back to the native function.
+ */
+final class LLVMPrintfFormatter {
+
+    private static final int DEFAULT_PRECISION = 6;
+    // glibc prints a null string as "(null)", or as nothing if the precision cuts it off
+    private static final String NULL_STRING = "(null)";
+    private static final int DECIMAL = 10;
+    private static final int OCTAL = 8;
+    private static final int HEXADECIMAL = 16;
+    // %g uses the fixed notation for decimal exponents from -4 up to the precision
+    private static final int MIN_FIXED_EXPONENT = -4;
+
+    private final LLVMAddress format;
+    private final Object[] arguments;
+    private final StringBuilder out = new StringBuilder();
+    private int argumentIndex;
+    private long position;
+
+    private boolean leftAlign;
+    private boolean plusSign;
+    private boolean spaceSign;
+    private boolean alternate;
+    private boolean zeroPad;
+    private int width;
+    private int precision;
+
+    private static final class UnsupportedFormatException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedFormatException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private LLVMPrintfFormatter(LLVMAddress format, Object[] arguments, int firstArgument) {
+        this.format = format;
+        this.arguments = arguments;
+        this.argumentIndex = firstArgument;
+    }
+
+    /**
+     * Returns the formatted output as bytes, or <code>null</code> if the format string contains a
+     * conversion that is not supported.
+     */
+    @TruffleBoundary
+    static byte[] format(LLVMAddress format, Object[] arguments, int firstArgument) {
+        LLVMPrintfFormatter formatter = new LLVMPrintfFormatter(format, arguments, firstArgument);
+        try {
+            formatter.formatAll();
+        } catch (UnsupportedFormatException e) {
+            return null;
+        }
+        String result = formatter.out.toString();
+        byte[] bytes = new byte[result.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) result.charAt(i);
+        }
+        return bytes;
+    }
+
+    private char next() {
+        char c = (char) Byte.toUnsignedInt(LLVMMemory.getI8(format.increment(position)));
+        position++;
+        return c;
+    }
+
+    private void formatAll() throws UnsupportedFormatException {
+        char c = next();
+        while (c != '\0') {
+            if (c == '%') {
+                formatConversion();
+            } else {
+                out.append(c);
+            }
+            c = next();
+        }
+    }
+
+    private void formatConversion() throws UnsupportedFormatException {
+        leftAlign = false;
+        plusSign = false;
+        spaceSign = false;
+        alternate = false;
+        zeroPad = false;
+        char c = parseFlags();
+        width = 0;
+        if (c == '*') {
+            width = (int) nextInteger();
+            if (width < 0) {
+                leftAlign = true;
+                width = -width;
+            }
+            c = next();
+        } else {
+            while (Character.isDigit(c)) {
+                width = width * DECIMAL + (c - '0');
+                c = next();
+            }
+        }
+        precision = -1;
+        if (c == '.') {
+            c = next();
+            precision = 0;
+            if (c == '*') {
+                precision = Math.max((int) nextInteger(), -1);
+                c = next();
+            } else {
+                while (Character.isDigit(c)) {
+                    precision = precision * DECIMAL + (c - '0');
+                    c = next();
+                }
+            }
+        }
+        int size = Integer.BYTES;
+        if (c == 'h') {
+            c = next();
+            size = Short.BYTES;
+            if (c == 'h') {
+                c = next();
+                size = Byte.BYTES;
+            }
+        } else if (c == 'l') {
+            c = next();
+            size = Long.BYTES;
+            if (c == 'l') {
+                c = next();
+            }
+        } else if (c == 'z' || c == 'j' || c == 't' || c == 'q') {
+            c = next();
+            size = Long.BYTES;
+        }
+        formatValue(c, size);
+    }
+
+    private char parseFlags() {
+        while (true) {
+            char c = next();
+            switch (c) {
+                case '-':
+                    leftAlign = true;
+                    break;
+                case '+':
+                    plusSign = true;
+                    break;
+                case ' ':
+                    spaceSign = true;
+                    break;
+                case '#':
+                    alternate = true;
+                    break;
+                case '0':
+                    zeroPad = true;
+                    break;
+                default:
+                    return c;
+            }
+        }
+    }
+
+    private void formatValue(char conversion, int size) throws UnsupportedFormatException {
+        switch (conversion) {
+            case 'd':
+            case 'i':
+                formatSigned(truncate(nextInteger(), size));
+                break;
+            case 'u':
+                formatUnsigned(mask(nextInteger(), size), DECIMAL, "");
+                break;
+            case 'o':
+                formatUnsigned(mask(nextInteger(), size), OCTAL, "");
+                break;
+            case 'x':
+                formatUnsigned(mask(nextInteger(), size), HEXADECIMAL, "0x");
+                break;
+            case 'X':
+                formatUnsigned(mask(nextInteger(), size), HEXADECIMAL, "0X");
+                break;
+            case 'c':
+                if (size == Long.BYTES) {
+                    throw new UnsupportedFormatException();
+                }
+                pad("", String.valueOf((char) Byte.toUnsignedInt((byte) nextInteger())), false);
+                break;
+            case 's':
+                if (size == Long.BYTES) {
+                    throw new UnsupportedFormatException();
+                }
+                formatString(nextAddress());
+                break;
+            case 'p':
+                long pointer = nextAddress().getVal();
+                pad("", pointer == 0 ? "(nil)" : "0x" + Long.toHexString(pointer), false);
+                break;
+            case 'f':
+            case 'F':
+            case 'e':
+            case 'E':
+            case 'g':
+            case 'G':
+                formatFloatingPoint(nextDouble(), conversion);
+                break;
+            case '%':
+                out.append('%');
+                break;
+            default:
+                throw new UnsupportedFormatException();
+        }
+    }
+
+    private Object nextArgument() throws UnsupportedFormatException {
+        if (argumentIndex >= arguments.length) {
+            throw new UnsupportedFormatException();
+        }
+        return arguments[argumentIndex++];
+    }
+
+    private long nextInteger() throws UnsupportedFormatException {
+        Object value = nextArgument();
+        if (value instanceof Integer) {
+            return (int) value;
+        } else if (value instanceof Long) {
+            return (long) value;
+        } else if (value instanceof Short) {
+            return (short) value;
+        } else if (value instanceof Byte) {
+            return (byte) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        } else if (value instanceof LLVMAddress) {
+            return ((LLVMAddress) value).getVal();
+        } else {
+            throw new UnsupportedFormatException();
+        }
+    }
+
+    private LLVMAddress nextAddress() throws UnsupportedFormatException {
+        Object value = nextArgument();
+        if (value instanceof LLVMAddress) {
+            return (LLVMAddress) value;
+        } else if (value instanceof Long) {
+            return LLVMAddress.fromLong((long) value);
+        } else {
+            throw new UnsupportedFormatException();
+        }
+    }
+
+    private double nextDouble() throws UnsupportedFormatException {
+        Object value = nextArgument();
+        if (value instanceof Double) {
+            return (double) value;
+        } else if (value instanceof Float) {
+            return (float) value;
+        } else {
+            throw new UnsupportedFormatException();
+        }
+    }
+
+    private static long truncate(long value, int size) {
+        switch (size) {
+            case Byte.BYTES:
+                return (byte) value;
+            case Short.BYTES:
+                return (short) value;
+            case Integer.BYTES:
+                return (int) value;
+            default:
+                return value;
+        }
+    }
+
+    private static long mask(long value, int size) {
+        switch (size) {
+            case Byte.BYTES:
+                return Byte.toUnsignedLong((byte) value);
+            case Short.BYTES:
+                return Short.toUnsignedLong((short) value);
+            case Integer.BYTES:
+                return Integer.toUnsignedLong((int) value);
+            default:
+                return value;
+        }
+    }
+
+    private String integerDigits(String digits, boolean isZero) {
+        if (precision == 0 && isZero) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = digits.length(); i < precision; i++) {
+            result.append('0');
+        }
+        return result.append(digits).toString();
+    }
+
+    private void formatSigned(long value) {
+        String digits = integerDigits(Long.toUnsignedString(value < 0 ? -value : value), value == 0);
+        String sign = value < 0 ? "-" : plusSign ? "+" : spaceSign ? " " : "";
+        pad(sign, digits, precision < 0);
+    }
+
+    private void formatUnsigned(long value, int radix, String hexPrefix) {
+        String digits = integerDigits(Long.toUnsignedString(value, radix), value == 0);
+        if (radix == HEXADECIMAL && hexPrefix.charAt(1) == 'X') {
+            digits = digits.toUpperCase();
+        }
+        String prefix = "";
+        if (alternate && radix == OCTAL && !digits.startsWith("0")) {
+            digits = "0" + digits;
+        } else if (alternate && radix == HEXADECIMAL && value != 0) {
+            prefix = hexPrefix;
+        }
+        pad(prefix, digits, precision < 0);
+    }
+
+    private void formatString(LLVMAddress string) {
+        if (string.getVal() == 0) {
+            pad("", precision < 0 || precision >= NULL_STRING.length() ? NULL_STRING : "", false);
+            return;
+        }
+        StringBuilder result = new StringBuilder();
+        for (long i = 0; precision < 0 || i < precision; i++) {
+            byte c = LLVMMemory.getI8(string.increment(i));
+            if (c == 0) {
+                break;
+            }
+            result.append((char) Byte.toUnsignedInt(c));
+        }
+        pad("", result.toString(), false);
+    }
+
+    private void formatFloatingPoint(double value, char conversion) {
+        boolean upperCase = Character.isUpperCase(conversion);
+        String sign = Double.doubleToRawLongBits(value) < 0 ? "-" : plusSign ? "+" : spaceSign ? " " : "";
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            String body = Double.isNaN(value) ? "nan" : "inf";
+            pad(sign, upperCase ? body.toUpperCase() : body, false);
+            return;
+        }
+        BigDecimal magnitude = new BigDecimal(Math.abs(value));
+        int digits = precision < 0 ? DEFAULT_PRECISION : precision;
+        String body;
+        switch (Character.toLowerCase(conversion)) {
+            case 'f':
+                body = fixed(magnitude, digits);
+                break;
+            case 'e':
+                body = exponential(magnitude, digits, upperCase);
+                break;
+            default:
+                body = general(magnitude, digits, upperCase);
+                break;
+        }
+        pad(sign, body, true);
+    }
+
+    private String fixed(BigDecimal magnitude, int digits) {
+        String result = magnitude.setScale(digits, RoundingMode.HALF_EVEN).toPlainString();
+        return digits == 0 && alternate ? result + "." : result;
+    }
+
+    private static int decimalExponent(BigDecimal magnitude, int significantDigits) {
+        if (magnitude.signum() == 0) {
+            return 0;
+        }
+        BigDecimal rounded = magnitude.round(new MathContext(significantDigits, RoundingMode.HALF_EVEN));
+        return rounded.precision() - 1 - rounded.scale();
+    }
+
+    private String exponential(BigDecimal magnitude, int digits, boolean upperCase) {
+        StringBuilder mantissa = new StringBuilder();
+        int exponent = 0;
+        if (magnitude.signum() == 0) {
+            mantissa.append('0');
+        } else {
+            BigDecimal rounded = magnitude.round(new MathContext(digits + 1, RoundingMode.HALF_EVEN));
+            String unscaled = rounded.unscaledValue().toString();
+            exponent = unscaled.length() - 1 - rounded.scale();
+            mantissa.append(unscaled);
+        }
+        while (mantissa.length() < digits + 1) {
+            mantissa.append('0');
+        }
+        if (digits > 0 || alternate) {
+            mantissa.insert(1, '.');
+        }
+        mantissa.append(upperCase ? 'E' : 'e').append(exponent < 0 ? '-' : '+');
+        int absoluteExponent = Math.abs(exponent);
+        if (absoluteExponent < DECIMAL) {
+            mantissa.append('0');
+        }
+        return mantissa.append(absoluteExponent).toString();
+    }
+
+    private String general(BigDecimal magnitude, int digits, boolean upperCase) {
+        int significantDigits = digits == 0 ? 1 : digits;
+        int exponent = decimalExponent(magnitude, significantDigits);
+        if (significantDigits > exponent && exponent >= MIN_FIXED_EXPONENT) {
+            String result = fixed(magnitude, significantDigits - 1 - exponent);
+            return alternate ? result : stripTrailingZeros(result);
+        } else {
+            String result = exponential(magnitude, significantDigits - 1, upperCase);
+            if (alternate) {
+                return result;
+            }
+            int exponentStart = result.indexOf(upperCase ? 'E' : 'e');
+            return stripTrailingZeros(result.substring(0, exponentStart)) + result.substring(exponentStart);
+        }
+    }
+
+    private static String stripTrailingZeros(String number) {
+        if (number.indexOf('.') < 0) {
+            return number;
+        }
+        int end = number.length();
+        while (number.charAt(end - 1) == '0') {
+            end--;
+        }
+        if (number.charAt(end - 1) == '.') {
+            end--;
+        }
+        return number.substring(0, end);
+    }
+
+    private void pad(String prefix, String body, boolean zeroPadAllowed) {
+        int padding = width - prefix.length() - body.length();
+        if (leftAlign) {
+            out.append(prefix).append(body);
+            appendRepeated(' ', padding);
+        } else if (zeroPad && zeroPadAllowed) {
+            out.append(prefix);
+            appendRepeated('0', padding);
+            out.append(body);
+        } else {
+            appendRepeated(' ', padding);
+            out.append(prefix).append(body);
+        }
+    }
+
+    private void appendRepeated(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            out.append(c);
+        }
+    }
+
+}
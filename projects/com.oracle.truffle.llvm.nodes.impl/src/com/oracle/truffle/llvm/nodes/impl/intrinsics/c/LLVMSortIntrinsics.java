@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode.LLVMFunctionCallChain;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNodeFactory.LLVMFunctionCallChainNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMVoidIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+
+/**
+ * Implements the searching and sorting functions from stdlib.h. The comparison function is called
+ * through a {@link LLVMFunctionCallChain}, which caches a direct call node per comparator so that
+ * a Sulong comparator can be inlined into the sorting loop and never escapes to native code.
+ */
+public final class LLVMSortIntrinsics {
+
+    private LLVMSortIntrinsics() {
+    }
+
+    static final class LLVMComparatorCallNode extends Node {
+
+        // the stack pointer and the two elements
+        private static final int COMPARATOR_ARGUMENTS = 3;
+
+        private final boolean hasUserArgument;
+        @Child private LLVMFunctionCallChain callChain;
+
+        LLVMComparatorCallNode(boolean hasUserArgument) {
+            this.hasUserArgument = hasUserArgument;
+        }
+
+        int compare(VirtualFrame frame, LLVMFunctionDescriptor comparator, long element1, long element2, LLVMAddress userArgument) {
+            if (callChain == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                callChain = insert(createCallChain());
+            }
+            Object stackPointer = frame.getArguments()[0];
+            Object[] arguments;
+            if (hasUserArgument) {
+                arguments = new Object[]{stackPointer, LLVMAddress.fromLong(element1), LLVMAddress.fromLong(element2), userArgument};
+            } else {
+                arguments = new Object[]{stackPointer, LLVMAddress.fromLong(element1), LLVMAddress.fromLong(element2)};
+            }
+            return (int) callChain.executeDispatch(frame, comparator, arguments);
+        }
+
+        private LLVMFunctionCallChain createCallChain() {
+            LLVMContext context = LLVMLanguage.INSTANCE.findContext0(LLVMLanguage.INSTANCE.createFindContextNode0());
+            // the argument nodes only describe the signature if the comparator is a native function
+            LLVMExpressionNode[] signature = new LLVMExpressionNode[hasUserArgument ? COMPARATOR_ARGUMENTS + 1 : COMPARATOR_ARGUMENTS];
+            for (int i = 0; i < signature.length; i++) {
+                signature[i] = new LLVMAddressLiteralNode(LLVMAddress.NULL_POINTER);
+            }
+            return LLVMFunctionCallChainNodeGen.create(context, signature, LLVMRuntimeType.I32);
+        }
+
+    }
+
+    /**
+     * Sorts the elements with a bottom-up merge sort on their addresses, which like the glibc
+     * implementation is stable, and then moves the elements into their sorted position.
+     */
+    private static void sort(VirtualFrame frame, LLVMComparatorCallNode comparatorCall, LLVMFunctionDescriptor comparator, LLVMAddress base, long count, long size, LLVMAddress userArgument) {
+        if (count < 2 || size == 0) {
+            return;
+        }
+        if (count > Integer.MAX_VALUE) {
+            CompilerDirectives.transferToInterpreter();
+            throw new AssertionError("too many elements to sort: " + count);
+        }
+        int length = (int) count;
+        long[] elements = new long[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = base.getVal() + i * size;
+        }
+        long[] buffer = new long[length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(middle + width, length);
+                int left = low;
+                int right = middle;
+                int target = low;
+                while (left < middle && right < high) {
+                    if (comparatorCall.compare(frame, comparator, elements[left], elements[right], userArgument) <= 0) {
+                        buffer[target++] = elements[left++];
+                    } else {
+                        buffer[target++] = elements[right++];
+                    }
+                }
+                System.arraycopy(elements, left, buffer, target, middle - left);
+                System.arraycopy(elements, right, buffer, target + middle - left, high - right);
+                System.arraycopy(buffer, low, elements, low, high - low);
+            }
+        }
+        permute(base, elements, size);
+    }
+
+    @TruffleBoundary
+    private static void permute(LLVMAddress base, long[] elements, long size) {
+        long totalSize = elements.length * size;
+        LLVMAddress sorted = LLVMHeap.allocateMemory(totalSize);
+        for (int i = 0; i < elements.length; i++) {
+            LLVMHeap.memCopy(sorted.increment(i * size), LLVMAddress.fromLong(elements[i]), size);
+        }
+        LLVMHeap.memCopy(base, sorted, totalSize);
+        LLVMHeap.freeMemory(sorted);
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMFunctionNode.class)})
+    public abstract static class LLVMQSort extends LLVMVoidIntrinsic {
+
+        @Child private LLVMComparatorCallNode comparatorCall = new LLVMComparatorCallNode(false);
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMAddress base, long count, long size, LLVMFunctionDescriptor comparator) {
+            sort(frame, comparatorCall, comparator, base, count, size, null);
+        }
+    }
+
+    /**
+     * The glibc variant of <code>qsort_r</code>, which passes the user argument as third argument
+     * to the comparator.
+     */
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMFunctionNode.class),
+                    @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMQSortR extends LLVMVoidIntrinsic {
+
+        @Child private LLVMComparatorCallNode comparatorCall = new LLVMComparatorCallNode(true);
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMAddress base, long count, long size, LLVMFunctionDescriptor comparator, LLVMAddress userArgument) {
+            sort(frame, comparatorCall, comparator, base, count, size, userArgument);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class),
+                    @NodeChild(type = LLVMFunctionNode.class)})
+    public abstract static class LLVMBSearch extends LLVMAddressIntrinsic {
+
+        @Child private LLVMComparatorCallNode comparatorCall = new LLVMComparatorCallNode(false);
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(VirtualFrame frame, LLVMAddress key, LLVMAddress base, long count, long size, LLVMFunctionDescriptor comparator) {
+            long low = 0;
+            long high = count;
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                long element = base.getVal() + middle * size;
+                int result = comparatorCall.compare(frame, comparator, key.getVal(), element, null);
+                if (result < 0) {
+                    high = middle;
+                } else if (result > 0) {
+                    low = middle + 1;
+                } else {
+                    return LLVMAddress.fromLong(element);
+                }
+            }
+            return LLVMAddress.NULL_POINTER;
+        }
+    }
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Buffers the output of the stdio substitutions for <code>stdout</code> and <code>stderr</code> in
+ * Java and writes it through NIO channels. Like in C, <code>stdout</code> is line buffered if it is
+ * a terminal and fully buffered otherwise, while <code>stderr</code> is unbuffered. The mode can be
+ * changed with <code>setvbuf</code>. A buffered stream is flushed when the buffer is full, on
+ * <code>fflush</code>, before input is read from <code>stdin</code>, and on exit. Output that native
+ * code writes to <code>stdout</code> directly is not ordered with the buffered output.
+ */
+public final class LLVMStdio {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The buffering modes of <code>setvbuf</code>, with the values of <code>_IOFBF</code> etc. */
+    public static final int FULLY_BUFFERED = 0;
+    public static final int LINE_BUFFERED = 1;
+    public static final int UNBUFFERED = 2;
+
+    private static final int STDOUT_FILENO = 1;
+
+    private final LLVMContext context;
+    private final LLVMStdioStream stdout = new LLVMStdioStream(FileDescriptor.out, FULLY_BUFFERED);
+    private final LLVMStdioStream stderr = new LLVMStdioStream(FileDescriptor.err, UNBUFFERED);
+
+    private boolean resolvedStreams;
+    private long stdinFile;
+    private long stdoutFile;
+    private long stderrFile;
+
+    public LLVMStdio(LLVMContext context) {
+        this.context = context;
+    }
+
+    public static final class LLVMStdioStream {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private int mode;
+
+        private LLVMStdioStream(FileDescriptor descriptor, int mode) {
+            this.channel = new FileOutputStream(descriptor).getChannel();
+            this.mode = mode;
+        }
+
+        @TruffleBoundary
+        public void write(byte value) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(value);
+            if (mode == UNBUFFERED || (mode == LINE_BUFFERED && value == '\n')) {
+                flush();
+            }
+        }
+
+        @TruffleBoundary
+        public void write(byte[] bytes, int length) {
+            int lineEnd = -1;
+            int written = 0;
+            while (written < length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                    lineEnd = -1;
+                }
+                int chunk = Math.min(length - written, buffer.remaining());
+                int start = buffer.position();
+                buffer.put(bytes, written, chunk);
+                lineEnd = getLineEnd(start, lineEnd);
+                written += chunk;
+            }
+            flushAfterWrite(lineEnd);
+        }
+
+        @TruffleBoundary
+        public void write(LLVMAddress address, long length) {
+            int lineEnd = -1;
+            long written = 0;
+            while (written < length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                    lineEnd = -1;
+                }
+                int chunk = (int) Math.min(length - written, buffer.remaining());
+                int start = buffer.position();
+                LLVMMemory.getBytes(address.increment(written), buffer.array(), buffer.arrayOffset() + start, chunk);
+                buffer.position(start + chunk);
+                lineEnd = getLineEnd(start, lineEnd);
+                written += chunk;
+            }
+            flushAfterWrite(lineEnd);
+        }
+
+        /**
+         * Gets the buffer position after the last newline in the bytes from <code>start</code> to
+         * the current position, or <code>lineEnd</code> if there is none. Newlines are only of
+         * interest if the stream is line buffered.
+         */
+        private int getLineEnd(int start, int lineEnd) {
+            if (mode != LINE_BUFFERED) {
+                return lineEnd;
+            }
+            byte[] array = buffer.array();
+            for (int i = buffer.position() - 1; i >= start; i--) {
+                if (array[buffer.arrayOffset() + i] == '\n') {
+                    return i + 1;
+                }
+            }
+            return lineEnd;
+        }
+
+        /**
+         * Like glibc, a line buffered stream writes the complete lines and keeps the rest of the
+         * output in the buffer.
+         */
+        private void flushAfterWrite(int lineEnd) {
+            if (mode == UNBUFFERED) {
+                flush();
+            } else if (lineEnd >= 0) {
+                int end = buffer.position();
+                buffer.flip();
+                buffer.limit(lineEnd);
+                writeBuffer();
+                buffer.limit(end);
+                buffer.compact();
+            }
+        }
+
+        /**
+         * Sets the buffering mode of <code>setvbuf</code>. The Java buffer is used in all modes, so
+         * a buffer given to <code>setvbuf</code> is ignored.
+         */
+        @TruffleBoundary
+        public void setMode(int newMode) {
+            flush();
+            mode = newMode;
+        }
+
+        @TruffleBoundary
+        public void flush() {
+            buffer.flip();
+            try {
+                writeBuffer();
+            } finally {
+                buffer.clear();
+            }
+        }
+
+        private void writeBuffer() {
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    public LLVMStdioStream getStdout() {
+        if (!resolvedStreams) {
+            resolveStreams();
+        }
+        return stdout;
+    }
+
+    public LLVMStdioStream getStderr() {
+        return stderr;
+    }
+
+    /**
+     * Returns the Java stream for a native <code>FILE</code> pointer, or <code>null</code> if the
+     * stream is neither <code>stdout</code> nor <code>stderr</code>.
+     */
+    @TruffleBoundary
+    public LLVMStdioStream getStream(LLVMAddress file) {
+        resolveStreams();
+        if (file.getVal() == stdoutFile) {
+            return stdout;
+        } else if (file.getVal() == stderrFile) {
+            return stderr;
+        } else {
+            return null;
+        }
+    }
+
+    @TruffleBoundary
+    private void resolveStreams() {
+        if (!resolvedStreams) {
+            stdinFile = LLVMMemory.getAddress(LLVMAddress.fromLong(context.getNativeHandle("@stdin"))).getVal();
+            stdoutFile = LLVMMemory.getAddress(LLVMAddress.fromLong(context.getNativeHandle("@stdout"))).getVal();
+            stderrFile = LLVMMemory.getAddress(LLVMAddress.fromLong(context.getNativeHandle("@stderr"))).getVal();
+            if ((int) callNative("isatty", int.class, STDOUT_FILENO) != 0) {
+                stdout.mode = LINE_BUFFERED;
+            }
+            resolvedStreams = true;
+        }
+    }
+
+    /**
+     * Flushes <code>stdout</code> before input is read from <code>stdin</code>, so that a prompt
+     * is visible before the program blocks on the input.
+     */
+    @TruffleBoundary
+    public void flushBeforeRead(LLVMAddress file) {
+        resolveStreams();
+        if (file.getVal() == stdinFile) {
+            stdout.flush();
+        }
+    }
+
+    @TruffleBoundary
+    public void flush() {
+        stdout.flush();
+        stderr.flush();
+    }
+
+    /**
+     * Calls the native stdio function, e.g. for streams other than <code>stdout</code> and
+     * <code>stderr</code> or for <code>printf</code> formats that are not supported in Java.
+     */
+    public Object callNative(String name, Class<?> returnType, Object... arguments) {
+        return context.getNativeFunctions().call(name, returnType, arguments);
+    }
+
+    /**
+     * Calls a native function that writes to a standard stream after flushing the Java buffer, and
+     * flushes the native buffer afterwards to preserve the order of the output.
+     */
+    @TruffleBoundary
+    public Object callNativeOnStandardStream(LLVMStdioStream stream, String name, Class<?> returnType, Object... arguments) {
+        resolveStreams();
+        stream.flush();
+        Object result = callNative(name, returnType, arguments);
+        callNative("fflush", int.class, LLVMAddress.fromLong(stream == stdout ? stdoutFile : stderrFile));
+        return result;
+    }
+
+}
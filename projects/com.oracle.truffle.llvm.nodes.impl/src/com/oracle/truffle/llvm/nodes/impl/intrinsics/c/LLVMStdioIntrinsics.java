@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdio.LLVMStdioStream;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMVoidIntrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunction;
+import com.oracle.truffle.llvm.types.memory.LLVMStringMemory;
+
+/**
+ * Implements the output functions from stdio.h on top of the Java buffers of {@link LLVMStdio}.
+ * Streams other than <code>stdout</code> and <code>stderr</code> are passed on to the native
+ * functions. The input functions are still native, but flush <code>stdout</code> before they read
+ * from <code>stdin</code>.
+ */
+public final class LLVMStdioIntrinsics {
+
+    private LLVMStdioIntrinsics() {
+    }
+
+    @TruffleBoundary
+    private static int printFormatted(LLVMStdio stdio, LLVMStdioStream stream, String function, Object[] arguments, int formatIndex) {
+        byte[] output = LLVMPrintfFormatter.format((LLVMAddress) arguments[formatIndex], arguments, formatIndex + 1);
+        if (output == null) {
+            Object[] nativeArguments = Arrays.copyOfRange(arguments, LLVMCallNode.ARG_START_INDEX, arguments.length);
+            return (int) stdio.callNativeOnStandardStream(stream, function, int.class, nativeArguments);
+        }
+        stream.write(output, output.length);
+        return output.length;
+    }
+
+    @NodeChild(type = LLVMI32Node.class)
+    public abstract static class LLVMPutchar extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(int value) {
+            context.get().getStdio().getStdout().write((byte) value);
+            return Byte.toUnsignedInt((byte) value);
+        }
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMPuts extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress string) {
+            LLVMStdio stdio = context.get().getStdio();
+            LLVMStdioStream stdout = stdio.getStdout();
+            long length = LLVMStringMemory.strlen(string);
+            stdout.write(string, length);
+            stdout.write((byte) '\n');
+            return (int) Math.min(Integer.MAX_VALUE, length + 1);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFPutc extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(int value, LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            LLVMStdioStream stream = stdio.getStream(file);
+            if (stream == null) {
+                return (int) stdio.callNative("fputc", int.class, value, file);
+            }
+            stream.write((byte) value);
+            return Byte.toUnsignedInt((byte) value);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFPuts extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress string, LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            LLVMStdioStream stream = stdio.getStream(file);
+            if (stream == null) {
+                return (int) stdio.callNative("fputs", int.class, string, file);
+            }
+            stream.write(string, LLVMStringMemory.strlen(string));
+            return 1;
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFWrite extends LLVMI64Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public long executeIntrinsic(LLVMAddress buffer, long size, long count, LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            LLVMStdioStream stream = stdio.getStream(file);
+            if (stream == null) {
+                return (long) stdio.callNative("fwrite", long.class, buffer, size, count, file);
+            }
+            stream.write(buffer, size * count);
+            return size == 0 ? 0 : count;
+        }
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMFFlush extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            if (file.getVal() == 0) {
+                stdio.flush();
+            } else {
+                LLVMStdioStream stream = stdio.getStream(file);
+                if (stream != null) {
+                    stream.flush();
+                }
+            }
+            return (int) stdio.callNative("fflush", int.class, file);
+        }
+    }
+
+    /**
+     * The variable arguments are taken from the frame arguments following the format string.
+     */
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMPrintf extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(VirtualFrame frame, @SuppressWarnings("unused") LLVMAddress format) {
+            LLVMStdio stdio = context.get().getStdio();
+            return printFormatted(stdio, stdio.getStdout(), "printf", frame.getArguments(), LLVMCallNode.ARG_START_INDEX);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFPrintf extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(VirtualFrame frame, LLVMAddress file, @SuppressWarnings("unused") LLVMAddress format) {
+            Object[] arguments = frame.getArguments();
+            LLVMStdio stdio = context.get().getStdio();
+            LLVMStdioStream stream = stdio.getStream(file);
+            if (stream == null) {
+                return (int) stdio.callNative("fprintf", int.class, Arrays.copyOfRange(arguments, LLVMCallNode.ARG_START_INDEX, arguments.length));
+            }
+            return printFormatted(stdio, stream, "fprintf", arguments, LLVMCallNode.ARG_START_INDEX + 1);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMSetvbuf extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress file, LLVMAddress buffer, int mode, long size) {
+            LLVMStdio stdio = context.get().getStdio();
+            int result = (int) stdio.callNative("setvbuf", int.class, file, buffer, mode, size);
+            LLVMStdioStream stream = stdio.getStream(file);
+            if (result == 0 && stream != null) {
+                stream.setMode(mode);
+            }
+            return result;
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMSetbuf extends LLVMVoidIntrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public void executeIntrinsic(LLVMAddress file, LLVMAddress buffer) {
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.callNative("setbuf", void.class, file, buffer);
+            LLVMStdioStream stream = stdio.getStream(file);
+            if (stream != null) {
+                stream.setMode(buffer.getVal() == 0 ? LLVMStdio.UNBUFFERED : LLVMStdio.FULLY_BUFFERED);
+            }
+        }
+    }
+
+    public abstract static class LLVMGetchar extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic() {
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.getStdout().flush();
+            return (int) stdio.callNative("getchar", int.class);
+        }
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMFGetc extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.flushBeforeRead(file);
+            return (int) stdio.callNative("fgetc", int.class, file);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFGets extends LLVMAddressIntrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress buffer, int size, LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.flushBeforeRead(file);
+            return LLVMAddress.fromLong((long) stdio.callNative("fgets", long.class, buffer, size, file));
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFRead extends LLVMI64Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public long executeIntrinsic(LLVMAddress buffer, long size, long count, LLVMAddress file) {
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.flushBeforeRead(file);
+            return (long) stdio.callNative("fread", long.class, buffer, size, count, file);
+        }
+    }
+
+    /**
+     * Substitutes <code>scanf</code> and the <code>__isoc99_scanf</code> variant that glibc uses in
+     * C99 mode, which differ in the handling of <code>%a</code>. The native function of the same
+     * name is called with the frame arguments following the stack pointer.
+     */
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMScanf extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+        private final String function;
+
+        public LLVMScanf(LLVMFunction function) {
+            this.function = getNativeName(function);
+        }
+
+        @Specialization
+        public int executeIntrinsic(VirtualFrame frame, @SuppressWarnings("unused") LLVMAddress format) {
+            Object[] arguments = frame.getArguments();
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.getStdout().flush();
+            return (int) stdio.callNative(function, int.class, Arrays.copyOfRange(arguments, LLVMCallNode.ARG_START_INDEX, arguments.length));
+        }
+    }
+
+    /**
+     * Substitutes <code>fscanf</code> and <code>__isoc99_fscanf</code>, see {@link LLVMScanf}.
+     */
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMFScanf extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+        private final String function;
+
+        public LLVMFScanf(LLVMFunction function) {
+            this.function = getNativeName(function);
+        }
+
+        @Specialization
+        public int executeIntrinsic(VirtualFrame frame, LLVMAddress file, @SuppressWarnings("unused") LLVMAddress format) {
+            Object[] arguments = frame.getArguments();
+            LLVMStdio stdio = context.get().getStdio();
+            stdio.flushBeforeRead(file);
+            return (int) stdio.callNative(function, int.class, Arrays.copyOfRange(arguments, LLVMCallNode.ARG_START_INDEX, arguments.length));
+        }
+    }
+
+    private static String getNativeName(LLVMFunction function) {
+        // strip the @ of the LLVM function name
+        return function.getName().substring(1);
+    }
+
+}
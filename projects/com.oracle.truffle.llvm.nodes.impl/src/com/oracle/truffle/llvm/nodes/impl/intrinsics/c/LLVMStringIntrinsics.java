@@ -29,7 +29,6 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
 
-import com.oracle.nfi.api.NativeFunctionHandle;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
@@ -41,65 +40,32 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.nodes.Node;
-import com.oracle.truffle.llvm.nativeint.NativeLookup;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.ToLLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
 import com.oracle.truffle.llvm.types.LLVMAddress;
-import com.oracle.truffle.llvm.types.LLVMFunction;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+import com.oracle.truffle.llvm.types.memory.LLVMStringMemory;
 
-public final class LLVMTruffleOnlyIntrinsics {
-
-    private LLVMTruffleOnlyIntrinsics() {
-    }
-
-    public abstract static class LLVMTruffleOnlyI64Intrinsic extends LLVMI64Intrinsic {
-
-        protected final NativeFunctionHandle handle;
-
-        public LLVMTruffleOnlyI64Intrinsic(LLVMFunction descriptor) {
-            handle = NativeLookup.getNFI().getFunctionHandle(descriptor.getName().substring(1), getReturnValueClass(), getParameterClasses());
-        }
-
-        protected abstract Class<?>[] getParameterClasses();
-
-        protected Class<?> getReturnValueClass() {
-            return long.class;
-        }
-    }
-
-    public abstract static class LLVMTruffleOnlyI32Intrinsic extends LLVMI32Intrinsic {
-
-        protected final NativeFunctionHandle handle;
-
-        public LLVMTruffleOnlyI32Intrinsic(LLVMFunction descriptor) {
-            handle = NativeLookup.getNFI().getFunctionHandle(descriptor.getName().substring(1), getReturnValueClass(), getParameterClasses());
-        }
-
-        protected abstract Class<?>[] getParameterClasses();
+/**
+ * Implements the C functions from string.h.
+ */
+public final class LLVMStringIntrinsics {
 
-        protected Class<?> getReturnValueClass() {
-            return int.class;
-        }
+    private LLVMStringIntrinsics() {
     }
 
     @NodeChild(type = LLVMExpressionNode.class)
-    public abstract static class LLVMStrlen extends LLVMTruffleOnlyI64Intrinsic {
-
-        public LLVMStrlen(LLVMFunction descriptor) {
-            super(descriptor);
-        }
-
-        @Override
-        protected Class<?>[] getParameterClasses() {
-            return new Class<?>[]{long.class};
-        }
+    public abstract static class LLVMStrlen extends LLVMI64Intrinsic {
 
         @Specialization
         public long executeIntrinsic(LLVMAddress string) {
-            return (long) handle.call(string.getVal());
+            return LLVMStringMemory.strlen(string);
         }
 
         @Child private Node foreignHasSize = Message.HAS_SIZE.createNode();
@@ -127,20 +93,11 @@ public final class LLVMTruffleOnlyIntrinsics {
     }
 
     @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
-    public abstract static class LLVMStrCmp extends LLVMTruffleOnlyI32Intrinsic {
-
-        public LLVMStrCmp(LLVMFunction descriptor) {
-            super(descriptor);
-        }
-
-        @Override
-        protected Class<?>[] getParameterClasses() {
-            return new Class<?>[]{long.class, long.class};
-        }
+    public abstract static class LLVMStrCmp extends LLVMI32Intrinsic {
 
         @Specialization
         public int executeIntrinsic(LLVMAddress str1, LLVMAddress str2) {
-            return (int) handle.call(str1.getVal(), str2.getVal());
+            return LLVMStringMemory.strcmp(str1, str2);
         }
 
         @Child private Node readStr1 = Message.READ.createNode();
@@ -222,4 +179,67 @@ public final class LLVMTruffleOnlyIntrinsics {
         }
     }
 
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMStrNCmp extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress str1, LLVMAddress str2, long n) {
+            return LLVMStringMemory.strncmp(str1, str2, n);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMMemCmp extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress ptr1, LLVMAddress ptr2, long n) {
+            return LLVMStringMemory.memcmp(ptr1, ptr2, n);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMMemChr extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress ptr, int value, long n) {
+            return LLVMStringMemory.memchr(ptr, value, n);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMStrChr extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress string, int value) {
+            return LLVMStringMemory.strchr(string, value);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMStrStr extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress haystack, LLVMAddress needle) {
+            return LLVMStringMemory.strstr(haystack, needle);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMStrCpy extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress destination, LLVMAddress source) {
+            return LLVMStringMemory.strcpy(destination, source);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMStrNCpy extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress destination, LLVMAddress source, long n) {
+            return LLVMStringMemory.strncpy(destination, source, n);
+        }
+    }
+
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Implements the clock functions from time.h and sys/time.h with the Java clocks, and writes the
+ * <code>timespec</code> and <code>timeval</code> results directly into the caller's memory.
+ *
+ * The CPU time of the program is the CPU time of the thread that executes it, so that the time
+ * spent by compiler and garbage collector threads is not counted.
+ */
+public final class LLVMTimeIntrinsics {
+
+    private LLVMTimeIntrinsics() {
+    }
+
+    // Linux x86-64 clock identifiers
+    static final int CLOCK_REALTIME = 0;
+    static final int CLOCK_MONOTONIC = 1;
+    static final int CLOCK_PROCESS_CPUTIME_ID = 2;
+    static final int CLOCK_THREAD_CPUTIME_ID = 3;
+    static final int CLOCK_REALTIME_COARSE = 5;
+    static final int CLOCK_MONOTONIC_COARSE = 6;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * The difference between the wall clock and {@link System#nanoTime()}, which gives the wall
+     * clock a sub-millisecond resolution. It is adjusted whenever the two clocks drift apart by
+     * more than a millisecond, e.g., after the system time was set.
+     */
+    private static volatile long realtimeOffset = System.currentTimeMillis() * NANOS_PER_MILLI - System.nanoTime();
+
+    static long realtimeNanos() {
+        long millis = System.currentTimeMillis();
+        long nanos = System.nanoTime() + realtimeOffset;
+        if (Math.abs(nanos / NANOS_PER_MILLI - millis) > 1) {
+            CompilerDirectives.transferToInterpreter();
+            nanos = millis * NANOS_PER_MILLI;
+            realtimeOffset = nanos - System.nanoTime();
+        }
+        return nanos;
+    }
+
+    /**
+     * Returns the CPU time of the current thread in nanoseconds, or -1 if the JVM cannot measure it.
+     */
+    @TruffleBoundary
+    static long cpuTimeNanos() {
+        return THREAD_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static void putTime(LLVMAddress address, long nanos, long fractionUnit) {
+        LLVMMemory.putI64(address, nanos / NANOS_PER_SECOND);
+        LLVMMemory.putI64(address.increment(Long.BYTES), nanos % NANOS_PER_SECOND / fractionUnit);
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMClockGetTime extends LLVMI32Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public int executeIntrinsic(int clockId, LLVMAddress timespec) {
+            long nanos;
+            switch (clockId) {
+                case CLOCK_REALTIME:
+                case CLOCK_REALTIME_COARSE:
+                    nanos = realtimeNanos();
+                    break;
+                case CLOCK_MONOTONIC:
+                case CLOCK_MONOTONIC_COARSE:
+                    nanos = System.nanoTime();
+                    break;
+                case CLOCK_PROCESS_CPUTIME_ID:
+                case CLOCK_THREAD_CPUTIME_ID:
+                    nanos = cpuTimeNanos();
+                    break;
+                default:
+                    nanos = -1;
+            }
+            if (nanos < 0) {
+                return (int) context.get().getNativeFunctions().call("clock_gettime", int.class, clockId, timespec);
+            }
+            putTime(timespec, nanos, 1);
+            return 0;
+        }
+    }
+
+    /**
+     * The obsolete time zone argument is filled with zeros, as the kernel does by default.
+     */
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMGetTimeOfDay extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress timeval, LLVMAddress timezone) {
+            if (timeval.getVal() != 0) {
+                putTime(timeval, realtimeNanos(), NANOS_PER_MICRO);
+            }
+            if (timezone.getVal() != 0) {
+                LLVMMemory.putI32(timezone, 0);
+                LLVMMemory.putI32(timezone.increment(Integer.BYTES), 0);
+            }
+            return 0;
+        }
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMTime extends LLVMI64Intrinsic {
+
+        @Specialization
+        public long executeIntrinsic(LLVMAddress result) {
+            long seconds = System.currentTimeMillis() / MILLIS_PER_SECOND;
+            if (result.getVal() != 0) {
+                LLVMMemory.putI64(result, seconds);
+            }
+            return seconds;
+        }
+    }
+
+    /**
+     * Returns the CPU time in microseconds, since <code>CLOCKS_PER_SEC</code> is one million.
+     */
+    public abstract static class LLVMClock extends LLVMI64Intrinsic {
+
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
+        @Specialization
+        public long executeIntrinsic() {
+            long nanos = cpuTimeNanos();
+            if (nanos < 0) {
+                return (long) context.get().getNativeFunctions().call("clock", long.class);
+            }
+            return nanos / NANOS_PER_MICRO;
+        }
+    }
+
+}
@@ -40,20 +40,14 @@ import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 public abstract class LLVMTruffleReadBytes extends LLVMAddressIntrinsic {
     @Specialization
     public Object executeIntrinsic(LLVMAddress value) {
-        byte c;
         LLVMAddress adr = value;
         int count = 0;
-        while ((c = LLVMMemory.getI8(adr)) != 0) {
+        while (LLVMMemory.getI8(adr) != 0) {
             count++;
             adr = adr.increment(Byte.BYTES);
         }
         byte[] bytes = new byte[count];
-        count = 0;
-        adr = value;
-        while ((c = LLVMMemory.getI8(adr)) != 0) {
-            bytes[count++] = c;
-            adr = adr.increment(Byte.BYTES);
-        }
+        LLVMMemory.getBytes(value, bytes, 0, count);
         return bytes;
     }
 
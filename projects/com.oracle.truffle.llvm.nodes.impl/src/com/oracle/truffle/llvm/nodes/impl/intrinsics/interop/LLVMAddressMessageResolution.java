@@ -34,19 +34,14 @@ import com.oracle.truffle.api.interop.MessageResolution;
 import com.oracle.truffle.api.interop.Resolve;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
-import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleElementAccess.LLVMElementReadNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleElementAccess.LLVMElementWriteNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleElementAccessFactory.LLVMElementReadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleElementAccessFactory.LLVMElementWriteNodeGen;
 import com.oracle.truffle.llvm.types.LLVMTruffleAddress;
-import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
 @MessageResolution(receiverType = LLVMTruffleAddress.class, language = LLVMLanguage.class)
 public class LLVMAddressMessageResolution {
-    private static final int I1_SIZE = 1;
-    private static final int I8_SIZE = 1;
-    private static final int I16_SIZE = 2;
-    private static final int I32_SIZE = 4;
-    private static final int I64_SIZE = 8;
-    private static final int FLOAT_SIZE = 4;
-    private static final int DOUBLE_SIZE = 8;
 
     @Resolve(message = "HAS_SIZE")
     public abstract static class ForeignHasSize extends Node {
@@ -58,88 +53,25 @@ public class LLVMAddressMessageResolution {
 
     @Resolve(message = "READ")
     public abstract static class ForeignRead extends Node {
+
+        @Child private LLVMElementReadNode read = LLVMElementReadNodeGen.create();
+
         protected Object access(@SuppressWarnings("unused") VirtualFrame frame, LLVMTruffleAddress receiver, int index) {
-            LLVMAddress address = receiver.getAddress();
-            switch (receiver.getType()) {
-                case I1_POINTER:
-                    return LLVMMemory.getI1(address.increment(index * I1_SIZE));
-                case I8_POINTER:
-                    return LLVMMemory.getI8(address.increment(index * I8_SIZE));
-                case I16_POINTER:
-                    return LLVMMemory.getI16(address.increment(index * I16_SIZE));
-                case I32_POINTER:
-                    return LLVMMemory.getI32(address.increment(index * I32_SIZE));
-                case I64_POINTER:
-                    return LLVMMemory.getI64(address.increment(index * I64_SIZE));
-                case FLOAT_POINTER:
-                    return LLVMMemory.getFloat(address.increment(index * FLOAT_SIZE));
-                case DOUBLE_POINTER:
-                    return LLVMMemory.getDouble(address.increment(index * DOUBLE_SIZE));
-                default:
-                    throw new UnsupportedOperationException();
-            }
+            return read.executeRead(receiver.getAddress(), receiver.getType(), index);
         }
     }
 
     @Resolve(message = "WRITE")
     public abstract static class ForeignWrite extends Node {
+
+        @Child private LLVMElementWriteNode write = LLVMElementWriteNodeGen.create();
+
         protected Object access(@SuppressWarnings("unused") VirtualFrame frame, LLVMTruffleAddress receiver, int index, boolean value) {
-            LLVMAddress address = receiver.getAddress();
-            switch (receiver.getType()) {
-                case I1_POINTER:
-                    LLVMMemory.putI1(address.increment(index * I1_SIZE), value);
-                    break;
-                case I8_POINTER:
-                    LLVMMemory.putI8(address.increment(index * I8_SIZE), (byte) (value ? 1 : 0));
-                    break;
-                case I16_POINTER:
-                    LLVMMemory.putI16(address.increment(index * I16_SIZE), (short) (value ? 1 : 0));
-                    break;
-                case I32_POINTER:
-                    LLVMMemory.putI32(address.increment(index * I32_SIZE), value ? 1 : 0);
-                    break;
-                case I64_POINTER:
-                    LLVMMemory.putI64(address.increment(index * I64_SIZE), value ? 1 : 0);
-                    break;
-                case FLOAT_POINTER:
-                    LLVMMemory.putFloat(address.increment(index * FLOAT_SIZE), value ? 1 : 0);
-                    break;
-                case DOUBLE_POINTER:
-                    LLVMMemory.putDouble(address.increment(index * DOUBLE_SIZE), value ? 1 : 0);
-                    break;
-                default:
-                    throw new UnsupportedOperationException();
-            }
-            return value;
+            return write.executeWrite(receiver.getAddress(), receiver.getType(), index, value);
         }
 
         protected Object access(@SuppressWarnings("unused") VirtualFrame frame, LLVMTruffleAddress receiver, int index, Number value) {
-            LLVMAddress address = receiver.getAddress();
-            switch (receiver.getType()) {
-                case I1_POINTER:
-                    LLVMMemory.putI1(address.increment(index * I1_SIZE), value.intValue() != 0);
-                    return value.intValue() != 0;
-                case I8_POINTER:
-                    LLVMMemory.putI8(address.increment(index * I8_SIZE), value.byteValue());
-                    return value.byteValue();
-                case I16_POINTER:
-                    LLVMMemory.putI16(address.increment(index * I16_SIZE), value.shortValue());
-                    return value.shortValue();
-                case I32_POINTER:
-                    LLVMMemory.putI32(address.increment(index * I32_SIZE), value.intValue());
-                    return value.intValue();
-                case I64_POINTER:
-                    LLVMMemory.putI64(address.increment(index * I64_SIZE), value.longValue());
-                    return value.longValue();
-                case FLOAT_POINTER:
-                    LLVMMemory.putFloat(address.increment(index * FLOAT_SIZE), value.floatValue());
-                    return value.floatValue();
-                case DOUBLE_POINTER:
-                    LLVMMemory.putDouble(address.increment(index * DOUBLE_SIZE), value.doubleValue());
-                    return value.doubleValue();
-                default:
-                    throw new UnsupportedOperationException();
-            }
+            return write.executeWrite(receiver.getAddress(), receiver.getType(), index, value);
         }
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ArityException;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+
+/**
+ * Packs the arguments of a call from another language into a Sulong function. The node is created
+ * for one function and argument count, so the conversion of each argument is specialized on the
+ * parameter type of the function's signature. If the function receives only primitive values, the
+ * arguments are passed in the primitive carrier of {@link LLVMCallNode} instead of being boxed.
+ * The variable arguments of a varargs function are passed on unconverted. A call with fewer
+ * arguments than parameters, or with more arguments to a function that is not varargs, raises an
+ * {@link ArityException}.
+ */
+public final class LLVMForeignArgumentsNode extends Node {
+
+    @CompilationFinal(dimensions = 1) private final Class<?>[] parameterTypes;
+    @Children private final ToLLVMNode[] toLLVM;
+    private final int argumentCount;
+    private final boolean primitiveArguments;
+
+    private LLVMForeignArgumentsNode(Class<?>[] parameterTypes, int argumentCount, boolean primitiveArguments) {
+        this.parameterTypes = parameterTypes;
+        this.toLLVM = new ToLLVMNode[parameterTypes.length];
+        for (int i = 0; i < toLLVM.length; i++) {
+            toLLVM[i] = new ToLLVMNode();
+        }
+        this.argumentCount = argumentCount;
+        this.primitiveArguments = primitiveArguments;
+    }
+
+    public static LLVMForeignArgumentsNode create(LLVMFunctionDescriptor function, CallTarget callTarget, int argumentCount) {
+        checkArity(function, argumentCount);
+        LLVMRuntimeType[] signature = function.getParameterTypes();
+        Class<?>[] parameterTypes = new Class<?>[signature.length];
+        boolean primitiveArguments = argumentCount > 0 && !function.isVarArgs() && LLVMCallNode.acceptsPrimitiveArguments(callTarget);
+        for (int i = 0; i < signature.length; i++) {
+            parameterTypes[i] = ToLLVMNode.getJavaType(signature[i]);
+            primitiveArguments &= parameterTypes[i].isPrimitive();
+        }
+        return new LLVMForeignArgumentsNode(parameterTypes, argumentCount, primitiveArguments);
+    }
+
+    /**
+     * Raises an {@link ArityException} if the function cannot be called with the number of
+     * arguments.
+     */
+    public static void checkArity(LLVMFunctionDescriptor function, int argumentCount) {
+        int parameterCount = function.getParameterTypes().length;
+        if (argumentCount < parameterCount || (argumentCount > parameterCount && !function.isVarArgs())) {
+            throw ArityException.raise(parameterCount, argumentCount);
+        }
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * @return the packed arguments, with the stack pointer slot at index 0 left empty
+     */
+    @ExplodeLoop
+    public Object[] pack(VirtualFrame frame, Object[] arguments) {
+        if (primitiveArguments) {
+            long[] slots = new long[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                slots[i] = toPrimitiveSlot(toLLVM[i].convert(frame, arguments[i], parameterTypes[i]), parameterTypes[i]);
+            }
+            return new Object[]{null, slots};
+        }
+        Object[] packedArguments = new Object[LLVMCallNode.ARG_START_INDEX + argumentCount];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            packedArguments[LLVMCallNode.ARG_START_INDEX + i] = toLLVM[i].convert(frame, arguments[i], parameterTypes[i]);
+        }
+        System.arraycopy(arguments, parameterTypes.length, packedArguments, LLVMCallNode.ARG_START_INDEX + parameterTypes.length, argumentCount - parameterTypes.length);
+        return packedArguments;
+    }
+
+    private static long toPrimitiveSlot(Object value, Class<?> type) {
+        if (type == boolean.class) {
+            return (boolean) value ? 1 : 0;
+        } else if (type == byte.class) {
+            return (byte) value;
+        } else if (type == short.class) {
+            return (short) value;
+        } else if (type == int.class) {
+            return (int) value;
+        } else if (type == long.class) {
+            return (long) value;
+        } else if (type == float.class) {
+            return Float.floatToRawIntBits((float) value);
+        } else {
+            return Double.doubleToRawLongBits((double) value);
+        }
+    }
+
+}
@@ -39,6 +39,7 @@ import com.oracle.truffle.api.nodes.DirectCallNode;
 import com.oracle.truffle.api.nodes.IndirectCallNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
 import com.oracle.truffle.llvm.types.memory.LLVMStack;
@@ -49,38 +50,56 @@ public abstract class LLVMForeignCallNode extends LLVMExpressionNode {
     private final LLVMContext context;
     private final LLVMStack stack;
 
+    @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
     protected LLVMForeignCallNode(LLVMContext context) {
         this.context = context;
         this.stack = context.getStack();
     }
 
+    /**
+     * Calls a Sulong function from another language.
+     *
+     * @param arguments the unconverted arguments of the foreign call
+     */
     public abstract Object executeCall(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments);
 
     @SuppressWarnings("unused")
-    @Specialization(guards = "function.getFunctionIndex() == functionIndex")
+    @Specialization(guards = {"function.getFunctionIndex() == functionIndex", "arguments.length == argumentsNode.getArgumentCount()"})
     public Object callDirect(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments,
                     @Cached("function.getFunctionIndex()") int functionIndex,
-                    @Cached("create(getCallTarget(function))") DirectCallNode callNode) {
+                    @Cached("getCallTarget(function)") CallTarget callTarget,
+                    @Cached("create(callTarget)") DirectCallNode callNode,
+                    @Cached("create(function, callTarget, arguments.length)") LLVMForeignArgumentsNode argumentsNode) {
         assert function.getReturnType() != LLVMRuntimeType.STRUCT;
-        return callNode.call(frame, packArguments(arguments));
+        return callNode.call(frame, packArguments(argumentsNode.pack(frame, arguments)));
     }
 
     @Specialization
     public Object callIndirect(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments,
                     @Cached("create()") IndirectCallNode callNode) {
         assert function.getReturnType() != LLVMRuntimeType.STRUCT;
-        return callNode.call(frame, getCallTarget(function), packArguments(arguments));
+        return callNode.call(frame, getCallTarget(function), packArguments(convertArguments(frame, function, arguments)));
     }
 
     protected CallTarget getCallTarget(LLVMFunctionDescriptor function) {
         return context.getFunction(function);
     }
 
-    private Object[] packArguments(Object[] arguments) {
-        final Object[] packedArguments = new Object[1 + arguments.length];
-        packedArguments[0] = stack.getUpperBounds();
-        System.arraycopy(arguments, 0, packedArguments, 1, arguments.length);
+    private Object[] convertArguments(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments) {
+        LLVMForeignArgumentsNode.checkArity(function, arguments.length);
+        LLVMRuntimeType[] parameterTypes = function.getParameterTypes();
+        Object[] packedArguments = new Object[LLVMCallNode.ARG_START_INDEX + arguments.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            packedArguments[LLVMCallNode.ARG_START_INDEX + i] = toLLVM.convert(frame, arguments[i], parameterTypes[i]);
+        }
+        System.arraycopy(arguments, parameterTypes.length, packedArguments, LLVMCallNode.ARG_START_INDEX + parameterTypes.length, arguments.length - parameterTypes.length);
         return packedArguments;
     }
 
+    private Object[] packArguments(Object[] arguments) {
+        arguments[0] = stack.getForeignEntryStackPointer();
+        return arguments;
+    }
+
 }
@@ -67,15 +67,9 @@ public class LLVMFunctionMessageResolution {
         @Child private Node findContextNode;
         @Child private LLVMForeignCallNode executeNode;
 
-        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
         @Child private LLVMToNullNode toNull = LLVMToNullNodeGen.create();
 
         protected Object access(VirtualFrame frame, LLVMFunctionDescriptor object, Object[] arguments) {
-            if (arguments.length > 0 && arguments.length == object.getParameterTypes().length) {
-                for (int i = 0; i < arguments.length; i++) {
-                    arguments[i] = toLLVM.convert(frame, arguments[i], object.getParameterTypes()[i]);
-                }
-            }
             Object result = getHelperNode().executeCall(frame, object, arguments);
             return toNull.executeConvert(result, object.getReturnType());
         }
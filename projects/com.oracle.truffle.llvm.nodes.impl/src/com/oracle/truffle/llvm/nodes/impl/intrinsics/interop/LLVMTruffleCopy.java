@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMVoidIntrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+import com.oracle.truffle.llvm.types.LLVMTruffleObject;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Copies a range of elements between a foreign array and native memory in one operation. A Java
+ * <code>byte[]</code> that reaches Sulong unwrapped is copied in bulk, other objects element by
+ * element with READ and WRITE messages that are sent from a single node. Other Java primitive
+ * arrays always arrive behind a JavaInterop wrapper, which does not expose the array, and
+ * therefore take the message path. There, the range is checked against the GET_SIZE of the object
+ * before any element is copied.
+ */
+public final class LLVMTruffleCopy {
+
+    private static TruffleObject unwrap(LLVMTruffleObject object) {
+        if (object.getOffset() != 0 || object.getName() != null) {
+            throw new IllegalAccessError("Pointee must be unmodified");
+        }
+        return object.getObject();
+    }
+
+    private static void checkRange(long arrayLength, int index, int length) {
+        if (index < 0 || length < 0 || index > arrayLength - length) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IndexOutOfBoundsException("cannot copy " + length + " elements at index " + index + " of an array of length " + arrayLength);
+        }
+    }
+
+    private static int getElementSize(LLVMRuntimeType type) {
+        switch (type) {
+            case I8:
+                return Byte.BYTES;
+            case I32:
+                return Integer.BYTES;
+            case I64:
+                return Long.BYTES;
+            case FLOAT:
+                return Float.BYTES;
+            case DOUBLE:
+                return Double.BYTES;
+            default:
+                throw new AssertionError(type);
+        }
+    }
+
+    private static void checkRange(VirtualFrame frame, Node foreignGetSize, TruffleObject object, int index, int length) {
+        try {
+            checkRange(((Number) ForeignAccess.sendGetSize(foreignGetSize, frame, object)).longValue(), index, length);
+        } catch (UnsupportedMessageException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void putElement(long address, Object value, LLVMRuntimeType type) {
+        switch (type) {
+            case I8:
+                LLVMMemory.putI8(address, (byte) value);
+                break;
+            case I32:
+                LLVMMemory.putI32(address, (int) value);
+                break;
+            case I64:
+                LLVMMemory.putI64(address, (long) value);
+                break;
+            case FLOAT:
+                LLVMMemory.putFloat(address, (float) value);
+                break;
+            case DOUBLE:
+                LLVMMemory.putDouble(address, (double) value);
+                break;
+            default:
+                throw new AssertionError(type);
+        }
+    }
+
+    private static Object getElement(long address, LLVMRuntimeType type) {
+        switch (type) {
+            case I8:
+                return LLVMMemory.getI8(address);
+            case I32:
+                return LLVMMemory.getI32(address);
+            case I64:
+                return LLVMMemory.getI64(address);
+            case FLOAT:
+                return LLVMMemory.getFloat(address);
+            case DOUBLE:
+                return LLVMMemory.getDouble(address);
+            default:
+                throw new AssertionError(type);
+        }
+    }
+
+    private static void copyToNative(VirtualFrame frame, Node foreignGetSize, Node foreignRead, ToLLVMNode toLLVM, TruffleObject object, int index, LLVMAddress target, int length,
+                    LLVMRuntimeType type) {
+        checkRange(frame, foreignGetSize, object, index, length);
+        int elementSize = getElementSize(type);
+        long address = target.getVal();
+        try {
+            for (int i = 0; i < length; i++) {
+                Object value = ForeignAccess.sendRead(foreignRead, frame, object, index + i);
+                putElement(address, toLLVM.convert(frame, value, type), type);
+                address += elementSize;
+            }
+        } catch (UnknownIdentifierException | UnsupportedMessageException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void copyFromNative(VirtualFrame frame, Node foreignGetSize, Node foreignWrite, TruffleObject object, int index, LLVMAddress source, int length, LLVMRuntimeType type) {
+        checkRange(frame, foreignGetSize, object, index, length);
+        int elementSize = getElementSize(type);
+        long address = source.getVal();
+        try {
+            for (int i = 0; i < length; i++) {
+                ForeignAccess.sendWrite(foreignWrite, frame, object, index + i, getElement(address, type));
+                address += elementSize;
+            }
+        } catch (UnknownIdentifierException | UnsupportedMessageException | UnsupportedTypeException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyToNativeC extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignRead = Message.READ.createNode();
+        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
+        @Specialization
+        public void executeIntrinsic(byte[] array, int index, LLVMAddress target, int length) {
+            checkRange(array.length, index, length);
+            LLVMMemory.putBytes(target, array, index, length);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, unwrap(object), index, target, length, LLVMRuntimeType.I8);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, object, index, target, length, LLVMRuntimeType.I8);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyToNativeI extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignRead = Message.READ.createNode();
+        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, unwrap(object), index, target, length, LLVMRuntimeType.I32);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, object, index, target, length, LLVMRuntimeType.I32);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyToNativeL extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignRead = Message.READ.createNode();
+        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, unwrap(object), index, target, length, LLVMRuntimeType.I64);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, object, index, target, length, LLVMRuntimeType.I64);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyToNativeF extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignRead = Message.READ.createNode();
+        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, unwrap(object), index, target, length, LLVMRuntimeType.FLOAT);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, object, index, target, length, LLVMRuntimeType.FLOAT);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyToNativeD extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignRead = Message.READ.createNode();
+        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, unwrap(object), index, target, length, LLVMRuntimeType.DOUBLE);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress target, int length) {
+            copyToNative(frame, foreignGetSize, foreignRead, toLLVM, object, index, target, length, LLVMRuntimeType.DOUBLE);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyFromNativeC extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignWrite = Message.WRITE.createNode();
+
+        @Specialization
+        public void executeIntrinsic(byte[] array, int index, LLVMAddress source, int length) {
+            checkRange(array.length, index, length);
+            LLVMMemory.getBytes(source, array, index, length);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, unwrap(object), index, source, length, LLVMRuntimeType.I8);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, object, index, source, length, LLVMRuntimeType.I8);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyFromNativeI extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignWrite = Message.WRITE.createNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, unwrap(object), index, source, length, LLVMRuntimeType.I32);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, object, index, source, length, LLVMRuntimeType.I32);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyFromNativeL extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignWrite = Message.WRITE.createNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, unwrap(object), index, source, length, LLVMRuntimeType.I64);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, object, index, source, length, LLVMRuntimeType.I64);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyFromNativeF extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignWrite = Message.WRITE.createNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, unwrap(object), index, source, length, LLVMRuntimeType.FLOAT);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, object, index, source, length, LLVMRuntimeType.FLOAT);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleCopyFromNativeD extends LLVMVoidIntrinsic {
+
+        @Child private Node foreignGetSize = Message.GET_SIZE.createNode();
+        @Child private Node foreignWrite = Message.WRITE.createNode();
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, unwrap(object), index, source, length, LLVMRuntimeType.DOUBLE);
+        }
+
+        @Specialization
+        public void executeIntrinsic(VirtualFrame frame, TruffleObject object, int index, LLVMAddress source, int length) {
+            copyFromNative(frame, foreignGetSize, foreignWrite, object, index, source, length, LLVMRuntimeType.DOUBLE);
+        }
+    }
+}
@@ -43,6 +43,7 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMContextNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMBooleanIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMDoubleIntrinsic;
@@ -50,40 +51,35 @@ import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMFloa
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI8Intrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMTruffleObject;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
 
 public final class LLVMTruffleExecute {
 
     private static final int NAMED_ARGS = 1;
 
-    private static Object doExecute(VirtualFrame frame, Node foreignExecute, LLVMTruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType) {
-        int argsLength = getFunctionArgumentLength(frame);
-        Object[] args = new Object[argsLength];
-        for (int i = LLVMCallNode.ARG_START_INDEX + NAMED_ARGS, j = 0; i < frame.getArguments().length; i++, j++) {
-            args[j] = frame.getArguments()[i];
-        }
-        try {
-            if (value.getOffset() != 0 || value.getName() != null) {
-                throw new IllegalAccessError("Pointee must be unmodified");
-            }
-            Object rawValue = ForeignAccess.sendExecute(foreignExecute, frame, value.getObject(), args);
-            return toLLVM.convert(frame, rawValue, expectedType);
-        } catch (UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
-            throw new IllegalStateException(e);
+    private static Object doExecute(VirtualFrame frame, Node foreignExecute, LLVMTruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType, LLVMStack stack) {
+        if (value.getOffset() != 0 || value.getName() != null) {
+            throw new IllegalAccessError("Pointee must be unmodified");
         }
+        return doExecute(frame, foreignExecute, value.getObject(), toLLVM, expectedType, stack);
     }
 
-    private static Object doExecute(VirtualFrame frame, Node foreignExecute, TruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType) {
+    private static Object doExecute(VirtualFrame frame, Node foreignExecute, TruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType, LLVMStack stack) {
         int argsLength = getFunctionArgumentLength(frame);
         Object[] args = new Object[argsLength];
         for (int i = LLVMCallNode.ARG_START_INDEX + NAMED_ARGS, j = 0; i < frame.getArguments().length; i++, j++) {
             args[j] = frame.getArguments()[i];
         }
+        long previousStackPointer = stack.enterForeignCall((LLVMAddress) frame.getArguments()[0]);
         try {
             Object rawValue = ForeignAccess.sendExecute(foreignExecute, frame, value, args);
             return toLLVM.convert(frame, rawValue, expectedType);
         } catch (UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
             throw new IllegalStateException(e);
+        } finally {
+            stack.leaveForeignCall(previousStackPointer);
         }
     }
 
@@ -95,6 +91,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteP extends LLVMAddressIntrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = TruffleObject.class;
@@ -105,7 +102,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -114,7 +111,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -122,6 +119,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteI extends LLVMI32Intrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = int.class;
@@ -132,7 +130,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (int) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -141,7 +139,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (int) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -149,6 +147,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteL extends LLVMI64Intrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = long.class;
@@ -159,7 +158,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (long) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -168,7 +167,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (long) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -176,6 +175,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteC extends LLVMI8Intrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = byte.class;
@@ -186,7 +186,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (byte) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -195,7 +195,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (byte) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -203,6 +203,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteF extends LLVMFloatIntrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = float.class;
@@ -213,7 +214,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (float) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -222,7 +223,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (float) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -230,6 +231,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteD extends LLVMDoubleIntrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = double.class;
@@ -240,7 +242,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (double) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -249,7 +251,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (double) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -257,6 +259,7 @@ public final class LLVMTruffleExecute {
     public abstract static class LLVMTruffleExecuteB extends LLVMBooleanIntrinsic {
 
         @Child private Node foreignExecute;
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = boolean.class;
@@ -267,7 +270,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (boolean) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -276,7 +279,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (boolean) doExecute(frame, foreignExecute, value, toLLVM, expectedType, context.get().getStack());
         }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+import com.oracle.truffle.llvm.types.LLVMTruffleArray;
+
+/**
+ * Wraps native memory into an array with a fixed element type and length that can be passed to
+ * other languages without copying.
+ */
+public final class LLVMTruffleExportArray {
+
+    private static Object export(LLVMAddress array, LLVMRuntimeType type, int length) {
+        assert length >= 0;
+        return new LLVMTruffleArray(array, type, length);
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleExportArrayI extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public Object executeIntrinsic(LLVMAddress array, int length) {
+            return export(array, LLVMRuntimeType.I32_POINTER, length);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleExportArrayL extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public Object executeIntrinsic(LLVMAddress array, int length) {
+            return export(array, LLVMRuntimeType.I64_POINTER, length);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleExportArrayC extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public Object executeIntrinsic(LLVMAddress array, int length) {
+            return export(array, LLVMRuntimeType.I8_POINTER, length);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleExportArrayF extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public Object executeIntrinsic(LLVMAddress array, int length) {
+            return export(array, LLVMRuntimeType.FLOAT_POINTER, length);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleExportArrayD extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public Object executeIntrinsic(LLVMAddress array, int length) {
+            return export(array, LLVMRuntimeType.DOUBLE_POINTER, length);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMTruffleExportArrayB extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public Object executeIntrinsic(LLVMAddress array, int length) {
+            return export(array, LLVMRuntimeType.I1_POINTER, length);
+        }
+    }
+}
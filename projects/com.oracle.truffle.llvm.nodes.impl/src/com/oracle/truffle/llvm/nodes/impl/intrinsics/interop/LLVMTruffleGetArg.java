@@ -29,22 +29,65 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
 
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMOutlinedRegionNode;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
 
 @NodeChildren({@NodeChild(type = LLVMExpressionNode.class)})
 public abstract class LLVMTruffleGetArg extends LLVMAddressIntrinsic {
 
+    @CompilationFinal(dimensions = 1) private LLVMRuntimeType[] parameterTypes;
+
     @Specialization
     public Object executeIntrinsic(VirtualFrame frame, int index) {
         assert index >= 0;
         Object[] arguments = frame.getArguments();
+        if (LLVMCallNode.hasPrimitiveArguments(arguments)) {
+            // called directly from Sulong, the raw argument bits are decoded by the declared type
+            return decode(getParameterTypes()[index], LLVMCallNode.getPrimitiveArgument(arguments, LLVMCallNode.ARG_START_INDEX + index));
+        }
         return arguments[LLVMCallNode.ARG_START_INDEX + index];
     }
 
+    private LLVMRuntimeType[] getParameterTypes() {
+        if (parameterTypes == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            RootNode function = LLVMOutlinedRegionNode.getFunctionRootNode(this);
+            parameterTypes = ((LLVMFunctionStartNode) function).getParameterTypes();
+        }
+        return parameterTypes;
+    }
+
+    private static Object decode(LLVMRuntimeType type, long bits) {
+        switch (type) {
+            case I1:
+                return bits != 0;
+            case I8:
+                return (byte) bits;
+            case I16:
+                return (short) bits;
+            case I32:
+                return (int) bits;
+            case I64:
+                return bits;
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            default:
+                return LLVMAddress.fromLong(bits);
+        }
+    }
+
 }
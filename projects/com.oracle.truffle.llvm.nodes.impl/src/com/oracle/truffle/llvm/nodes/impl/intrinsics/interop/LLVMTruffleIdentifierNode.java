@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Reads the C string that identifies a member of a foreign object. The strings are cached by
+ * their address, so that the identifier becomes a compilation constant for the foreign access
+ * nodes. Since the memory behind the address can change, a cached entry is only used if the bytes
+ * at the address still match, which is checked without building a new string.
+ */
+public abstract class LLVMTruffleIdentifierNode extends Node {
+
+    public abstract String execute(LLVMAddress address);
+
+    @SuppressWarnings("unused")
+    @Specialization(limit = "10", guards = {"address.getVal() == cachedAddress", "matches(address, cachedBytes)"})
+    public String cached(LLVMAddress address, @Cached("address.getVal()") long cachedAddress, @Cached("readBytes(address)") byte[] cachedBytes,
+                    @Cached("toIdentifier(cachedBytes)") String cachedIdentifier) {
+        return cachedIdentifier;
+    }
+
+    @Specialization(contains = "cached")
+    public String uncached(LLVMAddress address) {
+        return LLVMTruffleIntrinsicUtil.readString(address);
+    }
+
+    protected static byte[] readBytes(LLVMAddress address) {
+        int length = 0;
+        while (LLVMMemory.getI8(address.increment(length)) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = LLVMMemory.getI8(address.increment(i));
+        }
+        return bytes;
+    }
+
+    protected static String toIdentifier(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length);
+        for (byte b : bytes) {
+            sb.append((char) Byte.toUnsignedInt(b));
+        }
+        return sb.toString();
+    }
+
+    @ExplodeLoop
+    protected static boolean matches(LLVMAddress address, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (LLVMMemory.getI8(address.increment(i)) != bytes[i]) {
+                return false;
+            }
+        }
+        return LLVMMemory.getI8(address.increment(bytes.length)) == 0;
+    }
+
+}
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
@@ -39,10 +40,16 @@ import com.oracle.truffle.llvm.types.LLVMAddress;
 @NodeChild(type = LLVMExpressionNode.class)
 public abstract class LLVMTruffleImport extends LLVMAddressIntrinsic {
 
+    @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+
     @Specialization
     public Object executeIntrinsic(LLVMAddress value) {
-        String id = LLVMTruffleIntrinsicUtil.readString(value);
-        return LLVMLanguage.INSTANCE.getEnvironment().importSymbol(id);
+        return importSymbol(identifier.execute(value));
+    }
+
+    @TruffleBoundary
+    private static Object importSymbol(String name) {
+        return LLVMLanguage.INSTANCE.getEnvironment().importSymbol(name);
     }
 
 }
@@ -34,7 +34,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMContextNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleImportCachedFactory.ImportCacheNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
 import com.oracle.truffle.llvm.types.LLVMAddress;
@@ -42,26 +42,39 @@ import com.oracle.truffle.llvm.types.LLVMAddress;
 @NodeChild(type = LLVMExpressionNode.class)
 public abstract class LLVMTruffleImportCached extends LLVMAddressIntrinsic {
 
+    @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
     @Child private ImportCache cache = ImportCacheNodeGen.create();
 
     @Specialization
     public Object executeIntrinsic(LLVMAddress value) {
-        String id = LLVMTruffleIntrinsicUtil.readString(value);
-        return cache.execute(id);
+        return cache.execute(identifier.execute(value));
     }
 
+    /**
+     * Caches the imported symbols of a call site, and falls back to the import cache of the
+     * context for names that could not be resolved yet or once the call site has seen too many
+     * different names. The fallback does not replace the symbols that are already cached, so an
+     * unresolved import does not slow down the other imports of the call site.
+     */
     abstract static class ImportCache extends Node {
 
+        @Child private LLVMContextNode context = new LLVMContextNode();
+
         public abstract Object execute(String name);
 
         @SuppressWarnings("unused")
-        @Specialization(limit = "10", guards = {"stringEquals(name, cachedName)"})
-        public Object importValue(String name, @Cached("name") String cachedName, @Cached("resolve(cachedName)") Object value) {
+        @Specialization(limit = "10", guards = {"stringEquals(name, cachedName)", "value != null"})
+        public Object importCached(String name, @Cached("name") String cachedName, @Cached("getImportCache().lookup(cachedName)") Object value) {
             return value;
         }
 
-        protected static Object resolve(String name) {
-            return LLVMLanguage.INSTANCE.getEnvironment().importSymbol(name);
+        @Specialization
+        public Object importUncached(String name) {
+            return getImportCache().lookup(name);
+        }
+
+        protected LLVMImportCache getImportCache() {
+            return context.get().getImportCache();
         }
 
         protected static boolean stringEquals(String s1, String s2) {
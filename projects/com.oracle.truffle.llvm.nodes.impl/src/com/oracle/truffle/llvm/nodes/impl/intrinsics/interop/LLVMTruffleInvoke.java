@@ -44,6 +44,7 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMContextNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMBooleanIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMDoubleIntrinsic;
@@ -53,30 +54,33 @@ import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64I
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI8Intrinsic;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMTruffleObject;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
 
 public final class LLVMTruffleInvoke {
 
     private static final int NAMED_ARGS = 2;
 
-    private static Object doInvoke(VirtualFrame frame, Node foreignInvoke, LLVMTruffleObject value, LLVMAddress id, ToLLVMNode toLLVM, Class<?> expectedType) {
+    private static Object doInvoke(VirtualFrame frame, Node foreignInvoke, LLVMTruffleObject value, String name, ToLLVMNode toLLVM, Class<?> expectedType, LLVMStack stack) {
         if (value.getOffset() != 0 || value.getName() != null) {
             throw new IllegalAccessError("Pointee must be unmodified");
         }
-        return doInvoke(frame, foreignInvoke, value.getObject(), id, toLLVM, expectedType);
+        return doInvoke(frame, foreignInvoke, value.getObject(), name, toLLVM, expectedType, stack);
     }
 
-    private static Object doInvoke(VirtualFrame frame, Node foreignInvoke, TruffleObject value, LLVMAddress id, ToLLVMNode toLLVM, Class<?> expectedType) {
-        String name = LLVMTruffleIntrinsicUtil.readString(id);
+    private static Object doInvoke(VirtualFrame frame, Node foreignInvoke, TruffleObject value, String name, ToLLVMNode toLLVM, Class<?> expectedType, LLVMStack stack) {
         int argsLength = getFunctionArgumentLength(frame);
         Object[] args = new Object[argsLength];
         for (int i = LLVMCallNode.ARG_START_INDEX + NAMED_ARGS, j = 0; i < frame.getArguments().length; i++, j++) {
             args[j] = frame.getArguments()[i];
         }
+        long previousStackPointer = stack.enterForeignCall((LLVMAddress) frame.getArguments()[0]);
         try {
             Object rawValue = ForeignAccess.sendInvoke(foreignInvoke, frame, value, name, args);
             return toLLVM.convert(frame, rawValue, expectedType);
         } catch (UnknownIdentifierException | UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
             throw new IllegalStateException(e);
+        } finally {
+            stack.leaveForeignCall(previousStackPointer);
         }
     }
 
@@ -88,6 +92,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeP extends LLVMAddressIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = TruffleObject.class;
@@ -98,7 +104,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -107,7 +113,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -115,6 +121,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeI extends LLVMI32Intrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = int.class;
@@ -125,7 +133,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (int) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -134,7 +142,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (int) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -142,6 +150,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeL extends LLVMI64Intrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = long.class;
@@ -152,7 +162,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (long) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -161,7 +171,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (long) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -169,6 +179,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeC extends LLVMI8Intrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = byte.class;
@@ -179,7 +191,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (byte) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -188,7 +200,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (byte) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -196,6 +208,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeF extends LLVMFloatIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = float.class;
@@ -206,7 +220,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (float) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -215,7 +229,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (float) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -223,6 +237,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeD extends LLVMDoubleIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = double.class;
@@ -233,7 +249,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (double) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -242,7 +258,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (double) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 
@@ -250,6 +266,8 @@ public final class LLVMTruffleInvoke {
     public abstract static class LLVMTruffleInvokeB extends LLVMBooleanIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMTruffleIdentifierNode identifier = LLVMTruffleIdentifierNodeGen.create();
+        @Child private LLVMContextNode context = new LLVMContextNode();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = boolean.class;
@@ -260,7 +278,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (boolean) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
 
         @Specialization
@@ -269,7 +287,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (boolean) doInvoke(frame, foreignInvoke, value, identifier.execute(id), toLLVM, expectedType, context.get().getStack());
         }
     }
 }
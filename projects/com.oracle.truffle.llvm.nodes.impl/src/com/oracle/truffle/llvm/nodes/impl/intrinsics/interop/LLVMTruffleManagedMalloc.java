@@ -30,6 +30,8 @@
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.CanResolve;
@@ -41,7 +43,10 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMallocFactory.ManagedMallocReadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMallocFactory.ManagedMallocWriteNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
 
 @NodeChild(type = LLVMExpressionNode.class)
 public abstract class LLVMTruffleManagedMalloc extends LLVMAddressIntrinsic {
@@ -79,8 +84,10 @@ public abstract class LLVMTruffleManagedMalloc extends LLVMAddressIntrinsic {
         @Resolve(message = "READ")
         public abstract static class ForeignReadNode extends Node {
 
+            @Child private ManagedMallocReadNode read = ManagedMallocReadNodeGen.create();
+
             protected Object access(ManagedMallocObject malloc, int index) {
-                return malloc.get(index);
+                return read.executeRead(malloc, index);
             }
 
         }
@@ -88,8 +95,10 @@ public abstract class LLVMTruffleManagedMalloc extends LLVMAddressIntrinsic {
         @Resolve(message = "WRITE")
         public abstract static class ForeignWriteNode extends Node {
 
+            @Child private ManagedMallocWriteNode write = ManagedMallocWriteNodeGen.create();
+
             protected Object access(ManagedMallocObject malloc, int index, Object value) {
-                malloc.set(index, value);
+                write.executeWrite(malloc, index, value);
                 return value;
             }
 
@@ -97,24 +106,208 @@ public abstract class LLVMTruffleManagedMalloc extends LLVMAddressIntrinsic {
 
     }
 
+    /**
+     * Reads an entry of a managed allocation, specialized on the storage kinds that it sees.
+     */
+    public abstract static class ManagedMallocReadNode extends Node {
+
+        public abstract Object executeRead(ManagedMallocObject malloc, int index);
+
+        @SuppressWarnings("unused")
+        @Specialization(limit = "3", guards = "malloc.getStorage() == cachedStorage")
+        public Object readCached(ManagedMallocObject malloc, int index, @Cached("malloc.getStorage()") Storage cachedStorage) {
+            return malloc.get(cachedStorage, index);
+        }
+
+        @Specialization(contains = "readCached")
+        public Object readGeneric(ManagedMallocObject malloc, int index) {
+            return malloc.get(index);
+        }
+
+    }
+
+    /**
+     * Writes an entry of a managed allocation, specialized on the storage kinds that it sees.
+     */
+    public abstract static class ManagedMallocWriteNode extends Node {
+
+        public abstract void executeWrite(ManagedMallocObject malloc, int index, Object value);
+
+        @SuppressWarnings("unused")
+        @Specialization(limit = "3", guards = "malloc.getStorage() == cachedStorage")
+        public void writeCached(ManagedMallocObject malloc, int index, Object value, @Cached("malloc.getStorage()") Storage cachedStorage) {
+            malloc.set(cachedStorage, index, value);
+        }
+
+        @Specialization(contains = "writeCached")
+        public void writeGeneric(ManagedMallocObject malloc, int index, Object value) {
+            malloc.set(index, value);
+        }
+
+    }
+
+    /**
+     * The kinds of storage of a managed allocation.
+     */
+    public enum Storage {
+        EMPTY,
+        LONG,
+        DOUBLE,
+        ADDRESS,
+        OBJECT
+    }
+
+    /**
+     * The pointer-sized entries of a managed allocation. To avoid keeping a box per entry, the
+     * entries are stored in a <code>long[]</code> or <code>double[]</code> as long as all written
+     * values are <code>long</code>s, <code>double</code>s or native addresses, and only generalize
+     * to an <code>Object[]</code> when a value of another kind is written. A bitmap records which
+     * entries of a primitive array were written, so that the other entries still read as
+     * <code>null</code>.
+     */
     public static class ManagedMallocObject implements TruffleObject {
 
-        private final Object[] contents;
+        private static final int BITS_PER_WORD = Long.SIZE;
+
+        private final int size;
+        private Storage storage;
+        private Object contents;
+        private long[] written;
 
         public ManagedMallocObject(int entries) {
-            contents = new Object[entries];
+            size = entries;
+            storage = Storage.EMPTY;
+        }
+
+        public Storage getStorage() {
+            return storage;
         }
 
         public Object get(int index) {
-            return contents[index];
+            return get(storage, index);
+        }
+
+        /**
+         * @param currentStorage the storage of this object, which callers may pass as a constant
+         */
+        public Object get(Storage currentStorage, int index) {
+            assert currentStorage == storage;
+            if (index < 0 || index >= size) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArrayIndexOutOfBoundsException(index);
+            }
+            switch (currentStorage) {
+                case EMPTY:
+                    return null;
+                case LONG:
+                    return isWritten(index) ? (Object) ((long[]) contents)[index] : null;
+                case DOUBLE:
+                    return isWritten(index) ? (Object) ((double[]) contents)[index] : null;
+                case ADDRESS:
+                    return isWritten(index) ? LLVMAddress.fromLong(((long[]) contents)[index]) : null;
+                default:
+                    return ((Object[]) contents)[index];
+            }
         }
 
         public void set(int index, Object value) {
-            contents[index] = value;
+            set(storage, index, value);
+        }
+
+        /**
+         * @param currentStorage the storage of this object, which callers may pass as a constant
+         */
+        public void set(Storage currentStorage, int index, Object value) {
+            assert currentStorage == storage;
+            if (index < 0 || index >= size) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArrayIndexOutOfBoundsException(index);
+            }
+            Storage valueStorage = storageFor(value);
+            if (currentStorage != valueStorage && currentStorage != Storage.OBJECT) {
+                if (currentStorage == Storage.EMPTY) {
+                    specialize(valueStorage);
+                } else {
+                    generalize();
+                }
+                setEntry(storage, index, value);
+            } else {
+                setEntry(currentStorage, index, value);
+            }
+        }
+
+        private void setEntry(Storage currentStorage, int index, Object value) {
+            switch (currentStorage) {
+                case LONG:
+                    ((long[]) contents)[index] = (long) value;
+                    markWritten(index);
+                    break;
+                case DOUBLE:
+                    ((double[]) contents)[index] = (double) value;
+                    markWritten(index);
+                    break;
+                case ADDRESS:
+                    ((long[]) contents)[index] = ((LLVMAddress) value).getVal();
+                    markWritten(index);
+                    break;
+                default:
+                    ((Object[]) contents)[index] = value;
+                    break;
+            }
+        }
+
+        private boolean isWritten(int index) {
+            return (written[index / BITS_PER_WORD] & (1L << index)) != 0;
+        }
+
+        private void markWritten(int index) {
+            written[index / BITS_PER_WORD] |= 1L << index;
+        }
+
+        private static Storage storageFor(Object value) {
+            if (value instanceof Long) {
+                return Storage.LONG;
+            } else if (value instanceof Double) {
+                return Storage.DOUBLE;
+            } else if (value instanceof LLVMAddress) {
+                return Storage.ADDRESS;
+            } else {
+                return Storage.OBJECT;
+            }
+        }
+
+        @TruffleBoundary
+        private void specialize(Storage newStorage) {
+            switch (newStorage) {
+                case LONG:
+                case ADDRESS:
+                    contents = new long[size];
+                    written = new long[(size + BITS_PER_WORD - 1) / BITS_PER_WORD];
+                    break;
+                case DOUBLE:
+                    contents = new double[size];
+                    written = new long[(size + BITS_PER_WORD - 1) / BITS_PER_WORD];
+                    break;
+                default:
+                    contents = new Object[size];
+                    break;
+            }
+            storage = newStorage;
+        }
+
+        @TruffleBoundary
+        private void generalize() {
+            Object[] objects = new Object[size];
+            for (int i = 0; i < size; i++) {
+                objects[i] = get(i);
+            }
+            contents = objects;
+            written = null;
+            storage = Storage.OBJECT;
         }
 
         public int getSize() {
-            return contents.length;
+            return size;
         }
 
         @Override
@@ -42,14 +42,9 @@ import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 public abstract class LLVMTruffleReadNBytes extends LLVMAddressIntrinsic {
     @Specialization
     public Object executeIntrinsic(LLVMAddress value, int n) {
-        LLVMAddress adr = value;
         int count = n < 0 ? 0 : n;
         byte[] bytes = new byte[count];
-        adr = value;
-        for (int i = 0; i < count; i++) {
-            bytes[i] = LLVMMemory.getI8(adr);
-            adr = adr.increment(Byte.BYTES);
-        }
+        LLVMMemory.getBytes(value, bytes, 0, count);
         return bytes;
     }
 
@@ -62,29 +62,28 @@ public final class ToLLVMNode extends Node {
     }
 
     public Object convert(VirtualFrame frame, Object value, LLVMRuntimeType type) {
-        Class<?> t;
+        return convert(frame, value, getJavaType(type));
+    }
+
+    /**
+     * @return the Java type that a foreign value is converted to for the given Sulong type
+     */
+    public static Class<?> getJavaType(LLVMRuntimeType type) {
         switch (type) {
             case I1:
-                t = boolean.class;
-                break;
+                return boolean.class;
             case I8:
-                t = byte.class;
-                break;
+                return byte.class;
             case I16:
-                t = short.class;
-                break;
+                return short.class;
             case I32:
-                t = int.class;
-                break;
+                return int.class;
             case I64:
-                t = long.class;
-                break;
+                return long.class;
             case FLOAT:
-                t = float.class;
-                break;
+                return float.class;
             case DOUBLE:
-                t = double.class;
-                break;
+                return double.class;
             case I1_POINTER:
             case I8_POINTER:
             case I16_POINTER:
@@ -95,12 +94,10 @@ public final class ToLLVMNode extends Node {
             case DOUBLE_POINTER:
             case ADDRESS:
             case FUNCTION_ADDRESS:
-                t = TruffleObject.class;
-                break;
+                return TruffleObject.class;
             default:
                 throw UnsupportedTypeException.raise(new Object[]{type});
         }
-        return convert(frame, value, t);
     }
 
     private static boolean isPrimitiveType(Class<?> clazz) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith;
+
+import java.math.BigDecimal;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+
+/**
+ * Implements the fused multiply-add with a single rounding. The multiplication and addition of
+ * finite non-zero operands are computed exactly with {@link BigDecimal}, since Java 8 has no
+ * fused multiply-add. <code>llvm.fmuladd</code> allows an unfused computation and is therefore
+ * implemented with ordinary arithmetic.
+ */
+public abstract class LLVMFMA {
+
+    @TruffleBoundary
+    public static double fma(double a, double b, double c) {
+        if (Double.isNaN(a) || Double.isNaN(b) || Double.isNaN(c)) {
+            return Double.NaN;
+        }
+        if (Double.isInfinite(a) || Double.isInfinite(b) || Double.isInfinite(c) || a == 0 || b == 0) {
+            // the product is exact or infinite, and signed zeros are handled by the arithmetic
+            return a * b + c;
+        }
+        BigDecimal result = new BigDecimal(a).multiply(new BigDecimal(b)).add(new BigDecimal(c));
+        return result.signum() == 0 ? 0.0 : result.doubleValue();
+    }
+
+    @TruffleBoundary
+    public static float fma(float a, float b, float c) {
+        if (Float.isNaN(a) || Float.isNaN(b) || Float.isNaN(c)) {
+            return Float.NaN;
+        }
+        // the product of two floats is exact in double precision
+        double product = (double) a * (double) b;
+        if (Float.isInfinite(a) || Float.isInfinite(b) || Float.isInfinite(c) || a == 0 || b == 0) {
+            return (float) (product + c);
+        }
+        BigDecimal result = new BigDecimal(product).add(new BigDecimal(c));
+        return result.signum() == 0 ? 0.0f : result.floatValue();
+    }
+
+    @GenerateNodeFactory
+    @NodeChildren({@NodeChild(value = "a"), @NodeChild(value = "b"), @NodeChild(value = "c")})
+    public abstract static class LLVMFMAFloat extends LLVMFloatNode {
+
+        @Specialization
+        public float executeFloat(float a, float b, float c) {
+            return fma(a, b, c);
+        }
+    }
+
+    @GenerateNodeFactory
+    @NodeChildren({@NodeChild(value = "a"), @NodeChild(value = "b"), @NodeChild(value = "c")})
+    public abstract static class LLVMFMADouble extends LLVMDoubleNode {
+
+        @Specialization
+        public double executeDouble(double a, double b, double c) {
+            return fma(a, b, c);
+        }
+    }
+
+    @GenerateNodeFactory
+    @NodeChildren({@NodeChild(value = "a"), @NodeChild(value = "b"), @NodeChild(value = "c")})
+    public abstract static class LLVMFMulAddFloat extends LLVMFloatNode {
+
+        @Specialization
+        public float executeFloat(float a, float b, float c) {
+            return a * b + c;
+        }
+    }
+
+    @GenerateNodeFactory
+    @NodeChildren({@NodeChild(value = "a"), @NodeChild(value = "b"), @NodeChild(value = "c")})
+    public abstract static class LLVMFMulAddDouble extends LLVMDoubleNode {
+
+        @Specialization
+        public double executeDouble(double a, double b, double c) {
+            return a * b + c;
+        }
+    }
+}
@@ -31,65 +31,39 @@ package com.oracle.truffle.llvm.nodes.impl.memory;
 
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
-import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
-import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
-import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMTruffleObject;
 
-public abstract class LLVMAddressGetElementPtrNode extends LLVMAddressNode {
+public abstract class LLVMAddressGetElementPtrNode extends LLVMAddressNode implements LLVMSideEffectFreeNode {
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class)})
-    @NodeField(type = int.class, name = "typeWidth")
-    public abstract static class LLVMAddressI32GetElementPtrNode extends LLVMAddressGetElementPtrNode {
+    /**
+     * Computes the address of a whole chain of getelementptr indices. The offset node has already
+     * folded the constant indices, so the base address is only incremented once.
+     */
+    @NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+    public abstract static class LLVMAddressOffsetGetElementPtrNode extends LLVMAddressGetElementPtrNode {
 
-        public abstract int getTypeWidth();
+        public abstract LLVMAddressNode getBaseAddress();
 
-        @Specialization
-        public LLVMAddress executePointee(LLVMAddress addr, int val) {
-            int incr = getTypeWidth() * val;
-            return addr.increment(incr);
-        }
-
-        @Specialization
-        public LLVMTruffleObject executeTruffleObject(LLVMTruffleObject addr, int val) {
-            int incr = getTypeWidth() * val;
-            return new LLVMTruffleObject(addr.getObject(), addr.getOffset() + incr);
-        }
-
-        @Specialization
-        public LLVMTruffleObject executeTruffleObject(TruffleObject addr, int val) {
-            int incr = getTypeWidth() * val;
-            return new LLVMTruffleObject(addr, incr);
-        }
-
-    }
-
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
-    @NodeField(type = int.class, name = "typeWidth")
-    public abstract static class LLVMAddressI64GetElementPtrNode extends LLVMAddressGetElementPtrNode {
-
-        public abstract int getTypeWidth();
+        public abstract LLVMGetElementPtrOffsetNode getOffset();
 
         @Specialization
-        public LLVMAddress executePointee(LLVMAddress addr, long val) {
-            long incr = getTypeWidth() * val;
-            return addr.increment(incr);
+        public LLVMAddress executePointee(LLVMAddress addr, long offset) {
+            return addr.increment(offset);
         }
 
         @Specialization
-        public LLVMTruffleObject executeTruffleObject(LLVMTruffleObject addr, long val) {
-            long incr = getTypeWidth() * val;
-            return new LLVMTruffleObject(addr.getObject(), addr.getOffset() + incr);
+        public LLVMTruffleObject executeTruffleObject(LLVMTruffleObject addr, long offset) {
+            return new LLVMTruffleObject(addr.getObject(), addr.getOffset() + offset);
         }
 
         @Specialization
-        public LLVMTruffleObject executeTruffleObject(TruffleObject addr, long val) {
-            long incr = getTypeWidth() * val;
-            return new LLVMTruffleObject(addr, incr);
+        public LLVMTruffleObject executeTruffleObject(TruffleObject addr, long offset) {
+            return new LLVMTruffleObject(addr, offset);
         }
 
     }
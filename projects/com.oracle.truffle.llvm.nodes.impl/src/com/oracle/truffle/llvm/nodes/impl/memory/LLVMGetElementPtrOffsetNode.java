@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.memory;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+
+/**
+ * Computes the byte offset of a chain of getelementptr indices as a constant offset plus the sum
+ * of the variable indices, each scaled by the size of its indexed type. The constant indices of
+ * the chain are folded into the constant offset when the node is created.
+ */
+public final class LLVMGetElementPtrOffsetNode extends LLVMI64Node {
+
+    private final long constantOffset;
+    @Children private final LLVMI32Node[] i32Indices;
+    @CompilationFinal private final long[] i32Scales;
+    @Children private final LLVMI64Node[] i64Indices;
+    @CompilationFinal private final long[] i64Scales;
+
+    public LLVMGetElementPtrOffsetNode(long constantOffset) {
+        this(constantOffset, new LLVMI32Node[0], new long[0], new LLVMI64Node[0], new long[0]);
+    }
+
+    private LLVMGetElementPtrOffsetNode(long constantOffset, LLVMI32Node[] i32Indices, long[] i32Scales, LLVMI64Node[] i64Indices, long[] i64Scales) {
+        this.constantOffset = constantOffset;
+        this.i32Indices = i32Indices;
+        this.i32Scales = i32Scales;
+        this.i64Indices = i64Indices;
+        this.i64Scales = i64Scales;
+    }
+
+    public LLVMGetElementPtrOffsetNode addConstant(long offset) {
+        return new LLVMGetElementPtrOffsetNode(constantOffset + offset, i32Indices, i32Scales, i64Indices, i64Scales);
+    }
+
+    public LLVMGetElementPtrOffsetNode addIndex(LLVMI32Node index, long scale) {
+        LLVMI32Node[] newIndices = Arrays.copyOf(i32Indices, i32Indices.length + 1);
+        newIndices[i32Indices.length] = index;
+        long[] newScales = Arrays.copyOf(i32Scales, i32Scales.length + 1);
+        newScales[i32Scales.length] = scale;
+        return new LLVMGetElementPtrOffsetNode(constantOffset, newIndices, newScales, i64Indices, i64Scales);
+    }
+
+    public LLVMGetElementPtrOffsetNode addIndex(LLVMI64Node index, long scale) {
+        LLVMI64Node[] newIndices = Arrays.copyOf(i64Indices, i64Indices.length + 1);
+        newIndices[i64Indices.length] = index;
+        long[] newScales = Arrays.copyOf(i64Scales, i64Scales.length + 1);
+        newScales[i64Scales.length] = scale;
+        return new LLVMGetElementPtrOffsetNode(constantOffset, i32Indices, i32Scales, newIndices, newScales);
+    }
+
+    @Override
+    @ExplodeLoop
+    public long executeI64(VirtualFrame frame) {
+        long offset = constantOffset;
+        for (int i = 0; i < i32Indices.length; i++) {
+            offset += i32Scales[i] * i32Indices[i].executeI32(frame);
+        }
+        for (int i = 0; i < i64Indices.length; i++) {
+            offset += i64Scales[i] * i64Indices[i].executeI64(frame);
+        }
+        return offset;
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.memory;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMTruffleObject;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Stores to the result of a getelementptr without materializing the pointer. A foreign pointer is
+ * passed on as its object and its offset, so that indexing into a foreign array does not allocate
+ * a new {@link LLVMTruffleObject} for every element.
+ */
+@NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+public abstract class LLVMOffsetStoreNode extends LLVMNode {
+
+    @Child private Node foreignWrite = Message.WRITE.createNode();
+
+    protected void doForeignAccess(VirtualFrame frame, TruffleObject object, long offset, int elementSize, Object value) {
+        try {
+            ForeignAccess.sendWrite(foreignWrite, frame, object, (int) (offset / elementSize), value);
+        } catch (UnknownIdentifierException | UnsupportedMessageException | UnsupportedTypeException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @NodeChild(type = LLVMI8Node.class, value = "valueNode")
+    public abstract static class LLVMI8OffsetStoreNode extends LLVMOffsetStoreNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, long offset, byte value) {
+            LLVMMemory.putI8(address.increment(offset), value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, LLVMTruffleObject address, long offset, byte value) {
+            doForeignAccess(frame, address.getObject(), address.getOffset() + offset, Byte.BYTES, value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, TruffleObject address, long offset, byte value) {
+            doForeignAccess(frame, address, offset, Byte.BYTES, value);
+        }
+    }
+
+    @NodeChild(type = LLVMI32Node.class, value = "valueNode")
+    public abstract static class LLVMI32OffsetStoreNode extends LLVMOffsetStoreNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, long offset, int value) {
+            LLVMMemory.putI32(address.increment(offset), value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, LLVMTruffleObject address, long offset, int value) {
+            doForeignAccess(frame, address.getObject(), address.getOffset() + offset, LLVMI32Node.BYTE_SIZE, value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, TruffleObject address, long offset, int value) {
+            doForeignAccess(frame, address, offset, LLVMI32Node.BYTE_SIZE, value);
+        }
+    }
+
+    @NodeChild(type = LLVMI64Node.class, value = "valueNode")
+    public abstract static class LLVMI64OffsetStoreNode extends LLVMOffsetStoreNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, long offset, long value) {
+            LLVMMemory.putI64(address.increment(offset), value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, LLVMTruffleObject address, long offset, long value) {
+            doForeignAccess(frame, address.getObject(), address.getOffset() + offset, LLVMI64Node.BYTE_SIZE, value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, TruffleObject address, long offset, long value) {
+            doForeignAccess(frame, address, offset, LLVMI64Node.BYTE_SIZE, value);
+        }
+    }
+
+    @NodeChild(type = LLVMFloatNode.class, value = "valueNode")
+    public abstract static class LLVMFloatOffsetStoreNode extends LLVMOffsetStoreNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, long offset, float value) {
+            LLVMMemory.putFloat(address.increment(offset), value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, LLVMTruffleObject address, long offset, float value) {
+            doForeignAccess(frame, address.getObject(), address.getOffset() + offset, LLVMFloatNode.BYTE_SIZE, value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, TruffleObject address, long offset, float value) {
+            doForeignAccess(frame, address, offset, LLVMFloatNode.BYTE_SIZE, value);
+        }
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class, value = "valueNode")
+    public abstract static class LLVMDoubleOffsetStoreNode extends LLVMOffsetStoreNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, long offset, double value) {
+            LLVMMemory.putDouble(address.increment(offset), value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, LLVMTruffleObject address, long offset, double value) {
+            doForeignAccess(frame, address.getObject(), address.getOffset() + offset, LLVMDoubleNode.BYTE_SIZE, value);
+        }
+
+        @Specialization
+        public void execute(VirtualFrame frame, TruffleObject address, long offset, double value) {
+            doForeignAccess(frame, address, offset, LLVMDoubleNode.BYTE_SIZE, value);
+        }
+    }
+
+}
@@ -71,6 +71,8 @@ public abstract class LLVMStoreNode extends LLVMNode {
 
     @Child protected Node foreignWrite = Message.WRITE.createNode();
 
+    public abstract LLVMAddressNode getPointerNode();
+
     protected void doForeignAccess(VirtualFrame frame, LLVMTruffleObject addr, int stride, Object value) {
         try {
             ForeignAccess.sendWrite(foreignWrite, frame, addr.getObject(), (int) (addr.getOffset() / stride), value);
@@ -100,6 +102,8 @@ public abstract class LLVMStoreNode extends LLVMNode {
     @NodeChild(type = LLVMI8Node.class, value = "valueNode")
     public abstract static class LLVMI8StoreNode extends LLVMStoreNode {
 
+        public abstract LLVMI8Node getValueNode();
+
         @Specialization
         public void execute(LLVMAddress address, byte value) {
             LLVMMemory.putI8(address, value);
@@ -129,6 +133,8 @@ public abstract class LLVMStoreNode extends LLVMNode {
     @NodeChild(type = LLVMI32Node.class, value = "valueNode")
     public abstract static class LLVMI32StoreNode extends LLVMStoreNode {
 
+        public abstract LLVMI32Node getValueNode();
+
         @Specialization
         public void execute(LLVMAddress address, int value) {
             LLVMMemory.putI32(address, value);
@@ -149,6 +155,8 @@ public abstract class LLVMStoreNode extends LLVMNode {
     @NodeChild(type = LLVMI64Node.class, value = "valueNode")
     public abstract static class LLVMI64StoreNode extends LLVMStoreNode {
 
+        public abstract LLVMI64Node getValueNode();
+
         @Specialization
         public void execute(LLVMAddress address, long value) {
             LLVMMemory.putI64(address, value);
@@ -169,6 +177,8 @@ public abstract class LLVMStoreNode extends LLVMNode {
     @NodeChild(type = LLVMFloatNode.class, value = "valueNode")
     public abstract static class LLVMFloatStoreNode extends LLVMStoreNode {
 
+        public abstract LLVMFloatNode getValueNode();
+
         @Specialization
         public void execute(LLVMAddress address, float value) {
             LLVMMemory.putFloat(address, value);
@@ -179,6 +189,8 @@ public abstract class LLVMStoreNode extends LLVMNode {
     @NodeChild(type = LLVMDoubleNode.class, value = "valueNode")
     public abstract static class LLVMDoubleStoreNode extends LLVMStoreNode {
 
+        public abstract LLVMDoubleNode getValueNode();
+
         @Specialization
         public void execute(LLVMAddress address, double value) {
             LLVMMemory.putDouble(address, value);
@@ -49,6 +49,8 @@ import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionRegistry;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVM80BitFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMalloc.ManagedMallocObject;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMalloc.ManagedMallocReadNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMallocFactory.ManagedMallocReadNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMGlobalVariableDescriptorGuards;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
@@ -103,13 +105,13 @@ public abstract class LLVMDirectLoadNode {
         }
 
         @Specialization
-        public Object executeManagedMalloc(ManagedMallocObject addr) {
-            return addr.get(0);
+        public Object executeManagedMalloc(ManagedMallocObject addr, @Cached("createManagedMallocRead()") ManagedMallocReadNode read) {
+            return read.executeRead(addr, 0);
         }
 
         @Specialization(guards = "objectIsManagedMalloc(addr)")
-        public Object executeIndirectedManagedMalloc(LLVMTruffleObject addr) {
-            return ((ManagedMallocObject) addr.getObject()).get((int) (addr.getOffset() / LLVMAddressNode.BYTE_SIZE));
+        public Object executeIndirectedManagedMalloc(LLVMTruffleObject addr, @Cached("createManagedMallocRead()") ManagedMallocReadNode read) {
+            return read.executeRead((ManagedMallocObject) addr.getObject(), (int) (addr.getOffset() / LLVMAddressNode.BYTE_SIZE));
         }
 
         @Specialization(guards = "!objectIsManagedMalloc(addr)")
@@ -130,6 +132,10 @@ public abstract class LLVMDirectLoadNode {
             }
         }
 
+        protected ManagedMallocReadNode createManagedMallocRead() {
+            return ManagedMallocReadNodeGen.create();
+        }
+
         protected boolean objectIsManagedMalloc(LLVMTruffleObject addr) {
             return addr.getObject() instanceof ManagedMallocObject;
         }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.memory.load;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.profiles.ByteValueProfile;
+import com.oracle.truffle.api.profiles.DoubleValueProfile;
+import com.oracle.truffle.api.profiles.FloatValueProfile;
+import com.oracle.truffle.api.profiles.IntValueProfile;
+import com.oracle.truffle.api.profiles.LongValueProfile;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.ToLLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGetElementPtrOffsetNode;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMTruffleObject;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Loads from the result of a getelementptr without materializing the pointer. A foreign pointer
+ * is passed on as its object and its offset, so that indexing into a foreign array does not
+ * allocate a new {@link LLVMTruffleObject} for every element.
+ */
+public abstract class LLVMOffsetLoadNode {
+
+    static final class LLVMForeignOffsetReadNode extends Node {
+
+        @Child private Node foreignRead = Message.READ.createNode();
+        @Child private ToLLVMNode toLLVM = new ToLLVMNode();
+
+        <T> T read(VirtualFrame frame, TruffleObject object, long offset, int elementSize, Class<T> type) {
+            try {
+                Object value = ForeignAccess.sendRead(foreignRead, frame, object, (int) (offset / elementSize));
+                return toLLVM.convert(frame, value, type);
+            } catch (UnknownIdentifierException | UnsupportedMessageException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+    public abstract static class LLVMI8OffsetLoadNode extends LLVMI8Node {
+
+        @Child private LLVMForeignOffsetReadNode foreignRead = new LLVMForeignOffsetReadNode();
+        private final ByteValueProfile profile = ByteValueProfile.createIdentityProfile();
+
+        @Specialization
+        public byte executeI8(LLVMAddress addr, long offset) {
+            return profile.profile(LLVMMemory.getI8(addr.increment(offset)));
+        }
+
+        @Specialization
+        public byte executeI8(VirtualFrame frame, LLVMTruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr.getObject(), addr.getOffset() + offset, Byte.BYTES, byte.class);
+        }
+
+        @Specialization
+        public byte executeI8(VirtualFrame frame, TruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr, offset, Byte.BYTES, byte.class);
+        }
+    }
+
+    @NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+    public abstract static class LLVMI32OffsetLoadNode extends LLVMI32Node {
+
+        @Child private LLVMForeignOffsetReadNode foreignRead = new LLVMForeignOffsetReadNode();
+        private final IntValueProfile profile = IntValueProfile.createIdentityProfile();
+
+        @Specialization
+        public int executeI32(LLVMAddress addr, long offset) {
+            return profile.profile(LLVMMemory.getI32(addr.increment(offset)));
+        }
+
+        @Specialization
+        public int executeI32(VirtualFrame frame, LLVMTruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr.getObject(), addr.getOffset() + offset, LLVMI32Node.BYTE_SIZE, int.class);
+        }
+
+        @Specialization
+        public int executeI32(VirtualFrame frame, TruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr, offset, LLVMI32Node.BYTE_SIZE, int.class);
+        }
+    }
+
+    @NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+    public abstract static class LLVMI64OffsetLoadNode extends LLVMI64Node {
+
+        @Child private LLVMForeignOffsetReadNode foreignRead = new LLVMForeignOffsetReadNode();
+        private final LongValueProfile profile = LongValueProfile.createIdentityProfile();
+
+        @Specialization
+        public long executeI64(LLVMAddress addr, long offset) {
+            return profile.profile(LLVMMemory.getI64(addr.increment(offset)));
+        }
+
+        @Specialization
+        public long executeI64(VirtualFrame frame, LLVMTruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr.getObject(), addr.getOffset() + offset, LLVMI64Node.BYTE_SIZE, long.class);
+        }
+
+        @Specialization
+        public long executeI64(VirtualFrame frame, TruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr, offset, LLVMI64Node.BYTE_SIZE, long.class);
+        }
+    }
+
+    @NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+    public abstract static class LLVMFloatOffsetLoadNode extends LLVMFloatNode {
+
+        @Child private LLVMForeignOffsetReadNode foreignRead = new LLVMForeignOffsetReadNode();
+        private final FloatValueProfile profile = FloatValueProfile.createRawIdentityProfile();
+
+        @Specialization
+        public float executeFloat(LLVMAddress addr, long offset) {
+            return profile.profile(LLVMMemory.getFloat(addr.increment(offset)));
+        }
+
+        @Specialization
+        public float executeFloat(VirtualFrame frame, LLVMTruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr.getObject(), addr.getOffset() + offset, LLVMFloatNode.BYTE_SIZE, float.class);
+        }
+
+        @Specialization
+        public float executeFloat(VirtualFrame frame, TruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr, offset, LLVMFloatNode.BYTE_SIZE, float.class);
+        }
+    }
+
+    @NodeChildren({@NodeChild(value = "baseAddress", type = LLVMAddressNode.class), @NodeChild(value = "offset", type = LLVMGetElementPtrOffsetNode.class)})
+    public abstract static class LLVMDoubleOffsetLoadNode extends LLVMDoubleNode {
+
+        @Child private LLVMForeignOffsetReadNode foreignRead = new LLVMForeignOffsetReadNode();
+        private final DoubleValueProfile profile = DoubleValueProfile.createRawIdentityProfile();
+
+        @Specialization
+        public double executeDouble(LLVMAddress addr, long offset) {
+            return profile.profile(LLVMMemory.getDouble(addr.increment(offset)));
+        }
+
+        @Specialization
+        public double executeDouble(VirtualFrame frame, LLVMTruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr.getObject(), addr.getOffset() + offset, LLVMDoubleNode.BYTE_SIZE, double.class);
+        }
+
+        @Specialization
+        public double executeDouble(VirtualFrame frame, TruffleObject addr, long offset) {
+            return foreignRead.read(frame, addr, offset, LLVMDoubleNode.BYTE_SIZE, double.class);
+        }
+    }
+
+}
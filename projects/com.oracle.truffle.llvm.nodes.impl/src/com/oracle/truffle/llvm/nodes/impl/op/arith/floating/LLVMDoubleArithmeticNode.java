@@ -32,10 +32,11 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.floating;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMDoubleArithmeticNode extends LLVMDoubleNode {
+public abstract class LLVMDoubleArithmeticNode extends LLVMDoubleNode implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMDoubleAddNode extends LLVMDoubleArithmeticNode {
         @Specialization
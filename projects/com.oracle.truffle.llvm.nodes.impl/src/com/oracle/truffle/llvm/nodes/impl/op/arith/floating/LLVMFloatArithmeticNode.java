@@ -32,10 +32,11 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.floating;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMFloatArithmeticNode extends LLVMFloatNode {
+public abstract class LLVMFloatArithmeticNode extends LLVMFloatNode implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMFloatAddNode extends LLVMFloatArithmeticNode {
         @Specialization
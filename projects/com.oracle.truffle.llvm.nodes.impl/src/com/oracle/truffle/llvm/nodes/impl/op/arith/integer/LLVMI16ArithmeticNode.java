@@ -32,19 +32,20 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.integer;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI16ArithmeticNode extends LLVMI16Node {
 
-    public abstract static class LLVMI16AddNode extends LLVMI16ArithmeticNode {
+    public abstract static class LLVMI16AddNode extends LLVMI16ArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected short add(short left, short right) {
             return (short) (left + right);
         }
     }
 
-    public abstract static class LLVMI16MulNode extends LLVMI16ArithmeticNode {
+    public abstract static class LLVMI16MulNode extends LLVMI16ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public short executeDouble(short left, short right) {
@@ -52,7 +53,7 @@ public abstract class LLVMI16ArithmeticNode extends LLVMI16Node {
         }
     }
 
-    public abstract static class LLVMI16SubNode extends LLVMI16ArithmeticNode {
+    public abstract static class LLVMI16SubNode extends LLVMI16ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected short add(short left, short right) {
@@ -32,19 +32,20 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.integer;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI32ArithmeticNode extends LLVMI32Node {
 
-    public abstract static class LLVMI32AddNode extends LLVMI32ArithmeticNode {
+    public abstract static class LLVMI32AddNode extends LLVMI32ArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected int add(int left, int right) {
             return left + right;
         }
     }
 
-    public abstract static class LLVMI32MulNode extends LLVMI32ArithmeticNode {
+    public abstract static class LLVMI32MulNode extends LLVMI32ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public int executeI32(int left, int right) {
@@ -53,7 +54,7 @@ public abstract class LLVMI32ArithmeticNode extends LLVMI32Node {
 
     }
 
-    public abstract static class LLVMI32SubNode extends LLVMI32ArithmeticNode {
+    public abstract static class LLVMI32SubNode extends LLVMI32ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected int sub(int left, int right) {
@@ -32,19 +32,20 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.integer;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI64ArithmeticNode extends LLVMI64Node {
 
-    public abstract static class LLVMI64AddNode extends LLVMI64ArithmeticNode {
+    public abstract static class LLVMI64AddNode extends LLVMI64ArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected long executeI64(long left, long right) {
             return left + right;
         }
     }
 
-    public abstract static class LLVMI64MulNode extends LLVMI64ArithmeticNode {
+    public abstract static class LLVMI64MulNode extends LLVMI64ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public long executeI64(long left, long right) {
@@ -53,7 +54,7 @@ public abstract class LLVMI64ArithmeticNode extends LLVMI64Node {
 
     }
 
-    public abstract static class LLVMI64SubNode extends LLVMI64ArithmeticNode {
+    public abstract static class LLVMI64SubNode extends LLVMI64ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected long executeI64(long left, long right) {
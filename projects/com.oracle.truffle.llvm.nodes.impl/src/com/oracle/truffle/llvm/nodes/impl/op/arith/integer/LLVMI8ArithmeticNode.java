@@ -32,19 +32,20 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.integer;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI8ArithmeticNode extends LLVMI8Node {
 
-    public abstract static class LLVMI8AddNode extends LLVMI8ArithmeticNode {
+    public abstract static class LLVMI8AddNode extends LLVMI8ArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected byte add(byte left, byte right) {
             return (byte) (left + right);
         }
     }
 
-    public abstract static class LLVMI8MulNode extends LLVMI8ArithmeticNode {
+    public abstract static class LLVMI8MulNode extends LLVMI8ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public byte executeDouble(byte left, byte right) {
@@ -52,7 +53,7 @@ public abstract class LLVMI8ArithmeticNode extends LLVMI8Node {
         }
     }
 
-    public abstract static class LLVMI8SubNode extends LLVMI8ArithmeticNode {
+    public abstract static class LLVMI8SubNode extends LLVMI8ArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected byte add(byte left, byte right) {
@@ -32,20 +32,21 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.integer;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
-    public abstract static class LLVMIVarAddNode extends LLVMIVarArithmeticNode {
+    public abstract static class LLVMIVarAddNode extends LLVMIVarArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected LLVMIVarBit executeVarI(LLVMIVarBit left, LLVMIVarBit right) {
             return left.add(right);
         }
     }
 
-    public abstract static class LLVMIVarMulNode extends LLVMIVarArithmeticNode {
+    public abstract static class LLVMIVarMulNode extends LLVMIVarArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
@@ -54,7 +55,7 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     }
 
-    public abstract static class LLVMIVarSubNode extends LLVMIVarArithmeticNode {
+    public abstract static class LLVMIVarSubNode extends LLVMIVarArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
@@ -33,12 +33,13 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMDoubleVectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMDoubleVector;
 
 @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMDoubleVectorArithmeticNode extends LLVMDoubleVectorNode {
+public abstract class LLVMDoubleVectorArithmeticNode extends LLVMDoubleVectorNode implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMDoubleVectorAddNode extends LLVMDoubleVectorArithmeticNode {
         @Specialization
@@ -33,12 +33,13 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMFloatVectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMFloatVector;
 
 @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMFloatVectorArithmeticNode extends LLVMFloatVectorNode {
+public abstract class LLVMFloatVectorArithmeticNode extends LLVMFloatVectorNode implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMFloatVectorAddNode extends LLVMFloatVectorArithmeticNode {
         @Specialization
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI16VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
@@ -40,14 +41,14 @@ import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
 @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI16VectorArithmeticNode extends LLVMI16VectorNode {
 
-    public abstract static class LLVMI16VectorAddNode extends LLVMI16VectorArithmeticNode {
+    public abstract static class LLVMI16VectorAddNode extends LLVMI16VectorArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
             return left.add(target, right);
         }
     }
 
-    public abstract static class LLVMI16VectorMulNode extends LLVMI16VectorArithmeticNode {
+    public abstract static class LLVMI16VectorMulNode extends LLVMI16VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
@@ -56,7 +57,7 @@ public abstract class LLVMI16VectorArithmeticNode extends LLVMI16VectorNode {
 
     }
 
-    public abstract static class LLVMI16VectorSubNode extends LLVMI16VectorArithmeticNode {
+    public abstract static class LLVMI16VectorSubNode extends LLVMI16VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
@@ -40,14 +41,14 @@ import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
 @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI32VectorArithmeticNode extends LLVMI32VectorNode {
 
-    public abstract static class LLVMI32VectorAddNode extends LLVMI32VectorArithmeticNode {
+    public abstract static class LLVMI32VectorAddNode extends LLVMI32VectorArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected LLVMI32Vector executeI32Vector(LLVMAddress target, LLVMI32Vector left, LLVMI32Vector right) {
             return left.add(target, right);
         }
     }
 
-    public abstract static class LLVMI32VectorMulNode extends LLVMI32VectorArithmeticNode {
+    public abstract static class LLVMI32VectorMulNode extends LLVMI32VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public LLVMI32Vector executeI32Vector(LLVMAddress target, LLVMI32Vector left, LLVMI32Vector right) {
@@ -56,7 +57,7 @@ public abstract class LLVMI32VectorArithmeticNode extends LLVMI32VectorNode {
 
     }
 
-    public abstract static class LLVMI32VectorSubNode extends LLVMI32VectorArithmeticNode {
+    public abstract static class LLVMI32VectorSubNode extends LLVMI32VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected LLVMI32Vector executeI32Vector(LLVMAddress target, LLVMI32Vector left, LLVMI32Vector right) {
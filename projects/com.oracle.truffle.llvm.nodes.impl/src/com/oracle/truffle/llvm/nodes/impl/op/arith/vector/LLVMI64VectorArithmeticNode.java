@@ -33,6 +33,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI64Vector;
@@ -40,14 +41,14 @@ import com.oracle.truffle.llvm.types.vector.LLVMI64Vector;
 @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI64VectorArithmeticNode extends LLVMI64VectorNode {
 
-    public abstract static class LLVMI64VectorAddNode extends LLVMI64VectorArithmeticNode {
+    public abstract static class LLVMI64VectorAddNode extends LLVMI64VectorArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
             return left.add(target, right);
         }
     }
 
-    public abstract static class LLVMI64VectorMulNode extends LLVMI64VectorArithmeticNode {
+    public abstract static class LLVMI64VectorMulNode extends LLVMI64VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
@@ -56,7 +57,7 @@ public abstract class LLVMI64VectorArithmeticNode extends LLVMI64VectorNode {
 
     }
 
-    public abstract static class LLVMI64VectorSubNode extends LLVMI64VectorArithmeticNode {
+    public abstract static class LLVMI64VectorSubNode extends LLVMI64VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
@@ -33,6 +33,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI8VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
@@ -40,14 +41,14 @@ import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
 @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI8VectorArithmeticNode extends LLVMI8VectorNode {
 
-    public abstract static class LLVMI8VectorAddNode extends LLVMI8VectorArithmeticNode {
+    public abstract static class LLVMI8VectorAddNode extends LLVMI8VectorArithmeticNode implements LLVMSideEffectFreeNode {
         @Specialization
         protected LLVMI8Vector executeI8Vector(LLVMAddress target, LLVMI8Vector left, LLVMI8Vector right) {
             return left.add(target, right);
         }
     }
 
-    public abstract static class LLVMI8VectorMulNode extends LLVMI8VectorArithmeticNode {
+    public abstract static class LLVMI8VectorMulNode extends LLVMI8VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         public LLVMI8Vector executeI8Vector(LLVMAddress target, LLVMI8Vector left, LLVMI8Vector right) {
@@ -56,7 +57,7 @@ public abstract class LLVMI8VectorArithmeticNode extends LLVMI8VectorNode {
 
     }
 
-    public abstract static class LLVMI8VectorSubNode extends LLVMI8VectorArithmeticNode {
+    public abstract static class LLVMI8VectorSubNode extends LLVMI8VectorArithmeticNode implements LLVMSideEffectFreeNode {
 
         @Specialization
         protected LLVMI8Vector executeI8Vector(LLVMAddress target, LLVMI8Vector left, LLVMI8Vector right) {
@@ -32,12 +32,13 @@ package com.oracle.truffle.llvm.nodes.impl.op.compare;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVM80BitFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 
 @NodeChildren({@NodeChild(type = LLVM80BitFloatNode.class), @NodeChild(type = LLVM80BitFloatNode.class)})
-public abstract class LLVM80BitFloatCompareNode extends LLVMI1Node {
+public abstract class LLVM80BitFloatCompareNode extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVM80BitFloatOltNode extends LLVM80BitFloatCompareNode {
         @Specialization
@@ -33,11 +33,12 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 
 @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
-public abstract class LLVMAddressCompareNode extends LLVMI1Node {
+public abstract class LLVMAddressCompareNode extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMAddressUltNode extends LLVMAddressCompareNode {
         @Specialization
@@ -34,11 +34,12 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 
 @NodeChildren({@NodeChild(type = LLVMFloatNode.class), @NodeChild(type = LLVMFloatNode.class)})
-public abstract class LLVMFloatCompareNode extends LLVMI1Node {
+public abstract class LLVMFloatCompareNode extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
     @ExplodeLoop
     private static boolean areOrdered(float... vals) {
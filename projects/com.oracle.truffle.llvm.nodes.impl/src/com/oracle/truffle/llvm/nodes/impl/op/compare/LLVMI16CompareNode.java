@@ -32,11 +32,12 @@ package com.oracle.truffle.llvm.nodes.impl.op.compare;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 
 @NodeChildren({@NodeChild(type = LLVMI16Node.class), @NodeChild(type = LLVMI16Node.class)})
-public abstract class LLVMI16CompareNode extends LLVMI1Node {
+public abstract class LLVMI16CompareNode extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMI16SltNode extends LLVMI16CompareNode {
         @Specialization
@@ -32,11 +32,12 @@ package com.oracle.truffle.llvm.nodes.impl.op.compare;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 
 @NodeChildren({@NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI32Node.class)})
-public abstract class LLVMI32CompareNode extends LLVMI1Node {
+public abstract class LLVMI32CompareNode extends LLVMI1Node implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMI32SltNode extends LLVMI32CompareNode {
         @Specialization
@@ -34,6 +34,7 @@ import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI1VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
@@ -44,7 +45,7 @@ import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
                 @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                 @NodeChild(value = "leftNode", type = LLVMI32VectorNode.class),
                 @NodeChild(value = "rightNode", type = LLVMI32VectorNode.class)})
-public abstract class LLVMI32VectorCompareNode extends LLVMI1VectorNode {
+public abstract class LLVMI32VectorCompareNode extends LLVMI1VectorNode implements LLVMSideEffectFreeNode {
 
     @ExplodeLoop
     protected LLVMI1Vector executeI1VectorBody(LLVMAddress target, LLVMI32Vector left, LLVMI32Vector right) {
@@ -32,10 +32,11 @@ package com.oracle.truffle.llvm.nodes.impl.op.logical.integer;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMI32LogicalNode extends LLVMI32Node {
+public abstract class LLVMI32LogicalNode extends LLVMI32Node implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMI32AndNode extends LLVMI32LogicalNode {
         @Specialization
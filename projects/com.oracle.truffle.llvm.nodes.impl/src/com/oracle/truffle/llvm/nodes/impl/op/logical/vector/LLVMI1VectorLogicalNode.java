@@ -33,12 +33,13 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI1VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI1Vector;
 
 @NodeChildren({@NodeChild(value = "address", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMI1VectorLogicalNode extends LLVMI1VectorNode {
+public abstract class LLVMI1VectorLogicalNode extends LLVMI1VectorNode implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMI1VectorAndNode extends LLVMI1VectorLogicalNode {
         @Specialization
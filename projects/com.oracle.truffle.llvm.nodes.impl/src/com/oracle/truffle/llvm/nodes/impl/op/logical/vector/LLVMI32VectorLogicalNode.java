@@ -33,12 +33,13 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
 
 @NodeChildren({@NodeChild(value = "address", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
-public abstract class LLVMI32VectorLogicalNode extends LLVMI32VectorNode {
+public abstract class LLVMI32VectorLogicalNode extends LLVMI32VectorNode implements LLVMSideEffectFreeNode {
 
     public abstract static class LLVMI32VectorAndNode extends LLVMI32VectorLogicalNode {
         @Specialization
@@ -45,6 +45,16 @@ import com.oracle.truffle.llvm.nodes.impl.control.LLVMRetNode;
 
 public abstract class LLVMBlockNode extends LLVMExpressionNode {
 
+    @ExplodeLoop
+    static void nullDeadSlots(VirtualFrame frame, int bci, LLVMStackFrameNuller[][] nuller) {
+        LLVMStackFrameNuller[] afterStackNuller = nuller[bci];
+        if (afterStackNuller != null) {
+            for (int j = 0; j < afterStackNuller.length; j++) {
+                afterStackNuller[j].nullifySlot(frame);
+            }
+        }
+    }
+
     public static class LLVMBlockControlFlowNode extends LLVMBlockNode {
 
         @Children private final LLVMBasicBlockNode[] bodyNodes;
@@ -106,16 +116,6 @@ public abstract class LLVMBlockNode extends LLVMExpressionNode {
             }
         }
 
-        @ExplodeLoop
-        private static void nullDeadSlots(VirtualFrame frame, int bci, LLVMStackFrameNuller[][] nuller) {
-            LLVMStackFrameNuller[] afterStackNuller = nuller[bci];
-            if (afterStackNuller != null) {
-                for (int j = 0; j < afterStackNuller.length; j++) {
-                    afterStackNuller[j].nullifySlot(frame);
-                }
-            }
-        }
-
     }
 
     public static class LLVMBlockNoControlFlowNode extends LLVMBlockNode {
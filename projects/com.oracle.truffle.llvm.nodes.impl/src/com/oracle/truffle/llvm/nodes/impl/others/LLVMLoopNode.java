@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.others;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.ExplodeLoop.LoopExplosionKind;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMFrameUtil;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMTerminatorNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMRetNode;
+
+/**
+ * This node executes a natural loop of a function through a Truffle {@link LoopNode}, so that a
+ * long running loop can be compiled by on-stack replacement before its function returns. The loop
+ * takes the place of the terminator of its header block in the enclosing dispatch. Its successors
+ * are the blocks that are targeted by the edges leaving the loop; the index of the taken edge is
+ * passed from the loop body to this node through the successor frame slot.
+ */
+public final class LLVMLoopNode extends LLVMTerminatorNode {
+
+    public static final String SUCCESSOR_FRAME_SLOT_ID = "<loop successor>";
+
+    @Child private LoopNode loop;
+    private final FrameSlot successorSlot;
+
+    public LLVMLoopNode(LLVMLoopDispatchNode body, FrameSlot successorSlot, int[] loopExits) {
+        super(loopExits);
+        this.loop = Truffle.getRuntime().createLoopNode(body);
+        this.successorSlot = successorSlot;
+    }
+
+    @Override
+    public int executeGetSuccessorIndex(VirtualFrame frame) {
+        loop.executeLoop(frame);
+        return LLVMFrameUtil.getI32(frame, successorSlot);
+    }
+
+    /**
+     * Executes one iteration of a natural loop, starting at the loop header. Blocks of nested loops
+     * are not part of this node, since the header of a nested loop is represented by a block
+     * terminated by its own {@link LLVMLoopNode}.
+     */
+    public static final class LLVMLoopDispatchNode extends Node implements RepeatingNode {
+
+        private final int headerId;
+        @Children private final LLVMBasicBlockNode[] bodyNodes;
+        @CompilationFinal(dimensions = 1) private final int[] exitIndices;
+        @CompilationFinal private final LLVMStackFrameNuller[][] beforeSlotNullerNodes;
+        @CompilationFinal private final LLVMStackFrameNuller[][] afterSlotNullerNodes;
+        private final int returnExitIndex;
+        private final FrameSlot successorSlot;
+
+        /**
+         * @param headerId the index of the loop header
+         * @param bodyNodes the blocks of the loop indexed by their block index, or <code>null</code>
+         *            for blocks that are not part of this loop
+         * @param exitIndices for every block index that is a target of a loop exit, the index of
+         *            the corresponding successor of the {@link LLVMLoopNode}
+         * @param returnExitIndex the successor index for returning from within the loop, or
+         *            <code>-1</code> if the loop does not contain a return
+         */
+        public LLVMLoopDispatchNode(int headerId, LLVMBasicBlockNode[] bodyNodes, int[] exitIndices, int returnExitIndex, LLVMStackFrameNuller[][] beforeSlotNullerNodes,
+                        LLVMStackFrameNuller[][] afterSlotNullerNodes, FrameSlot successorSlot) {
+            this.headerId = headerId;
+            this.bodyNodes = bodyNodes;
+            this.exitIndices = exitIndices;
+            this.returnExitIndex = returnExitIndex;
+            this.beforeSlotNullerNodes = beforeSlotNullerNodes;
+            this.afterSlotNullerNodes = afterSlotNullerNodes;
+            this.successorSlot = successorSlot;
+        }
+
+        @Override
+        @ExplodeLoop(kind = LoopExplosionKind.MERGE_EXPLODE)
+        public boolean executeRepeating(VirtualFrame frame) {
+            CompilerAsserts.compilationConstant(bodyNodes.length);
+            int bci = headerId;
+            outer: while (true) {
+                CompilerAsserts.partialEvaluationConstant(bci);
+                LLVMBasicBlockNode bb = bodyNodes[bci];
+                LLVMBlockNode.nullDeadSlots(frame, bci, beforeSlotNullerNodes);
+                int successorSelection = bb.executeGetSuccessorIndex(frame);
+                LLVMBlockNode.nullDeadSlots(frame, bci, afterSlotNullerNodes);
+                int[] successors = bb.getSuccessors();
+                for (int i = 0; i < successors.length; i++) {
+                    if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), i == successorSelection)) {
+                        bb.increaseBranchProbabilityDeoptIfZero(i);
+                        int successor = successors[i];
+                        if (successor == headerId) {
+                            return true;
+                        } else if (successor != LLVMRetNode.RETURN_FROM_FUNCTION && bodyNodes[successor] != null) {
+                            bci = successor;
+                            continue outer;
+                        } else {
+                            frame.setInt(successorSlot, successor == LLVMRetNode.RETURN_FROM_FUNCTION ? returnExitIndex : exitIndices[successor]);
+                            return false;
+                        }
+                    }
+                }
+                CompilerDirectives.transferToInterpreter();
+                throw new Error("No matching successor found");
+            }
+        }
+
+    }
+
+}
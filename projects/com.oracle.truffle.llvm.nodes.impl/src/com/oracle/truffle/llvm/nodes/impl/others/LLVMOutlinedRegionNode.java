@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.others;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.IndirectCallNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeVisitor;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMTerminatorNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadVectorNode;
+
+/**
+ * Executes a region of a function (such as a loop nest) in its own call target, so that it is
+ * compiled separately from the rest of the function. An indirect call is used on purpose, since the
+ * compiler must not inline the region back into the function.
+ *
+ * The function frame is not materialized, since this would prevent its virtualization in the
+ * compiled function. Instead, the values of the frame slots that the region uses are passed to the
+ * region in a primitive and an object array, and the values of the slots that the region writes are
+ * copied back into the function frame when the region returns. The slots and their kinds are
+ * determined when the node is created. The region executes on its own frame of the function's frame
+ * descriptor, which gets the arguments of the function and is virtualized in the compiled region.
+ */
+public final class LLVMOutlinedRegionNode extends LLVMTerminatorNode {
+
+    /**
+     * Marks a primitive slot whose value in the primitive array is valid. Primitive slots that were
+     * not yet written in the function frame must not be written by the region either.
+     */
+    private static final Object PRIMITIVE_VALUE = new Object();
+
+    private static final int FUNCTION_ARGUMENTS = 0;
+    private static final int PRIMITIVE_VALUES = 1;
+    private static final int OBJECT_VALUES = 2;
+
+    private final FrameDescriptor functionDescriptor;
+    private final RootCallTarget callTarget;
+    @Child private IndirectCallNode callNode;
+
+    @CompilationFinal(dimensions = 1) private final FrameSlot[] slots;
+    @CompilationFinal(dimensions = 1) private final FrameSlotKind[] kinds;
+    @CompilationFinal(dimensions = 1) private final boolean[] written;
+
+    public LLVMOutlinedRegionNode(FrameDescriptor functionDescriptor, LLVMTerminatorNode region) {
+        super(region.getSuccessors());
+        this.functionDescriptor = functionDescriptor;
+        Map<FrameSlot, Boolean> usedSlots = getUsedSlots(functionDescriptor, region);
+        this.slots = usedSlots.keySet().toArray(new FrameSlot[usedSlots.size()]);
+        this.kinds = new FrameSlotKind[slots.length];
+        this.written = new boolean[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            kinds[i] = slots[i].getKind();
+            written[i] = usedSlots.get(slots[i]);
+        }
+        this.callTarget = Truffle.getRuntime().createCallTarget(new LLVMRegionRootNode(this, region));
+        this.callNode = Truffle.getRuntime().createIndirectCallNode();
+    }
+
+    /**
+     * Returns the root node of the function that contains the given node, which is not the root
+     * node of the node if the node is in an outlined region.
+     */
+    public static RootNode getFunctionRootNode(Node node) {
+        RootNode root = node.getRootNode();
+        while (root instanceof LLVMRegionRootNode) {
+            root = ((LLVMRegionRootNode) root).outlinedNode.getRootNode();
+        }
+        return root;
+    }
+
+    /**
+     * Finds the frame slots that the nodes of the region refer to, and whether the region may write
+     * them. Only the nodes that read a slot are known not to write it. If the fields of the nodes
+     * cannot be accessed, all slots are passed to the region and back.
+     */
+    private static Map<FrameSlot, Boolean> getUsedSlots(FrameDescriptor descriptor, LLVMTerminatorNode region) {
+        Map<FrameSlot, Boolean> usedSlots = new LinkedHashMap<>();
+        try {
+            region.accept(new NodeVisitor() {
+
+                @Override
+                public boolean visit(Node node) {
+                    boolean writes = !isReadNode(node.getClass());
+                    for (Class<?> c = node.getClass(); c != Node.class; c = c.getSuperclass()) {
+                        for (Field field : c.getDeclaredFields()) {
+                            Class<?> type = field.getType();
+                            if (!Modifier.isStatic(field.getModifiers()) && (type == FrameSlot.class || type == LLVMStackFrameNuller.class || type.isArray())) {
+                                field.setAccessible(true);
+                                addSlots(descriptor, getField(field, node), writes, usedSlots);
+                            }
+                        }
+                    }
+                    return true;
+                }
+
+            });
+        } catch (RuntimeException e) {
+            usedSlots.clear();
+            for (FrameSlot slot : descriptor.getSlots()) {
+                usedSlots.put(slot, true);
+            }
+        }
+        return usedSlots;
+    }
+
+    private static boolean isReadNode(Class<?> nodeClass) {
+        for (Class<?> c = nodeClass; c != null; c = c.getSuperclass()) {
+            if (c.getEnclosingClass() == LLVMReadNode.class || c.getEnclosingClass() == LLVMReadVectorNode.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object getField(Field field, Node node) {
+        try {
+            return field.get(node);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void addSlots(FrameDescriptor descriptor, Object value, boolean writes, Map<FrameSlot, Boolean> usedSlots) {
+        if (value instanceof FrameSlot) {
+            FrameSlot slot = (FrameSlot) value;
+            if (slot.getFrameDescriptor() == descriptor) {
+                usedSlots.put(slot, writes || usedSlots.getOrDefault(slot, false));
+            }
+        } else if (value instanceof LLVMStackFrameNuller) {
+            addSlots(descriptor, ((LLVMStackFrameNuller) value).getFrameSlot(), true, usedSlots);
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                addSlots(descriptor, element, writes, usedSlots);
+            }
+        }
+    }
+
+    @Override
+    public int executeGetSuccessorIndex(VirtualFrame frame) {
+        long[] primitives = new long[slots.length];
+        Object[] objects = new Object[slots.length];
+        saveSlots(frame, primitives, objects, false);
+        int successor = (int) callNode.call(frame, callTarget, new Object[]{frame.getArguments(), primitives, objects});
+        restoreSlots(frame, primitives, objects, true);
+        return successor;
+    }
+
+    /**
+     * @param onlyWritten whether to skip the slots that the region does not write
+     */
+    @ExplodeLoop
+    private void saveSlots(Frame frame, long[] primitives, Object[] objects, boolean onlyWritten) {
+        for (int i = 0; i < slots.length; i++) {
+            if (onlyWritten && !written[i]) {
+                continue;
+            }
+            FrameSlot slot = slots[i];
+            switch (kinds[i]) {
+                case Boolean:
+                    if (frame.isBoolean(slot)) {
+                        primitives[i] = FrameUtil.getBooleanSafe(frame, slot) ? 1 : 0;
+                        objects[i] = PRIMITIVE_VALUE;
+                    }
+                    break;
+                case Byte:
+                    if (frame.isByte(slot)) {
+                        primitives[i] = FrameUtil.getByteSafe(frame, slot);
+                        objects[i] = PRIMITIVE_VALUE;
+                    }
+                    break;
+                case Int:
+                    if (frame.isInt(slot)) {
+                        primitives[i] = FrameUtil.getIntSafe(frame, slot);
+                        objects[i] = PRIMITIVE_VALUE;
+                    }
+                    break;
+                case Long:
+                    if (frame.isLong(slot)) {
+                        primitives[i] = FrameUtil.getLongSafe(frame, slot);
+                        objects[i] = PRIMITIVE_VALUE;
+                    }
+                    break;
+                case Float:
+                    if (frame.isFloat(slot)) {
+                        primitives[i] = Float.floatToRawIntBits(FrameUtil.getFloatSafe(frame, slot));
+                        objects[i] = PRIMITIVE_VALUE;
+                    }
+                    break;
+                case Double:
+                    if (frame.isDouble(slot)) {
+                        primitives[i] = Double.doubleToRawLongBits(FrameUtil.getDoubleSafe(frame, slot));
+                        objects[i] = PRIMITIVE_VALUE;
+                    }
+                    break;
+                case Object:
+                    if (frame.isObject(slot)) {
+                        objects[i] = FrameUtil.getObjectSafe(frame, slot);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @param onlyWritten whether to skip the slots that the region does not write
+     */
+    @ExplodeLoop
+    private void restoreSlots(Frame frame, long[] primitives, Object[] objects, boolean onlyWritten) {
+        for (int i = 0; i < slots.length; i++) {
+            if (onlyWritten && !written[i]) {
+                continue;
+            }
+            FrameSlot slot = slots[i];
+            switch (kinds[i]) {
+                case Boolean:
+                    if (objects[i] == PRIMITIVE_VALUE) {
+                        frame.setBoolean(slot, primitives[i] != 0);
+                    }
+                    break;
+                case Byte:
+                    if (objects[i] == PRIMITIVE_VALUE) {
+                        frame.setByte(slot, (byte) primitives[i]);
+                    }
+                    break;
+                case Int:
+                    if (objects[i] == PRIMITIVE_VALUE) {
+                        frame.setInt(slot, (int) primitives[i]);
+                    }
+                    break;
+                case Long:
+                    if (objects[i] == PRIMITIVE_VALUE) {
+                        frame.setLong(slot, primitives[i]);
+                    }
+                    break;
+                case Float:
+                    if (objects[i] == PRIMITIVE_VALUE) {
+                        frame.setFloat(slot, Float.intBitsToFloat((int) primitives[i]));
+                    }
+                    break;
+                case Double:
+                    if (objects[i] == PRIMITIVE_VALUE) {
+                        frame.setDouble(slot, Double.longBitsToDouble(primitives[i]));
+                    }
+                    break;
+                case Object:
+                    frame.setObject(slot, objects[i]);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static final class LLVMRegionRootNode extends RootNode {
+
+        private final LLVMOutlinedRegionNode outlinedNode;
+        @Child private LLVMTerminatorNode region;
+
+        LLVMRegionRootNode(LLVMOutlinedRegionNode outlinedNode, LLVMTerminatorNode region) {
+            super(LLVMLanguage.class, null, new FrameDescriptor());
+            this.outlinedNode = outlinedNode;
+            this.region = region;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            long[] primitives = (long[]) arguments[PRIMITIVE_VALUES];
+            Object[] objects = (Object[]) arguments[OBJECT_VALUES];
+            VirtualFrame functionFrame = Truffle.getRuntime().createVirtualFrame((Object[]) arguments[FUNCTION_ARGUMENTS], outlinedNode.functionDescriptor);
+            outlinedNode.restoreSlots(functionFrame, primitives, objects, false);
+            int successor = region.executeGetSuccessorIndex(functionFrame);
+            outlinedNode.saveSlots(functionFrame, primitives, objects, true);
+            return successor;
+        }
+
+        @Override
+        public String getName() {
+            RootNode function = outlinedNode.getRootNode();
+            return function == null ? null : function.getName();
+        }
+
+        @Override
+        public String toString() {
+            return "region of " + getName();
+        }
+
+    }
+
+}
@@ -56,7 +56,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMI1ReadNode extends LLVMI1Node {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected boolean readI1(VirtualFrame frame) {
@@ -67,7 +67,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMI8ReadNode extends LLVMI8Node {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected byte readI8(VirtualFrame frame) {
@@ -78,7 +78,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMI16ReadNode extends LLVMI16Node {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected short readI16(VirtualFrame frame) {
@@ -89,7 +89,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMI32ReadNode extends LLVMI32Node {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected int readI32(VirtualFrame frame) {
@@ -100,7 +100,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMI64ReadNode extends LLVMI64Node {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected long readI64(VirtualFrame frame) {
@@ -111,7 +111,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMIReadVarBitNode extends LLVMIVarBitNode {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected LLVMIVarBit readVarBit(VirtualFrame frame) {
@@ -122,7 +122,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMFloatReadNode extends LLVMFloatNode {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected float readDouble(VirtualFrame frame) {
@@ -133,7 +133,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMDoubleReadNode extends LLVMDoubleNode {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected double readDouble(VirtualFrame frame) {
@@ -144,7 +144,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVM80BitFloatReadNode extends LLVM80BitFloatNode {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected LLVM80BitFloat read80BitFloat(VirtualFrame frame) {
@@ -155,7 +155,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMAddressReadNode extends LLVMAddressNode {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected Object readObject(VirtualFrame frame) {
@@ -166,7 +166,7 @@ public abstract class LLVMReadNode extends LLVMExpressionNode {
     @NodeField(name = "slot", type = FrameSlot.class)
     public abstract static class LLVMFunctionReadNode extends LLVMFunctionNode {
 
-        protected abstract FrameSlot getSlot();
+        public abstract FrameSlot getSlot();
 
         @Specialization
         protected TruffleObject readI32(VirtualFrame frame) {
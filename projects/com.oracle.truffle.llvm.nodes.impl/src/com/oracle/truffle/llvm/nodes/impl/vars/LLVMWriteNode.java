@@ -37,6 +37,7 @@ import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
@@ -51,7 +52,6 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
-import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
@@ -61,24 +61,29 @@ public abstract class LLVMWriteNode extends LLVMNode {
 
     @CompilationFinal private SourceSection sourceSection;
 
-    protected abstract FrameSlot getSlot();
+    public abstract FrameSlot getSlot();
+
+    public abstract LLVMExpressionNode getValueNode();
 
     @Override
     public String getSourceDescription() {
         LLVMBasicBlockNode basicBlock = NodeUtil.findParent(this, LLVMBasicBlockNode.class);
         assert basicBlock != null : getParent().getClass();
-        LLVMFunctionStartNode functionStartNode = NodeUtil.findParent(basicBlock, LLVMFunctionStartNode.class);
-        assert functionStartNode != null : basicBlock.getParent().getClass();
+        RootNode functionRootNode = basicBlock.getRootNode();
+        assert functionRootNode != null : basicBlock.getParent().getClass();
         if (basicBlock.getBlockId() == 0) {
-            return String.format("assignment of %s in first basic block in function %s", getSlot().getIdentifier(), functionStartNode.getFunctionName());
+            return String.format("assignment of %s in first basic block in function %s", getSlot().getIdentifier(), functionRootNode.getName());
         } else {
-            return String.format("assignment of %s in basic block %s in function %s", getSlot().getIdentifier(), basicBlock.getBlockName(), functionStartNode.getFunctionName());
+            return String.format("assignment of %s in basic block %s in function %s", getSlot().getIdentifier(), basicBlock.getBlockName(), functionRootNode.getName());
         }
     }
 
     @NodeChild(value = "valueNode", type = LLVMI1Node.class)
     public abstract static class LLVMWriteI1Node extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMI1Node getValueNode();
+
         @Specialization
         protected void writeI1(VirtualFrame frame, boolean value) {
             frame.setBoolean(getSlot(), value);
@@ -89,6 +94,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMI8Node.class)
     public abstract static class LLVMWriteI8Node extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMI8Node getValueNode();
+
         @Specialization
         protected void writeI8(VirtualFrame frame, byte value) {
             frame.setByte(getSlot(), value);
@@ -99,6 +107,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMI16Node.class)
     public abstract static class LLVMWriteI16Node extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMI16Node getValueNode();
+
         @Specialization
         protected void writeI16(VirtualFrame frame, short value) {
             frame.setInt(getSlot(), value);
@@ -109,6 +120,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMI32Node.class)
     public abstract static class LLVMWriteI32Node extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMI32Node getValueNode();
+
         @Specialization
         protected void writeI32(VirtualFrame frame, int value) {
             frame.setInt(getSlot(), value);
@@ -119,6 +133,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMI64Node.class)
     public abstract static class LLVMWriteI64Node extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMI64Node getValueNode();
+
         @Specialization
         protected void writeI64(VirtualFrame frame, long value) {
             frame.setLong(getSlot(), value);
@@ -129,6 +146,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMWriteIVarBitNode extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMIVarBitNode getValueNode();
+
         @Specialization
         protected void writeIVarBit(VirtualFrame frame, LLVMIVarBit value) {
             frame.setObject(getSlot(), value);
@@ -139,6 +159,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMFloatNode.class)
     public abstract static class LLVMWriteFloatNode extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMFloatNode getValueNode();
+
         @Specialization
         protected void writeDouble(VirtualFrame frame, float value) {
             frame.setFloat(getSlot(), value);
@@ -149,6 +172,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMDoubleNode.class)
     public abstract static class LLVMWriteDoubleNode extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMDoubleNode getValueNode();
+
         @Specialization
         protected void writeDouble(VirtualFrame frame, double value) {
             frame.setDouble(getSlot(), value);
@@ -159,6 +185,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVM80BitFloatNode.class)
     public abstract static class LLVMWrite80BitFloatingNode extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVM80BitFloatNode getValueNode();
+
         @Specialization
         protected void write80BitFloat(VirtualFrame frame, LLVM80BitFloat value) {
             frame.setObject(getSlot(), value);
@@ -168,6 +197,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMExpressionNode.class)
     public abstract static class LLVMWriteAddressNode extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMExpressionNode getValueNode();
+
         @Specialization
         protected void writeObject(VirtualFrame frame, Object value) {
             frame.setObject(getSlot(), value);
@@ -177,6 +209,9 @@ public abstract class LLVMWriteNode extends LLVMNode {
     @NodeChild(value = "valueNode", type = LLVMFunctionNode.class)
     public abstract static class LLVMWriteFunctionNode extends LLVMWriteNode {
 
+        @Override
+        public abstract LLVMFunctionNode getValueNode();
+
         @Specialization
         protected void writeAddress(VirtualFrame frame, LLVMFunctionDescriptor value) {
             frame.setObject(getSlot(), value);
@@ -41,6 +41,10 @@ public abstract class LLVMStackFrameNuller {
         this.frameSlot = slot;
     }
 
+    public FrameSlot getFrameSlot() {
+        return frameSlot;
+    }
+
     public void nullifySlot(VirtualFrame frame) {
         nullify(frame, frameSlot);
     }
@@ -59,6 +59,7 @@ import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAdd
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI1LiteralNode;
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMAccessGlobalVariableStorageNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMLoopNode;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
 import com.oracle.truffle.llvm.parser.LLVMParserResult;
 import com.oracle.truffle.llvm.parser.LLVMType;
@@ -237,15 +238,17 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
 
         method.accept(visitor);
 
-        parserRuntime.setFunctionVisitor(null);
-
         final int[] basicBlockIndices = new int[method.getBlockCount()];
         for (int i = 0; i < method.getBlockCount(); i++) {
             basicBlockIndices[i] = i;
         }
         final LLVMStackFrameNuller[][] slotNullerBeginNodes = getSlotNuller(method, lifetimes.getNullableBefore());
         final LLVMStackFrameNuller[][] slotNullerAfterNodes = getSlotNuller(method, lifetimes.getNullableAfter());
-        return factoryFacade.createFunctionBlockNode(visitor.getReturnSlot(), visitor.getBlocks(), slotNullerBeginNodes, slotNullerAfterNodes);
+        final LLVMExpressionNode functionBlock = factoryFacade.createFunctionBlockNode(visitor.getReturnSlot(), visitor.getBlocks(), slotNullerBeginNodes, slotNullerAfterNodes);
+
+        parserRuntime.setFunctionVisitor(null);
+
+        return functionBlock;
     }
 
     private LLVMStackFrameNuller[][] getSlotNuller(FunctionDefinition method, Map<InstructionBlock, FrameSlot[]> slots) {
@@ -496,14 +499,15 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
         LLVMNode[] afterFunction = new LLVMNode[0];
 
         final SourceSection sourceSection = source.createSection(1);
-        LLVMFunctionStartNode rootNode = new LLVMFunctionStartNode(body, beforeFunction, afterFunction, sourceSection, frame, method.getName(), getInitNullers(frame, method));
+        LLVMRuntimeType[] llvmParamTypes = LLVMBitcodeTypeHelper.toRuntimeTypes(method.getArgumentTypes());
+        LLVMFunctionStartNode rootNode = new LLVMFunctionStartNode(body, beforeFunction, afterFunction, sourceSection, frame, method.getName(), getInitNullers(frame, method), !method.isVarArg(),
+                        llvmParamTypes);
         if (LLVMOptions.DEBUG.printFunctionASTs()) {
             NodeUtil.printTree(System.out, rootNode);
             System.out.flush();
         }
 
         LLVMRuntimeType llvmReturnType = method.getReturnType().getRuntimeType();
-        LLVMRuntimeType[] llvmParamTypes = LLVMBitcodeTypeHelper.toRuntimeTypes(method.getArgumentTypes());
         LLVMFunction function = context.getFunctionRegistry().createFunctionDescriptor(method.getName(), llvmReturnType, llvmParamTypes, method.isVarArg());
         RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(rootNode);
         functions.put(function, callTarget);
@@ -539,6 +543,8 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
             return LLVMTypeHelper.getLLVMType(method.getReturnType());
         } else if (LLVMFrameIDs.STACK_ADDRESS_FRAME_SLOT_ID.equals(identifier)) {
             return new LLVMType(LLVMBaseType.ADDRESS);
+        } else if (LLVMLoopNode.SUCCESSOR_FRAME_SLOT_ID.equals(identifier)) {
+            return new LLVMType(LLVMBaseType.I32);
         }
         throw new IllegalStateException("Cannot find Instruction with name: " + identifier);
     }
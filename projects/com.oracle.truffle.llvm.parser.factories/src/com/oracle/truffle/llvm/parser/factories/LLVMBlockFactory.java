@@ -29,13 +29,25 @@
  */
 package com.oracle.truffle.llvm.parser.factories;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMTerminatorNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMRetNode;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMBlockNode.LLVMBlockControlFlowNode;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMLoopNode;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMLoopNode.LLVMLoopDispatchNode;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMOutlinedRegionNode;
+import com.oracle.truffle.llvm.parser.factories.LLVMLoopAnalysis.LLVMNaturalLoop;
+import com.oracle.truffle.llvm.runtime.options.LLVMOptions;
 
 public class LLVMBlockFactory {
 
@@ -43,9 +55,124 @@ public class LLVMBlockFactory {
         return new LLVMBasicBlockNode(statementNodes, terminatorNode, blockId, blockName);
     }
 
-    public static LLVMExpressionNode createFunctionBlock(FrameSlot returnSlot, LLVMBasicBlockNode[] bbs, LLVMStackFrameNuller[][] beforeSlotNullerNodes,
+    public static LLVMExpressionNode createFunctionBlock(FrameDescriptor frameDescriptor, FrameSlot returnSlot, LLVMBasicBlockNode[] basicBlocks, LLVMStackFrameNuller[][] beforeSlotNullerNodes,
                     LLVMStackFrameNuller[][] afterSlotNullerNodes) {
+        LLVMBasicBlockNode[] bbs = basicBlocks;
+        if (LLVMOptions.OPTIMIZATION.instructionFusion()) {
+            bbs = LLVMInstructionFusion.fuseInstructions(bbs);
+        }
+        if (LLVMOptions.OPTIMIZATION.loopOSR()) {
+            List<LLVMNaturalLoop> loops = LLVMLoopAnalysis.findNaturalLoops(getSuccessors(bbs));
+            if (!loops.isEmpty()) {
+                return createFunctionBlockWithLoops(frameDescriptor, returnSlot, bbs, beforeSlotNullerNodes, afterSlotNullerNodes, loops);
+            }
+        }
         return new LLVMBlockControlFlowNode(bbs, beforeSlotNullerNodes, afterSlotNullerNodes, returnSlot);
     }
 
+    /**
+     * Replaces each loop header by a block that executes the whole loop in an {@link LLVMLoopNode},
+     * starting with the innermost loops. The blocks of a loop are only reachable from the dispatch
+     * of the loop, so they are left out of the dispatch of the enclosing loop or function.
+     */
+    private static LLVMExpressionNode createFunctionBlockWithLoops(FrameDescriptor frameDescriptor, FrameSlot returnSlot, LLVMBasicBlockNode[] bbs,
+                    LLVMStackFrameNuller[][] beforeSlotNullerNodes, LLVMStackFrameNuller[][] afterSlotNullerNodes, List<LLVMNaturalLoop> loops) {
+        FrameSlot successorSlot = frameDescriptor.findOrAddFrameSlot(LLVMLoopNode.SUCCESSOR_FRAME_SLOT_ID, FrameSlotKind.Int);
+        int splitBlockCount = LLVMOptions.OPTIMIZATION.functionSplitBlockCount();
+        LLVMNaturalLoop[] outermostLoop = new LLVMNaturalLoop[bbs.length];
+        LLVMBasicBlockNode[] loopBlocks = new LLVMBasicBlockNode[bbs.length];
+        for (LLVMNaturalLoop loop : loops) {
+            BitSet nestedHeaders = new BitSet(bbs.length);
+            LLVMBasicBlockNode[] bodyNodes = getDispatchBlocks(bbs, loop.getBody(), outermostLoop, loopBlocks, nestedHeaders);
+
+            int[] exitIndices = new int[bbs.length];
+            Arrays.fill(exitIndices, -1);
+            int returnExitIndex = -1;
+            int[] loopExits = new int[0];
+            BitSet body = loop.getBody();
+            for (int block = body.nextSetBit(0); block >= 0; block = body.nextSetBit(block + 1)) {
+                for (int successor : bbs[block].getSuccessors()) {
+                    if (successor == LLVMRetNode.RETURN_FROM_FUNCTION) {
+                        if (returnExitIndex == -1) {
+                            returnExitIndex = loopExits.length;
+                            loopExits = append(loopExits, successor);
+                        }
+                    } else if (!loop.contains(successor) && exitIndices[successor] == -1) {
+                        exitIndices[successor] = loopExits.length;
+                        loopExits = append(loopExits, successor);
+                    }
+                }
+                outermostLoop[block] = loop;
+            }
+
+            LLVMLoopDispatchNode dispatch = new LLVMLoopDispatchNode(loop.getHeader(), bodyNodes, exitIndices, returnExitIndex, withoutNullers(beforeSlotNullerNodes, nestedHeaders),
+                            withoutNullers(afterSlotNullerNodes, nestedHeaders), successorSlot);
+            LLVMTerminatorNode loopNode = new LLVMLoopNode(dispatch, successorSlot, loopExits);
+            if (splitBlockCount > 0 && getEnclosingRegionSize(loops, loop, bbs.length) > splitBlockCount) {
+                loopNode = new LLVMOutlinedRegionNode(frameDescriptor, loopNode);
+            }
+            LLVMBasicBlockNode header = bbs[loop.getHeader()];
+            loopBlocks[loop.getHeader()] = new LLVMBasicBlockNode(new LLVMNode[0], loopNode, header.getBlockId(), header.getBlockName());
+        }
+        BitSet nestedHeaders = new BitSet(bbs.length);
+        BitSet allBlocks = new BitSet(bbs.length);
+        allBlocks.set(0, bbs.length);
+        LLVMBasicBlockNode[] bodyNodes = getDispatchBlocks(bbs, allBlocks, outermostLoop, loopBlocks, nestedHeaders);
+        return new LLVMBlockControlFlowNode(bodyNodes, withoutNullers(beforeSlotNullerNodes, nestedHeaders), withoutNullers(afterSlotNullerNodes, nestedHeaders), returnSlot);
+    }
+
+    /**
+     * Gets the number of blocks of the innermost loop that contains the given loop, or of the whole
+     * function for an outermost loop. If this region is too large to be compiled as one unit, the
+     * loop is split off into its own call target.
+     */
+    private static int getEnclosingRegionSize(List<LLVMNaturalLoop> loops, LLVMNaturalLoop loop, int functionSize) {
+        for (LLVMNaturalLoop candidate : loops) {
+            if (candidate.size() > loop.size() && candidate.contains(loop.getHeader())) {
+                return candidate.size();
+            }
+        }
+        return functionSize;
+    }
+
+    private static LLVMBasicBlockNode[] getDispatchBlocks(LLVMBasicBlockNode[] bbs, BitSet blocks, LLVMNaturalLoop[] outermostLoop, LLVMBasicBlockNode[] loopBlocks, BitSet nestedHeaders) {
+        LLVMBasicBlockNode[] bodyNodes = new LLVMBasicBlockNode[bbs.length];
+        for (int block = blocks.nextSetBit(0); block >= 0; block = blocks.nextSetBit(block + 1)) {
+            LLVMNaturalLoop nestedLoop = outermostLoop[block];
+            if (nestedLoop == null) {
+                bodyNodes[block] = bbs[block];
+            } else if (nestedLoop.getHeader() == block) {
+                bodyNodes[block] = loopBlocks[block];
+                nestedHeaders.set(block);
+            }
+        }
+        return bodyNodes;
+    }
+
+    /**
+     * The dead slots of a loop header must not be nulled around the whole loop, since the loop
+     * might leave through another block that defines them.
+     */
+    private static LLVMStackFrameNuller[][] withoutNullers(LLVMStackFrameNuller[][] nullers, BitSet nestedHeaders) {
+        LLVMStackFrameNuller[][] result = Arrays.copyOf(nullers, nullers.length);
+        for (int block = nestedHeaders.nextSetBit(0); block >= 0; block = nestedHeaders.nextSetBit(block + 1)) {
+            result[block] = null;
+        }
+        return result;
+    }
+
+    private static int[][] getSuccessors(LLVMBasicBlockNode[] bbs) {
+        int[][] successors = new int[bbs.length][];
+        for (int i = 0; i < bbs.length; i++) {
+            successors[i] = bbs[i].getSuccessors();
+        }
+        return successors;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+
 }
@@ -33,22 +33,51 @@ import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
-import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNodeFactory.LLVMAddressI32GetElementPtrNodeGen;
-import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNodeFactory.LLVMAddressI64GetElementPtrNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNode.LLVMAddressOffsetGetElementPtrNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNodeFactory.LLVMAddressOffsetGetElementPtrNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGetElementPtrOffsetNode;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
 
 public class LLVMGetElementPtrFactory {
 
+    /**
+     * Creates the address of <code>currentAddress</code> indexed by <code>valueRef</code>. If
+     * <code>currentAddress</code> is itself a getelementptr node, the index is added to its offset
+     * instead, so that a chain of indices results in a single node with a single offset
+     * computation.
+     */
     public static LLVMAddressNode create(LLVMBaseType llvmBaseType, LLVMAddressNode currentAddress, LLVMExpressionNode valueRef, int indexedTypeLength) {
+        LLVMAddressNode baseAddress;
+        LLVMGetElementPtrOffsetNode offset;
+        if (currentAddress instanceof LLVMAddressOffsetGetElementPtrNode) {
+            LLVMAddressOffsetGetElementPtrNode previous = (LLVMAddressOffsetGetElementPtrNode) currentAddress;
+            baseAddress = previous.getBaseAddress();
+            offset = previous.getOffset();
+        } else {
+            baseAddress = currentAddress;
+            offset = new LLVMGetElementPtrOffsetNode(0);
+        }
         switch (llvmBaseType) {
             case I32:
-                return LLVMAddressI32GetElementPtrNodeGen.create(currentAddress, (LLVMI32Node) valueRef, indexedTypeLength);
+                if (valueRef instanceof LLVMI32LiteralNode) {
+                    offset = offset.addConstant((long) indexedTypeLength * ((LLVMI32LiteralNode) valueRef).executeI32(null));
+                } else {
+                    offset = offset.addIndex((LLVMI32Node) valueRef, indexedTypeLength);
+                }
+                break;
             case I64:
-                return LLVMAddressI64GetElementPtrNodeGen.create(currentAddress, (LLVMI64Node) valueRef, indexedTypeLength);
+                if (valueRef instanceof LLVMI64LiteralNode) {
+                    offset = offset.addConstant(indexedTypeLength * ((LLVMI64LiteralNode) valueRef).executeI64(null));
+                } else {
+                    offset = offset.addIndex((LLVMI64Node) valueRef, indexedTypeLength);
+                }
+                break;
             default:
                 throw new AssertionError();
         }
-
+        return LLVMAddressOffsetGetElementPtrNodeGen.create(baseAddress, offset);
     }
 
 }
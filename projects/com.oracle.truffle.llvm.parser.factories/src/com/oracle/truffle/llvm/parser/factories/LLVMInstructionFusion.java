@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.factories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMSideEffectFreeNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNode.LLVMAddressOffsetGetElementPtrNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGetElementPtrOffsetNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNode.LLVMDoubleStoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNode.LLVMFloatStoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNode.LLVMI32StoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNode.LLVMI64StoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNode.LLVMI8StoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMDoubleLoadNode.LLVMDoubleProfilingLoadNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMFloatLoadNode.LLVMFloatProfilingLoadNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI32LoadNode.LLVMI32ProfilingLoadNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI64LoadNode.LLVMI64ProfilingLoadNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI8LoadNode.LLVMI8ProfilingLoadNode;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMAccessGlobalVariableStorageNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVM80BitFloatReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMAddressReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMDoubleReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMFloatReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMFunctionReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMI16ReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMI1ReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMI32ReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMI64ReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMI8ReadNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMReadNode.LLVMIReadVarBitNode;
+import com.oracle.truffle.llvm.nodes.impl.vars.LLVMWriteNode;
+import com.oracle.truffle.llvm.parser.LLVMBaseType;
+
+/**
+ * Folds the value of an instruction into its only use, if that use is in the next instruction of
+ * the same basic block or in the condition of its terminator. A compare and the branch on its
+ * result, or a getelementptr and the load or store through the computed address are then executed
+ * as a single node, without writing the intermediate value to the frame and reading it back. Only
+ * values that are computed without side effects are moved (see {@link LLVMSideEffectFreeNode}), so
+ * loads and integer divisions stay where they are. A getelementptr is also moved into loads and
+ * stores later in its basic block, and copied if there are several of them.
+ */
+final class LLVMInstructionFusion {
+
+    private LLVMInstructionFusion() {
+    }
+
+    static LLVMBasicBlockNode[] fuseInstructions(LLVMBasicBlockNode[] bbs) {
+        Map<FrameSlot, Integer> writeCounts = new HashMap<>();
+        Map<FrameSlot, List<Node>> reads = new HashMap<>();
+        for (LLVMBasicBlockNode bb : bbs) {
+            bb.adoptChildren();
+            bb.accept(node -> {
+                if (node instanceof LLVMWriteNode) {
+                    writeCounts.merge(((LLVMWriteNode) node).getSlot(), 1, Integer::sum);
+                } else {
+                    FrameSlot slot = getReadSlot(node);
+                    if (slot != null) {
+                        reads.computeIfAbsent(slot, s -> new ArrayList<>()).add(node);
+                    }
+                }
+                return true;
+            });
+        }
+        LLVMBasicBlockNode[] fusedBlocks = new LLVMBasicBlockNode[bbs.length];
+        for (int i = 0; i < bbs.length; i++) {
+            fusedBlocks[i] = fuseInstructions(fuseAddressComputations(bbs[i], writeCounts, reads), writeCounts, reads);
+        }
+        return fusedBlocks;
+    }
+
+    /**
+     * Moves a getelementptr into the loads and stores through its result that follow it in the same
+     * basic block, which then access the base address at the offset without materializing the
+     * pointer (see {@link LLVMMemoryReadWriteFactory#createOffsetLoad}). A getelementptr with
+     * several such uses is copied into each of them. This requires that the getelementptr only
+     * reads frame slots and constants, since these do not change within a basic block.
+     */
+    private static LLVMBasicBlockNode fuseAddressComputations(LLVMBasicBlockNode bb, Map<FrameSlot, Integer> writeCounts, Map<FrameSlot, List<Node>> reads) {
+        LLVMNode[] statements = bb.getStatements();
+        boolean[] removed = new boolean[statements.length];
+        boolean fused = false;
+        for (int i = 0; i < statements.length; i++) {
+            if (fuseAddressComputation(bb, i, writeCounts, reads)) {
+                removed[i] = true;
+                fused = true;
+            }
+        }
+        if (!fused) {
+            return bb;
+        }
+        // the loads and stores were replaced in the statements of the block
+        List<LLVMNode> remaining = new ArrayList<>();
+        for (int i = 0; i < statements.length; i++) {
+            if (!removed[i]) {
+                remaining.add(bb.getStatements()[i]);
+            }
+        }
+        return new LLVMBasicBlockNode(remaining.toArray(new LLVMNode[remaining.size()]), bb.getTerminator(), bb.getBlockId(), bb.getBlockName());
+    }
+
+    private static boolean fuseAddressComputation(LLVMBasicBlockNode bb, int index, Map<FrameSlot, Integer> writeCounts, Map<FrameSlot, List<Node>> reads) {
+        LLVMNode statement = bb.getStatements()[index];
+        if (!(statement instanceof LLVMWriteNode)) {
+            return false;
+        }
+        LLVMWriteNode write = (LLVMWriteNode) statement;
+        FrameSlot slot = write.getSlot();
+        List<Node> slotReads = reads.get(slot);
+        LLVMExpressionNode value = write.getValueNode();
+        if (writeCounts.get(slot) != 1 || slotReads == null || !(value instanceof LLVMAddressOffsetGetElementPtrNode) || !readsOnlySlotsAndConstants(value)) {
+            return false;
+        }
+        for (Node read : slotReads) {
+            if (getAccessType(read) == null || getStatementIndex(bb, read) <= index) {
+                return false;
+            }
+        }
+        List<Node> accesses = new ArrayList<>(slotReads);
+        for (int i = 0; i < accesses.size(); i++) {
+            Node read = accesses.get(i);
+            LLVMAddressOffsetGetElementPtrNode gep = (LLVMAddressOffsetGetElementPtrNode) (i == 0 ? value : value.deepCopy());
+            if (i != 0) {
+                gep.accept(node -> {
+                    FrameSlot readSlot = getReadSlot(node);
+                    if (readSlot != null) {
+                        reads.computeIfAbsent(readSlot, s -> new ArrayList<>()).add(node);
+                    }
+                    return true;
+                });
+            }
+            Node access = read.getParent();
+            LLVMBaseType type = getAccessType(read);
+            if (access instanceof LLVMStoreNode) {
+                access.replace(LLVMMemoryReadWriteFactory.createOffsetStore(gep, getStoredValue((LLVMStoreNode) access), type));
+            } else {
+                access.replace(LLVMMemoryReadWriteFactory.createOffsetLoad(type, gep));
+            }
+        }
+        slotReads.clear();
+        return true;
+    }
+
+    private static boolean readsOnlySlotsAndConstants(LLVMExpressionNode value) {
+        boolean[] result = {true};
+        value.accept(node -> {
+            if (node instanceof LLVMExpressionNode && !(node instanceof LLVMAddressOffsetGetElementPtrNode || node instanceof LLVMGetElementPtrOffsetNode || getReadSlot(node) != null ||
+                            node instanceof LLVMI32LiteralNode || node instanceof LLVMI64LiteralNode || node instanceof LLVMAddressLiteralNode || node instanceof LLVMAccessGlobalVariableStorageNode)) {
+                result[0] = false;
+            }
+            return result[0];
+        });
+        return result[0];
+    }
+
+    /**
+     * @return the index of the statement that contains the node, the number of statements for the
+     *         terminator, or -1 if the node is not in the basic block
+     */
+    private static int getStatementIndex(LLVMBasicBlockNode bb, Node node) {
+        Node current = node;
+        while (current.getParent() != bb) {
+            current = current.getParent();
+            if (current == null) {
+                return -1;
+            }
+        }
+        LLVMNode[] statements = bb.getStatements();
+        for (int i = 0; i < statements.length; i++) {
+            if (statements[i] == current) {
+                return i;
+            }
+        }
+        return statements.length;
+    }
+
+    /**
+     * @return the type of the load or store whose address is the read, if there is an offset load
+     *         or store for it, or <code>null</code>
+     */
+    private static LLVMBaseType getAccessType(Node read) {
+        Node access = read.getParent();
+        if (access instanceof LLVMStoreNode && ((LLVMStoreNode) access).getPointerNode() != read) {
+            return null;
+        }
+        if (access instanceof LLVMI8ProfilingLoadNode || access instanceof LLVMI8StoreNode) {
+            return LLVMBaseType.I8;
+        } else if (access instanceof LLVMI32ProfilingLoadNode || access instanceof LLVMI32StoreNode) {
+            return LLVMBaseType.I32;
+        } else if (access instanceof LLVMI64ProfilingLoadNode || access instanceof LLVMI64StoreNode) {
+            return LLVMBaseType.I64;
+        } else if (access instanceof LLVMFloatProfilingLoadNode || access instanceof LLVMFloatStoreNode) {
+            return LLVMBaseType.FLOAT;
+        } else if (access instanceof LLVMDoubleProfilingLoadNode || access instanceof LLVMDoubleStoreNode) {
+            return LLVMBaseType.DOUBLE;
+        } else {
+            return null;
+        }
+    }
+
+    private static LLVMExpressionNode getStoredValue(LLVMStoreNode store) {
+        if (store instanceof LLVMI8StoreNode) {
+            return ((LLVMI8StoreNode) store).getValueNode();
+        } else if (store instanceof LLVMI32StoreNode) {
+            return ((LLVMI32StoreNode) store).getValueNode();
+        } else if (store instanceof LLVMI64StoreNode) {
+            return ((LLVMI64StoreNode) store).getValueNode();
+        } else if (store instanceof LLVMFloatStoreNode) {
+            return ((LLVMFloatStoreNode) store).getValueNode();
+        } else {
+            return ((LLVMDoubleStoreNode) store).getValueNode();
+        }
+    }
+
+    private static LLVMBasicBlockNode fuseInstructions(LLVMBasicBlockNode bb, Map<FrameSlot, Integer> writeCounts, Map<FrameSlot, List<Node>> reads) {
+        List<LLVMNode> statements = new ArrayList<>(Arrays.asList(bb.getStatements()));
+        boolean fused = false;
+        // go backwards, so that an instruction can be folded into an already fused instruction
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            Node user = i + 1 < statements.size() ? statements.get(i + 1) : bb.getTerminator();
+            if (fuseInto(statements.get(i), user, writeCounts, reads)) {
+                statements.remove(i);
+                fused = true;
+            }
+        }
+        if (!fused) {
+            return bb;
+        }
+        return new LLVMBasicBlockNode(statements.toArray(new LLVMNode[statements.size()]), bb.getTerminator(), bb.getBlockId(), bb.getBlockName());
+    }
+
+    private static boolean fuseInto(LLVMNode statement, Node user, Map<FrameSlot, Integer> writeCounts, Map<FrameSlot, List<Node>> reads) {
+        if (!(statement instanceof LLVMWriteNode)) {
+            return false;
+        }
+        LLVMWriteNode write = (LLVMWriteNode) statement;
+        FrameSlot slot = write.getSlot();
+        List<Node> slotReads = reads.get(slot);
+        if (writeCounts.get(slot) != 1 || slotReads == null || slotReads.size() != 1) {
+            return false;
+        }
+        Node read = slotReads.get(0);
+        LLVMExpressionNode value = write.getValueNode();
+        if (!(value instanceof LLVMSideEffectFreeNode) || !isAssignable(read, value) || !isOperandOf(read, user)) {
+            return false;
+        }
+        read.replace(value);
+        return true;
+    }
+
+    /**
+     * Checks that the read is evaluated as an operand of the user. Reads in the phi writes of a
+     * terminator are excluded, since the phi writes can overwrite the operands of the value.
+     */
+    private static boolean isOperandOf(Node read, Node user) {
+        Node node = read.getParent();
+        while (node != user) {
+            if (node == null || node instanceof LLVMWriteNode) {
+                return false;
+            }
+            node = node.getParent();
+        }
+        return true;
+    }
+
+    private static FrameSlot getReadSlot(Node node) {
+        if (node instanceof LLVMI1ReadNode) {
+            return ((LLVMI1ReadNode) node).getSlot();
+        } else if (node instanceof LLVMI8ReadNode) {
+            return ((LLVMI8ReadNode) node).getSlot();
+        } else if (node instanceof LLVMI16ReadNode) {
+            return ((LLVMI16ReadNode) node).getSlot();
+        } else if (node instanceof LLVMI32ReadNode) {
+            return ((LLVMI32ReadNode) node).getSlot();
+        } else if (node instanceof LLVMI64ReadNode) {
+            return ((LLVMI64ReadNode) node).getSlot();
+        } else if (node instanceof LLVMFloatReadNode) {
+            return ((LLVMFloatReadNode) node).getSlot();
+        } else if (node instanceof LLVMDoubleReadNode) {
+            return ((LLVMDoubleReadNode) node).getSlot();
+        } else if (node instanceof LLVM80BitFloatReadNode) {
+            return ((LLVM80BitFloatReadNode) node).getSlot();
+        } else if (node instanceof LLVMIReadVarBitNode) {
+            return ((LLVMIReadVarBitNode) node).getSlot();
+        } else if (node instanceof LLVMAddressReadNode) {
+            return ((LLVMAddressReadNode) node).getSlot();
+        } else if (node instanceof LLVMFunctionReadNode) {
+            return ((LLVMFunctionReadNode) node).getSlot();
+        } else {
+            return null;
+        }
+    }
+
+    private static boolean isAssignable(Node read, LLVMExpressionNode value) {
+        if (read instanceof LLVMI1ReadNode) {
+            return value instanceof LLVMI1Node;
+        } else if (read instanceof LLVMI8ReadNode) {
+            return value instanceof LLVMI8Node;
+        } else if (read instanceof LLVMI16ReadNode) {
+            return value instanceof LLVMI16Node;
+        } else if (read instanceof LLVMI32ReadNode) {
+            return value instanceof LLVMI32Node;
+        } else if (read instanceof LLVMI64ReadNode) {
+            return value instanceof LLVMI64Node;
+        } else if (read instanceof LLVMFloatReadNode) {
+            return value instanceof LLVMFloatNode;
+        } else if (read instanceof LLVMDoubleReadNode) {
+            return value instanceof LLVMDoubleNode;
+        } else if (read instanceof LLVMAddressReadNode) {
+            return value instanceof LLVMAddressNode;
+        } else {
+            return false;
+        }
+    }
+
+}
@@ -43,6 +43,8 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTruncFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTruncFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMByteSwapFactory.LLVMByteSwapI16Factory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMByteSwapFactory.LLVMByteSwapI32Factory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMByteSwapFactory.LLVMByteSwapI64Factory;
@@ -64,10 +66,24 @@ import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMReturnAddressFacto
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMStackRestoreNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMStackSaveNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMTrapFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMCeilFactory.LLVMCeilDoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMCeilFactory.LLVMCeilFloatFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFAbsFactory.LLVMFAbsDoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFAbsFactory.LLVMFAbsFloatFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFMAFactory.LLVMFMADoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFMAFactory.LLVMFMAFloatFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFMAFactory.LLVMFMulAddDoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFMAFactory.LLVMFMulAddFloatFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFloorFactory.LLVMFloorDoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMFloorFactory.LLVMFloorFloatFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMPowFactory.LLVMPowDoubleFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMPowFactory.LLVMPowFloatFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMPowIFactory.LLVMPowIDoubleFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMPowIFactory.LLVMPowIFloatFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMRintFactory.LLVMRintDoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMRintFactory.LLVMRintFloatFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMSqrtFactory.LLVMSqrtDoubleFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMSqrtFactory.LLVMSqrtFloatFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.arith.LLVMUAddWithOverflowFactory.LLVMUAddWithOverflowI32NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.bit.CountLeadingZeroesNodeFactory.CountLeadingZeroesI32NodeFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.bit.CountLeadingZeroesNodeFactory.CountLeadingZeroesI64NodeFactory;
@@ -121,6 +137,30 @@ public final class LLVMIntrinsicFactory {
         factories.put("@llvm.powi.f32", LLVMPowIFloatFactory.getInstance());
         factories.put("@llvm.powi.f64", LLVMPowIDoubleFactory.getInstance());
 
+        factories.put("@llvm.sqrt.f32", LLVMSqrtFloatFactory.getInstance());
+        factories.put("@llvm.sqrt.f64", LLVMSqrtDoubleFactory.getInstance());
+
+        factories.put("@llvm.fabs.f32", LLVMFAbsFloatFactory.getInstance());
+        factories.put("@llvm.fabs.f64", LLVMFAbsDoubleFactory.getInstance());
+
+        factories.put("@llvm.floor.f32", LLVMFloorFloatFactory.getInstance());
+        factories.put("@llvm.floor.f64", LLVMFloorDoubleFactory.getInstance());
+
+        factories.put("@llvm.ceil.f32", LLVMCeilFloatFactory.getInstance());
+        factories.put("@llvm.ceil.f64", LLVMCeilDoubleFactory.getInstance());
+
+        factories.put("@llvm.trunc.f32", LLVMTruncFFactory.getInstance());
+        factories.put("@llvm.trunc.f64", LLVMTruncFactory.getInstance());
+
+        factories.put("@llvm.rint.f32", LLVMRintFloatFactory.getInstance());
+        factories.put("@llvm.rint.f64", LLVMRintDoubleFactory.getInstance());
+
+        factories.put("@llvm.fma.f32", LLVMFMAFloatFactory.getInstance());
+        factories.put("@llvm.fma.f64", LLVMFMADoubleFactory.getInstance());
+
+        factories.put("@llvm.fmuladd.f32", LLVMFMulAddFloatFactory.getInstance());
+        factories.put("@llvm.fmuladd.f64", LLVMFMulAddDoubleFactory.getInstance());
+
         // frameaddress, returnaddress (constantly returns a null pointer)
         factories.put("@llvm.returnaddress", LLVMReturnAddressFactory.getInstance());
         factories.put("@llvm.lifetime.start", LLVMLifetimeStartFactory.getInstance());
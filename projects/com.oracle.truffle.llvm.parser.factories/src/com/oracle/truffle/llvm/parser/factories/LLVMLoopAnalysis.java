@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.factories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the natural loops of a function, given the successor block indices of its basic blocks.
+ * Negative successor indices (returning from the function) are ignored. Block <code>0</code> is
+ * the entry block of the function.
+ */
+final class LLVMLoopAnalysis {
+
+    static final class LLVMNaturalLoop {
+
+        private final int header;
+        private final BitSet body;
+
+        LLVMNaturalLoop(int header, BitSet body) {
+            this.header = header;
+            this.body = body;
+        }
+
+        int getHeader() {
+            return header;
+        }
+
+        /**
+         * Gets the blocks of the loop, including the blocks of nested loops and the header.
+         */
+        BitSet getBody() {
+            return body;
+        }
+
+        boolean contains(int block) {
+            return block >= 0 && body.get(block);
+        }
+
+        int size() {
+            return body.cardinality();
+        }
+
+    }
+
+    private final int[][] successors;
+    private final int[][] predecessors;
+    private final int[] reversePostOrder;
+    private final int[] reversePostOrderIndex;
+    private final int[] immediateDominators;
+
+    private LLVMLoopAnalysis(int[][] successors) {
+        this.successors = successors;
+        this.reversePostOrder = computeReversePostOrder(successors);
+        this.reversePostOrderIndex = new int[successors.length];
+        Arrays.fill(reversePostOrderIndex, -1);
+        for (int i = 0; i < reversePostOrder.length; i++) {
+            reversePostOrderIndex[reversePostOrder[i]] = i;
+        }
+        this.predecessors = computePredecessors();
+        this.immediateDominators = computeImmediateDominators();
+    }
+
+    /**
+     * Computes the natural loops of a function. Loops that share a header are merged into one
+     * loop. The result is ordered so that nested loops come before the loops that contain them.
+     */
+    static List<LLVMNaturalLoop> findNaturalLoops(int[][] successors) {
+        if (successors.length == 0) {
+            return new ArrayList<>();
+        }
+        return new LLVMLoopAnalysis(successors).findNaturalLoops();
+    }
+
+    private List<LLVMNaturalLoop> findNaturalLoops() {
+        Map<Integer, BitSet> bodies = new LinkedHashMap<>();
+        for (int block : reversePostOrder) {
+            for (int successor : successors[block]) {
+                if (successor >= 0 && dominates(successor, block)) {
+                    BitSet body = bodies.get(successor);
+                    if (body == null) {
+                        body = new BitSet(successors.length);
+                        body.set(successor);
+                        bodies.put(successor, body);
+                    }
+                    addLoopBody(body, block);
+                }
+            }
+        }
+        List<LLVMNaturalLoop> loops = new ArrayList<>();
+        for (Map.Entry<Integer, BitSet> entry : bodies.entrySet()) {
+            loops.add(new LLVMNaturalLoop(entry.getKey(), entry.getValue()));
+        }
+        loops.sort(Comparator.comparingInt(LLVMNaturalLoop::size));
+        return loops;
+    }
+
+    /**
+     * Adds all blocks to the loop body that reach the source of a back edge without passing the
+     * loop header, which is already part of the body.
+     */
+    private void addLoopBody(BitSet body, int backEdgeSource) {
+        if (body.get(backEdgeSource)) {
+            return;
+        }
+        int[] worklist = new int[successors.length];
+        int size = 0;
+        body.set(backEdgeSource);
+        worklist[size++] = backEdgeSource;
+        while (size > 0) {
+            int block = worklist[--size];
+            for (int predecessor : predecessors[block]) {
+                if (!body.get(predecessor)) {
+                    body.set(predecessor);
+                    worklist[size++] = predecessor;
+                }
+            }
+        }
+    }
+
+    private boolean dominates(int dominator, int block) {
+        int current = block;
+        while (current != dominator) {
+            if (current == 0) {
+                return false;
+            }
+            current = immediateDominators[current];
+        }
+        return true;
+    }
+
+    private static int[] computeReversePostOrder(int[][] successors) {
+        int[] postOrder = new int[successors.length];
+        int count = 0;
+        boolean[] visited = new boolean[successors.length];
+        int[] stack = new int[successors.length];
+        int[] nextSuccessor = new int[successors.length];
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+        visited[0] = true;
+        while (stackSize > 0) {
+            int block = stack[stackSize - 1];
+            if (nextSuccessor[block] < successors[block].length) {
+                int successor = successors[block][nextSuccessor[block]++];
+                if (successor >= 0 && !visited[successor]) {
+                    visited[successor] = true;
+                    stack[stackSize++] = successor;
+                }
+            } else {
+                stackSize--;
+                postOrder[count++] = block;
+            }
+        }
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = postOrder[count - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the predecessors of the reachable blocks, considering only reachable predecessors.
+     */
+    private int[][] computePredecessors() {
+        int[] predecessorCount = new int[successors.length];
+        for (int block : reversePostOrder) {
+            for (int successor : successors[block]) {
+                if (successor >= 0) {
+                    predecessorCount[successor]++;
+                }
+            }
+        }
+        int[][] result = new int[successors.length][];
+        for (int i = 0; i < successors.length; i++) {
+            result[i] = new int[predecessorCount[i]];
+        }
+        Arrays.fill(predecessorCount, 0);
+        for (int block : reversePostOrder) {
+            for (int successor : successors[block]) {
+                if (successor >= 0) {
+                    result[successor][predecessorCount[successor]++] = block;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the immediate dominators of the reachable blocks.
+     *
+     * @see <a href="https://www.cs.rice.edu/~keith/EMBED/dom.pdf">A Simple, Fast Dominance
+     *      Algorithm</a>
+     */
+    private int[] computeImmediateDominators() {
+        int[] idom = new int[successors.length];
+        Arrays.fill(idom, -1);
+        idom[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < reversePostOrder.length; i++) {
+                int block = reversePostOrder[i];
+                int newIdom = -1;
+                for (int predecessor : predecessors[block]) {
+                    if (idom[predecessor] != -1) {
+                        newIdom = newIdom == -1 ? predecessor : intersect(idom, predecessor, newIdom);
+                    }
+                }
+                if (idom[block] != newIdom) {
+                    idom[block] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+        return idom;
+    }
+
+    private int intersect(int[] idom, int block1, int block2) {
+        int finger1 = block1;
+        int finger2 = block2;
+        while (finger1 != finger2) {
+            while (reversePostOrderIndex[finger1] > reversePostOrderIndex[finger2]) {
+                finger1 = idom[finger1];
+            }
+            while (reversePostOrderIndex[finger2] > reversePostOrderIndex[finger1]) {
+                finger2 = idom[finger2];
+            }
+        }
+        return finger1;
+    }
+
+}
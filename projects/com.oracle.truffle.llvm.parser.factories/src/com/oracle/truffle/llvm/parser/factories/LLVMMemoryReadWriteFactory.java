@@ -45,6 +45,8 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMVectorNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNode.LLVMAddressOffsetGetElementPtrNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGetElementPtrOffsetNode;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVMLoadDoubleVectorNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVMLoadFloatVectorNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVMLoadI16VectorNodeGen;
@@ -52,6 +54,11 @@ import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVML
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVMLoadI32VectorNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVMLoadI64VectorNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMLoadVectorNodeFactory.LLVMLoadI8VectorNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMOffsetStoreNodeFactory.LLVMDoubleOffsetStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMOffsetStoreNodeFactory.LLVMFloatOffsetStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMOffsetStoreNodeFactory.LLVMI32OffsetStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMOffsetStoreNodeFactory.LLVMI64OffsetStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMOffsetStoreNodeFactory.LLVMI8OffsetStoreNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNodeFactory.LLVM80BitFloatStoreNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNodeFactory.LLVMAddressStoreNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMStoreNodeFactory.LLVMDoubleStoreNodeGen;
@@ -86,6 +93,11 @@ import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI64LoadNodeFactory.LLV
 import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI64LoadNodeFactory.LLVMI64ProfilingLoadNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI8LoadNodeFactory.LLVMI8DirectLoadNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI8LoadNodeFactory.LLVMI8ProfilingLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMOffsetLoadNodeFactory.LLVMDoubleOffsetLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMOffsetLoadNodeFactory.LLVMFloatOffsetLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMOffsetLoadNodeFactory.LLVMI32OffsetLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMOffsetLoadNodeFactory.LLVMI64OffsetLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMOffsetLoadNodeFactory.LLVMI8OffsetLoadNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMAccessGlobalVariableStorageNode;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
 import com.oracle.truffle.llvm.parser.base.model.types.Type;
@@ -113,6 +125,12 @@ public final class LLVMMemoryReadWriteFactory {
     }
 
     public static LLVMExpressionNode createLoad(LLVMBaseType resultType, LLVMAddressNode loadTarget, int bits) {
+        if (loadTarget instanceof LLVMAddressOffsetGetElementPtrNode) {
+            LLVMExpressionNode offsetLoad = createOffsetLoad(resultType, (LLVMAddressOffsetGetElementPtrNode) loadTarget);
+            if (offsetLoad != null) {
+                return offsetLoad;
+            }
+        }
         switch (resultType) {
             case I1:
                 return new LLVMI1UninitializedLoadNode(loadTarget);
@@ -169,6 +187,31 @@ public final class LLVMMemoryReadWriteFactory {
         throw new AssertionError(resultType);
     }
 
+    /**
+     * Loads from a getelementptr by passing its base address and offset to the load node, so that
+     * the pointer is not materialized.
+     *
+     * @return the load node, or <code>null</code> if there is no offset load for the type
+     */
+    static LLVMExpressionNode createOffsetLoad(LLVMBaseType resultType, LLVMAddressOffsetGetElementPtrNode loadTarget) {
+        LLVMAddressNode baseAddress = loadTarget.getBaseAddress();
+        LLVMGetElementPtrOffsetNode offset = loadTarget.getOffset();
+        switch (resultType) {
+            case I8:
+                return LLVMI8OffsetLoadNodeGen.create(baseAddress, offset);
+            case I32:
+                return LLVMI32OffsetLoadNodeGen.create(baseAddress, offset);
+            case I64:
+                return LLVMI64OffsetLoadNodeGen.create(baseAddress, offset);
+            case FLOAT:
+                return LLVMFloatOffsetLoadNodeGen.create(baseAddress, offset);
+            case DOUBLE:
+                return LLVMDoubleOffsetLoadNodeGen.create(baseAddress, offset);
+            default:
+                return null;
+        }
+    }
+
     public static LLVMExpressionNode createLoadVector(LLVMBaseType resultType, LLVMAddressNode loadTarget, int size) {
         switch (resultType) {
             case I1_VECTOR:
@@ -195,6 +238,12 @@ public final class LLVMMemoryReadWriteFactory {
     }
 
     public static LLVMNode createStore(LLVMAddressNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType type, int size) {
+        if (pointerNode instanceof LLVMAddressOffsetGetElementPtrNode) {
+            LLVMNode offsetStore = createOffsetStore((LLVMAddressOffsetGetElementPtrNode) pointerNode, valueNode, type);
+            if (offsetStore != null) {
+                return offsetStore;
+            }
+        }
         switch (type) {
             case I1:
                 return LLVMI1StoreNodeGen.create(pointerNode, (LLVMI1Node) valueNode);
@@ -235,4 +284,29 @@ public final class LLVMMemoryReadWriteFactory {
         }
     }
 
+    /**
+     * Stores to a getelementptr by passing its base address and offset to the store node, so that
+     * the pointer is not materialized.
+     *
+     * @return the store node, or <code>null</code> if there is no offset store for the type
+     */
+    static LLVMNode createOffsetStore(LLVMAddressOffsetGetElementPtrNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType type) {
+        LLVMAddressNode baseAddress = pointerNode.getBaseAddress();
+        LLVMGetElementPtrOffsetNode offset = pointerNode.getOffset();
+        switch (type) {
+            case I8:
+                return LLVMI8OffsetStoreNodeGen.create(baseAddress, offset, (LLVMI8Node) valueNode);
+            case I32:
+                return LLVMI32OffsetStoreNodeGen.create(baseAddress, offset, (LLVMI32Node) valueNode);
+            case I64:
+                return LLVMI64OffsetStoreNodeGen.create(baseAddress, offset, (LLVMI64Node) valueNode);
+            case FLOAT:
+                return LLVMFloatOffsetStoreNodeGen.create(baseAddress, offset, (LLVMFloatNode) valueNode);
+            case DOUBLE:
+                return LLVMDoubleOffsetStoreNodeGen.create(baseAddress, offset, (LLVMDoubleNode) valueNode);
+            default:
+                return null;
+        }
+    }
+
 }
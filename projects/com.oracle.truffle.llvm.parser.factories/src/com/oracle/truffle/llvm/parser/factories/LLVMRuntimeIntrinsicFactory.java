@@ -35,28 +35,116 @@ import java.util.Map;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAbortFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocationIntrinsicsFactory.LLVMAlignedAllocFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocationIntrinsicsFactory.LLVMCallocFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocationIntrinsicsFactory.LLVMMallocFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocationIntrinsicsFactory.LLVMPosixMemalignFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocationIntrinsicsFactory.LLVMReallocFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAtExitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMACosFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMACosFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMASinFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMASinFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMATan2FFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMATan2Factory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMATanFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMATanFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMAbsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCeilFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCeilFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCopySignFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCopySignFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCosFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCosFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCoshFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMCoshFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMExpFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMExpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFAbsFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFAbsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFMaxFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFMaxFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFMinFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFMinFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFloorFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFloorFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFmaFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFmaFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMLAbsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMLog10FFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMLog10Factory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMLogFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMLogFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMPowFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMPowFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMRintFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMRintFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSinFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSinFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSinhFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSinhFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSqrtFFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSqrtFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTanFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTanFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTanhFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTanhFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTruncFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMTruncFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMExitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMFreeFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMMemoryMappingIntrinsicsFactory.LLVMMMapFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMMemoryMappingIntrinsicsFactory.LLVMMSyncFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMMemoryMappingIntrinsicsFactory.LLVMMUnmapFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMSignalFactory;
-import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTruffleOnlyIntrinsicsFactory.LLVMStrCmpFactory;
-import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTruffleOnlyIntrinsicsFactory.LLVMStrlenFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMSortIntrinsicsFactory.LLVMBSearchFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMSortIntrinsicsFactory.LLVMQSortFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMSortIntrinsicsFactory.LLVMQSortRFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFFlushFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFGetcFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFGetsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFPrintfFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFPutcFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFPutsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFReadFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFScanfFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMFWriteFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMGetcharFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMPrintfFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMPutcharFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMPutsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMScanfFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMSetbufFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStdioIntrinsicsFactory.LLVMSetvbufFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemChrFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemCmpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrChrFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrCmpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrCpyFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrNCmpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrNCpyFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrStrFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrlenFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTimeIntrinsicsFactory.LLVMClockFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTimeIntrinsicsFactory.LLVMClockGetTimeFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTimeIntrinsicsFactory.LLVMGetTimeOfDayFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTimeIntrinsicsFactory.LLVMTimeFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTruffleReadBytesFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleAddressToFunctionFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleBinaryFactory.LLVMTruffleHasSizeFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleBinaryFactory.LLVMTruffleIsBoxedFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleBinaryFactory.LLVMTruffleIsExecutableFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleBinaryFactory.LLVMTruffleIsNullFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyFromNativeCFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyFromNativeDFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyFromNativeFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyFromNativeIFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyFromNativeLFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyToNativeCFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyToNativeDFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyToNativeFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyToNativeIFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleCopyFactory.LLVMTruffleCopyToNativeLFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteFactory.LLVMTruffleExecuteBFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteFactory.LLVMTruffleExecuteCFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteFactory.LLVMTruffleExecuteDFactory;
@@ -64,6 +152,12 @@ import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteF
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteFactory.LLVMTruffleExecuteIFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteFactory.LLVMTruffleExecuteLFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExecuteFactory.LLVMTruffleExecutePFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExportArrayFactory.LLVMTruffleExportArrayBFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExportArrayFactory.LLVMTruffleExportArrayCFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExportArrayFactory.LLVMTruffleExportArrayDFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExportArrayFactory.LLVMTruffleExportArrayFFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExportArrayFactory.LLVMTruffleExportArrayIFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleExportArrayFactory.LLVMTruffleExportArrayLFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleGetSizeFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleImportCachedFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleImportFactory;
@@ -113,6 +207,7 @@ import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleWriteFac
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleWriteFactory.LLVMTruffleWriteIdxPFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleWriteFactory.LLVMTruffleWriteLFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleWriteFactory.LLVMTruffleWritePFactory;
+import com.oracle.truffle.llvm.runtime.options.LLVMOptions;
 
 /**
  * This class creates intrinsic functions and is designed to be inherited.
@@ -132,7 +227,16 @@ public class LLVMRuntimeIntrinsicFactory {
     protected Map<String, NodeFactory<? extends LLVMNode>> getFactories() {
         intrinsifyAbortIntrinsics();
         intrinsifyMathFunctions();
-        intrinsifyTruffleOnlyIntrinsics();
+        intrinsifyStringFunctions();
+        intrinsifySortFunctions();
+        intrinsifyAllocationFunctions();
+        if (LLVMOptions.ENGINE.nioMemoryMappings()) {
+            intrinsifyMemoryMappingFunctions();
+        }
+        intrinsifyTimeFunctions();
+        if (LLVMOptions.ENGINE.bufferedStdio()) {
+            intrinsifyStdioFunctions();
+        }
         intrinsifyInteropIntrinsics();
         return intrinsics;
     }
@@ -212,6 +316,24 @@ public class LLVMRuntimeIntrinsicFactory {
         intrinsics.put("@truffle_is_truffle_object", LLVMTruffleIsTruffleObjectFactory.getInstance());
 
         intrinsics.put("@truffle_managed_malloc", LLVMTruffleManagedMallocFactory.getInstance());
+
+        intrinsics.put("@truffle_export_array_i", LLVMTruffleExportArrayIFactory.getInstance());
+        intrinsics.put("@truffle_export_array_l", LLVMTruffleExportArrayLFactory.getInstance());
+        intrinsics.put("@truffle_export_array_c", LLVMTruffleExportArrayCFactory.getInstance());
+        intrinsics.put("@truffle_export_array_f", LLVMTruffleExportArrayFFactory.getInstance());
+        intrinsics.put("@truffle_export_array_d", LLVMTruffleExportArrayDFactory.getInstance());
+        intrinsics.put("@truffle_export_array_b", LLVMTruffleExportArrayBFactory.getInstance());
+
+        intrinsics.put("@truffle_copy_to_native_i", LLVMTruffleCopyToNativeIFactory.getInstance());
+        intrinsics.put("@truffle_copy_to_native_l", LLVMTruffleCopyToNativeLFactory.getInstance());
+        intrinsics.put("@truffle_copy_to_native_c", LLVMTruffleCopyToNativeCFactory.getInstance());
+        intrinsics.put("@truffle_copy_to_native_f", LLVMTruffleCopyToNativeFFactory.getInstance());
+        intrinsics.put("@truffle_copy_to_native_d", LLVMTruffleCopyToNativeDFactory.getInstance());
+        intrinsics.put("@truffle_copy_from_native_i", LLVMTruffleCopyFromNativeIFactory.getInstance());
+        intrinsics.put("@truffle_copy_from_native_l", LLVMTruffleCopyFromNativeLFactory.getInstance());
+        intrinsics.put("@truffle_copy_from_native_c", LLVMTruffleCopyFromNativeCFactory.getInstance());
+        intrinsics.put("@truffle_copy_from_native_f", LLVMTruffleCopyFromNativeFFactory.getInstance());
+        intrinsics.put("@truffle_copy_from_native_d", LLVMTruffleCopyFromNativeDFactory.getInstance());
     }
 
     /**
@@ -235,12 +357,99 @@ public class LLVMRuntimeIntrinsicFactory {
     }
 
     /**
-     * Intrinsifies functions that provide an implementation for <code>TruffleObject</code>s but use
-     * the Graal NFI if the arguments are not <code>TruffleObject</code>s.
+     * This method intrinsifies functions from the <code>string.h</code> header file of the C
+     * standard library. The Java implementations scan native memory a word at a time and avoid the
+     * native call; <code>strlen</code> and <code>strcmp</code> also accept
+     * <code>TruffleObject</code>s.
      */
-    protected void intrinsifyTruffleOnlyIntrinsics() {
+    protected void intrinsifyStringFunctions() {
         intrinsics.put("@strlen", LLVMStrlenFactory.getInstance());
         intrinsics.put("@strcmp", LLVMStrCmpFactory.getInstance());
+        intrinsics.put("@strncmp", LLVMStrNCmpFactory.getInstance());
+        intrinsics.put("@strchr", LLVMStrChrFactory.getInstance());
+        intrinsics.put("@strstr", LLVMStrStrFactory.getInstance());
+        intrinsics.put("@strcpy", LLVMStrCpyFactory.getInstance());
+        intrinsics.put("@strncpy", LLVMStrNCpyFactory.getInstance());
+        intrinsics.put("@memchr", LLVMMemChrFactory.getInstance());
+        intrinsics.put("@memcmp", LLVMMemCmpFactory.getInstance());
+    }
+
+    /**
+     * Intrinsifies the searching and sorting functions of <code>stdlib.h</code>, which call back
+     * into a comparison function. A Sulong comparator is called directly instead of escaping to
+     * native code.
+     */
+    protected void intrinsifySortFunctions() {
+        intrinsics.put("@qsort", LLVMQSortFactory.getInstance());
+        intrinsics.put("@qsort_r", LLVMQSortRFactory.getInstance());
+        intrinsics.put("@bsearch", LLVMBSearchFactory.getInstance());
+    }
+
+    /**
+     * Intrinsifies the allocation functions of <code>stdlib.h</code>, which then call the C heap
+     * through the fixed handles of the heap instead of the generic native call path.
+     */
+    protected void intrinsifyAllocationFunctions() {
+        intrinsics.put("@malloc", LLVMMallocFactory.getInstance());
+        intrinsics.put("@calloc", LLVMCallocFactory.getInstance());
+        intrinsics.put("@realloc", LLVMReallocFactory.getInstance());
+        intrinsics.put("@aligned_alloc", LLVMAlignedAllocFactory.getInstance());
+        intrinsics.put("@memalign", LLVMAlignedAllocFactory.getInstance());
+        intrinsics.put("@posix_memalign", LLVMPosixMemalignFactory.getInstance());
+        intrinsics.put("@free", LLVMFreeFactory.getInstance());
+    }
+
+    /**
+     * Intrinsifies the functions of <code>sys/mman.h</code>, so that file mappings are owned and
+     * tracked by the context.
+     */
+    protected void intrinsifyMemoryMappingFunctions() {
+        intrinsics.put("@mmap", LLVMMMapFactory.getInstance());
+        intrinsics.put("@mmap64", LLVMMMapFactory.getInstance());
+        intrinsics.put("@munmap", LLVMMUnmapFactory.getInstance());
+        intrinsics.put("@msync", LLVMMSyncFactory.getInstance());
+    }
+
+    /**
+     * Intrinsifies the clock functions of <code>time.h</code> and <code>sys/time.h</code>, which
+     * are often called in timing loops and can then be compiled to a read of the Java clocks.
+     */
+    protected void intrinsifyTimeFunctions() {
+        intrinsics.put("@clock_gettime", LLVMClockGetTimeFactory.getInstance());
+        intrinsics.put("@gettimeofday", LLVMGetTimeOfDayFactory.getInstance());
+        intrinsics.put("@time", LLVMTimeFactory.getInstance());
+        intrinsics.put("@clock", LLVMClockFactory.getInstance());
+    }
+
+    /**
+     * Intrinsifies the output functions of <code>stdio.h</code>, which then buffer
+     * <code>stdout</code> and <code>stderr</code> in Java instead of making a native call per
+     * write. The buffers are flushed on exit by the global root node. The input functions are
+     * intrinsified to flush <code>stdout</code> before they read from <code>stdin</code>.
+     */
+    protected void intrinsifyStdioFunctions() {
+        intrinsics.put("@putchar", LLVMPutcharFactory.getInstance());
+        intrinsics.put("@puts", LLVMPutsFactory.getInstance());
+        intrinsics.put("@fputc", LLVMFPutcFactory.getInstance());
+        intrinsics.put("@putc", LLVMFPutcFactory.getInstance());
+        intrinsics.put("@_IO_putc", LLVMFPutcFactory.getInstance());
+        intrinsics.put("@fputs", LLVMFPutsFactory.getInstance());
+        intrinsics.put("@fwrite", LLVMFWriteFactory.getInstance());
+        intrinsics.put("@fflush", LLVMFFlushFactory.getInstance());
+        intrinsics.put("@printf", LLVMPrintfFactory.getInstance());
+        intrinsics.put("@fprintf", LLVMFPrintfFactory.getInstance());
+        intrinsics.put("@setvbuf", LLVMSetvbufFactory.getInstance());
+        intrinsics.put("@setbuf", LLVMSetbufFactory.getInstance());
+        intrinsics.put("@getchar", LLVMGetcharFactory.getInstance());
+        intrinsics.put("@fgetc", LLVMFGetcFactory.getInstance());
+        intrinsics.put("@getc", LLVMFGetcFactory.getInstance());
+        intrinsics.put("@_IO_getc", LLVMFGetcFactory.getInstance());
+        intrinsics.put("@fgets", LLVMFGetsFactory.getInstance());
+        intrinsics.put("@fread", LLVMFReadFactory.getInstance());
+        intrinsics.put("@scanf", LLVMScanfFactory.getInstance());
+        intrinsics.put("@__isoc99_scanf", LLVMScanfFactory.getInstance());
+        intrinsics.put("@fscanf", LLVMFScanfFactory.getInstance());
+        intrinsics.put("@__isoc99_fscanf", LLVMFScanfFactory.getInstance());
     }
 
     /**
@@ -261,6 +470,45 @@ public class LLVMRuntimeIntrinsicFactory {
         intrinsics.put("@fabs", LLVMFAbsFactory.getInstance());
         intrinsics.put("@pow", LLVMPowFactory.getInstance());
         intrinsics.put("@exp", LLVMExpFactory.getInstance());
+        intrinsics.put("@sin", LLVMSinFactory.getInstance());
+        intrinsics.put("@cos", LLVMCosFactory.getInstance());
+        intrinsics.put("@tan", LLVMTanFactory.getInstance());
+        intrinsics.put("@asin", LLVMASinFactory.getInstance());
+        intrinsics.put("@acos", LLVMACosFactory.getInstance());
+        intrinsics.put("@atan", LLVMATanFactory.getInstance());
+        intrinsics.put("@atan2", LLVMATan2Factory.getInstance());
+        intrinsics.put("@sinh", LLVMSinhFactory.getInstance());
+        intrinsics.put("@cosh", LLVMCoshFactory.getInstance());
+        intrinsics.put("@tanh", LLVMTanhFactory.getInstance());
+        intrinsics.put("@trunc", LLVMTruncFactory.getInstance());
+        intrinsics.put("@fma", LLVMFmaFactory.getInstance());
+        intrinsics.put("@copysign", LLVMCopySignFactory.getInstance());
+        intrinsics.put("@fmin", LLVMFMinFactory.getInstance());
+        intrinsics.put("@fmax", LLVMFMaxFactory.getInstance());
+        intrinsics.put("@sqrtf", LLVMSqrtFFactory.getInstance());
+        intrinsics.put("@logf", LLVMLogFFactory.getInstance());
+        intrinsics.put("@log10f", LLVMLog10FFactory.getInstance());
+        intrinsics.put("@rintf", LLVMRintFFactory.getInstance());
+        intrinsics.put("@ceilf", LLVMCeilFFactory.getInstance());
+        intrinsics.put("@floorf", LLVMFloorFFactory.getInstance());
+        intrinsics.put("@fabsf", LLVMFAbsFFactory.getInstance());
+        intrinsics.put("@powf", LLVMPowFFactory.getInstance());
+        intrinsics.put("@expf", LLVMExpFFactory.getInstance());
+        intrinsics.put("@sinf", LLVMSinFFactory.getInstance());
+        intrinsics.put("@cosf", LLVMCosFFactory.getInstance());
+        intrinsics.put("@tanf", LLVMTanFFactory.getInstance());
+        intrinsics.put("@asinf", LLVMASinFFactory.getInstance());
+        intrinsics.put("@acosf", LLVMACosFFactory.getInstance());
+        intrinsics.put("@atanf", LLVMATanFFactory.getInstance());
+        intrinsics.put("@atan2f", LLVMATan2FFactory.getInstance());
+        intrinsics.put("@sinhf", LLVMSinhFFactory.getInstance());
+        intrinsics.put("@coshf", LLVMCoshFFactory.getInstance());
+        intrinsics.put("@tanhf", LLVMTanhFFactory.getInstance());
+        intrinsics.put("@truncf", LLVMTruncFFactory.getInstance());
+        intrinsics.put("@fmaf", LLVMFmaFFactory.getInstance());
+        intrinsics.put("@copysignf", LLVMCopySignFFactory.getInstance());
+        intrinsics.put("@fminf", LLVMFMinFFactory.getInstance());
+        intrinsics.put("@fmaxf", LLVMFMaxFFactory.getInstance());
     }
 
 }
@@ -84,6 +84,11 @@ public final class LLVMUnsupportedException extends RuntimeException {
         this.reason = reason;
     }
 
+    public LLVMUnsupportedException(UnsupportedReason reason, String detail) {
+        super(reason.getDescription() + ": " + detail);
+        this.reason = reason;
+    }
+
     public UnsupportedReason getReason() {
         return reason;
     }
@@ -37,6 +37,7 @@ public final class LLVMOptions {
 
     public static final SulongEngineOptionGen ENGINE = SulongEngineOptionGen.create();
     public static final SulongDebugOptionGen DEBUG = SulongDebugOptionGen.create();
+    public static final SulongOptimizationOptionGen OPTIMIZATION = SulongOptimizationOptionGen.create();
 
     static {
         registerOptions();
@@ -59,4 +59,10 @@ abstract class SulongEngineOption {
     @Option(commandLineName = "ExecutionCount", help = "Execute each program for as many times as specified by this option.", name = "executionCount") //
     protected static final Integer EXECUTION_COUNT = 1;
 
+    @Option(commandLineName = "BufferedStdio", help = "Substitutes the stdio output functions with Java implementations that buffer stdout and stderr in Java.", name = "bufferedStdio") //
+    protected static final Boolean BUFFERED_STDIO = false;
+
+    @Option(commandLineName = "NIOMemoryMappings", help = "Substitutes mmap, munmap and msync with Java file mappings owned by the context. Mappings larger than 2 GB stay native.", name = "nioMemoryMappings") //
+    protected static final Boolean NIO_MEMORY_MAPPINGS = false;
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.options;
+
+import com.oracle.truffle.llvm.option.Option;
+import com.oracle.truffle.llvm.option.OptionCategory;
+
+@OptionCategory(name = "Optimization Options")
+abstract class SulongOptimizationOption {
+
+    @Option(commandLineName = "LoopOSR", help = "Executes natural loops in their own loop nodes so that they can be compiled by on-stack replacement.", name = "loopOSR") //
+    protected static final Boolean LOOP_OSR = true;
+
+    @Option(commandLineName = "FunctionSplitBlockCount", help = "Compiles the loops of functions (or loops) with more basic blocks than this separately. Requires LoopOSR, 0 disables splitting.", name = "functionSplitBlockCount") //
+    protected static final Integer FUNCTION_SPLIT_BLOCK_COUNT = 0;
+
+    @Option(commandLineName = "InstructionFusion", help = "Folds instructions into their only use in the next instruction, such as a compare into the following branch.", name = "instructionFusion") //
+    protected static final Boolean INSTRUCTION_FUSION = true;
+
+}
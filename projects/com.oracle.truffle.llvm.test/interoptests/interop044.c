@@ -0,0 +1,12 @@
+#include <truffle.h>
+
+static int ints[] = { 1, 2, 3, 4, 5 };
+static double doubles[] = { 0.5, 1.5, 2.5 };
+
+void *get_ints() { return truffle_export_array_i(ints, 5); }
+
+void *get_doubles() { return truffle_export_array_d(doubles, 3); }
+
+int get_int(int i) { return ints[i]; }
+
+int main() { return 0; }
@@ -0,0 +1,46 @@
+#include <truffle.h>
+
+long sum_ints(void *array, int n) {
+  int native[16];
+  truffle_copy_to_native_i(array, 0, native, n);
+  long sum = 0;
+  for (int i = 0; i < n; i++) {
+    sum += native[i];
+  }
+  return sum;
+}
+
+void fill_doubles(void *array, int n) {
+  double native[16];
+  for (int i = 0; i < n; i++) {
+    native[i] = i * 0.5;
+  }
+  truffle_copy_from_native_d(array, 1, native, n);
+}
+
+int sum_bytes() {
+  void *bytes = truffle_read_n_bytes("\1\2\3\4\5", 5);
+  char native[5];
+  truffle_copy_to_native_c(bytes, 0, native, 5);
+  int sum = 0;
+  for (int i = 0; i < 5; i++) {
+    sum += native[i];
+  }
+  return sum;
+}
+
+int replace_bytes() {
+  void *bytes = truffle_read_n_bytes("abcd", 4);
+  truffle_copy_from_native_c(bytes, 1, "xy", 2);
+  char native[4];
+  truffle_copy_to_native_c(bytes, 0, native, 4);
+  return native[0] == 'a' && native[1] == 'x' && native[2] == 'y' && native[3] == 'd';
+}
+
+void copy_bytes_out_of_range() {
+  void *bytes = truffle_read_n_bytes("abc", 3);
+  char native[3];
+  truffle_copy_to_native_c(bytes, 1, native, 3);
+}
+
+int main() { return 0; }
@@ -0,0 +1,24 @@
+#include <truffle.h>
+
+int clobber(int a, int b) {
+  volatile int scratch[32];
+  for (int i = 0; i < 32; i++) {
+    scratch[i] = -1;
+  }
+  return a + b + scratch[0] + 1;
+}
+
+int main() {
+  volatile int locals[32];
+  for (int i = 0; i < 32; i++) {
+    locals[i] = i;
+  }
+  void *callback = truffle_import("callback");
+  int result = truffle_execute_i(callback, clobber);
+  for (int i = 0; i < 32; i++) {
+    if (locals[i] != i) {
+      return -1;
+    }
+  }
+  return result;
+}
@@ -0,0 +1,17 @@
+#include <truffle.h>
+
+long sum_longs(long *array, int n) {
+  long sum = 0;
+  for (int i = 0; i < n; i++) {
+    sum += array[i];
+  }
+  return sum;
+}
+
+void scale_doubles(double *array, int n, double factor) {
+  for (int i = 0; i < n; i++) {
+    array[i] = array[i] * factor;
+  }
+}
+
+int main() { return 0; }
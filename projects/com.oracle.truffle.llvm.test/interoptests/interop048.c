@@ -0,0 +1,7 @@
+#include <truffle.h>
+
+int add_ints(int a, int b) { return a + b; }
+
+double mix(char c, short s, long l, float f, double d) { return c + s + l + f + d; }
+
+int main() { return 0; }
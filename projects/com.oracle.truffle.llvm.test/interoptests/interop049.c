@@ -0,0 +1,14 @@
+#include <truffle.h>
+
+static const char *names[] = { "obj0", "obj1", "obj2", "obj3", "obj4", "obj5", "obj6", "obj7", "obj8", "obj9", "obj10", "obj11" };
+
+int main() {
+  int sum = 0;
+  for (int round = 0; round < 2; round++) {
+    for (int i = 0; i < 12; i++) {
+      void *obj = truffle_import_cached(names[i]);
+      sum += truffle_read_i(obj, "valueI");
+    }
+  }
+  return sum;
+}
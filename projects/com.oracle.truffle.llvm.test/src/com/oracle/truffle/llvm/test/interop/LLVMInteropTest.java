@@ -39,6 +39,7 @@ import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.oracle.truffle.api.interop.ArityException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.java.JavaInterop;
 import com.oracle.truffle.api.source.Source;
@@ -549,6 +550,147 @@ public final class LLVMInteropTest {
         Assert.assertEquals(0, runner.run());
     }
 
+    // typed array view of llvm memory to foreign language
+    @Test
+    public void test044() throws Exception {
+        Runner runner = new Runner("interop044");
+        try {
+            PolyglotEngine.Value getInts = runner.findGlobalSymbol("get_ints");
+            PolyglotEngine.Value getDoubles = runner.findGlobalSymbol("get_doubles");
+            PolyglotEngine.Value getInt = runner.findGlobalSymbol("get_int");
+            @SuppressWarnings("unchecked")
+            List<Number> ints = JavaInterop.asJavaObject(List.class, getInts.execute().as(TruffleObject.class));
+            Assert.assertEquals(5, ints.size());
+            Assert.assertEquals(3, ints.get(2).intValue());
+            ints.set(4, 42);
+            Assert.assertEquals(42, (int) getInt.execute(4).get());
+            @SuppressWarnings("unchecked")
+            List<Number> doubles = JavaInterop.asJavaObject(List.class, getDoubles.execute().as(TruffleObject.class));
+            Assert.assertEquals(3, doubles.size());
+            Assert.assertEquals(2.5, doubles.get(2).doubleValue(), 0);
+        } finally {
+            runner.dispose();
+        }
+    }
+
+    // bulk copies between foreign arrays and llvm memory
+    @Test
+    public void test045() throws Exception {
+        Runner runner = new Runner("interop045");
+        try {
+            PolyglotEngine.Value sumInts = runner.findGlobalSymbol("sum_ints");
+            PolyglotEngine.Value fillDoubles = runner.findGlobalSymbol("fill_doubles");
+            int[] ints = new int[]{1, 2, 3, 4, 5};
+            Number sum = (Number) sumInts.execute(JavaInterop.asTruffleObject(ints), 5).get();
+            Assert.assertEquals(15, sum.intValue());
+            double[] doubles = new double[5];
+            fillDoubles.execute(JavaInterop.asTruffleObject(doubles), 4);
+            Assert.assertArrayEquals(new double[]{0, 0, 0.5, 1, 1.5}, doubles, 0);
+            // the range is checked before any element is copied
+            assertThrows(IndexOutOfBoundsException.class, fillDoubles, JavaInterop.asTruffleObject(doubles), 5);
+            Assert.assertArrayEquals(new double[]{0, 0, 0.5, 1, 1.5}, doubles, 0);
+            assertThrows(IndexOutOfBoundsException.class, sumInts, JavaInterop.asTruffleObject(ints), 6);
+        } finally {
+            runner.dispose();
+        }
+    }
+
+    // bulk copies between byte arrays and llvm memory
+    @Test
+    public void test045Bytes() throws Exception {
+        Runner runner = new Runner("interop045");
+        try {
+            Assert.assertEquals(15, ((Number) runner.findGlobalSymbol("sum_bytes").execute().get()).intValue());
+            Assert.assertEquals(1, ((Number) runner.findGlobalSymbol("replace_bytes").execute().get()).intValue());
+            assertThrows(IndexOutOfBoundsException.class, runner.findGlobalSymbol("copy_bytes_out_of_range"));
+        } finally {
+            runner.dispose();
+        }
+    }
+
+    // calls back into llvm while an llvm frame is waiting for a foreign call
+    @Test
+    public void test046() {
+        Runner runner = new Runner("interop046");
+        runner.export(JavaInterop.asTruffleFunction(FuncEInterface.class, x -> JavaInterop.asJavaFunction(FuncIInterface.class, (TruffleObject) x).eval(3, 4)), "callback");
+        Assert.assertEquals(7, runner.run());
+    }
+
+    // indexed loads and stores on foreign arrays
+    @Test
+    public void test047() throws Exception {
+        Runner runner = new Runner("interop047");
+        try {
+            PolyglotEngine.Value sumLongs = runner.findGlobalSymbol("sum_longs");
+            PolyglotEngine.Value scaleDoubles = runner.findGlobalSymbol("scale_doubles");
+            long[] longs = new long[]{1, 2, 3, 4, 5, 6};
+            Number sum = (Number) sumLongs.execute(JavaInterop.asTruffleObject(longs), 6).get();
+            Assert.assertEquals(21, sum.longValue());
+            double[] doubles = new double[]{1, 2, 3};
+            scaleDoubles.execute(JavaInterop.asTruffleObject(doubles), 3, 0.5);
+            Assert.assertArrayEquals(new double[]{0.5, 1, 1.5}, doubles, 0);
+        } finally {
+            runner.dispose();
+        }
+    }
+
+    // repeated calls to functions with primitive parameters
+    @Test
+    public void test048() throws Exception {
+        Runner runner = new Runner("interop048");
+        try {
+            PolyglotEngine.Value addInts = runner.findGlobalSymbol("add_ints");
+            PolyglotEngine.Value mix = runner.findGlobalSymbol("mix");
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(2 * i + 1, ((Number) addInts.execute(i, i + 1).get()).intValue());
+            }
+            Number result = (Number) mix.execute((byte) 1, (short) 2, 3L, 0.5f, 0.25).get();
+            Assert.assertEquals(6.75, result.doubleValue(), 0);
+        } finally {
+            runner.dispose();
+        }
+    }
+
+    // calls with the wrong number of arguments
+    @Test
+    public void test048Arity() throws Exception {
+        Runner runner = new Runner("interop048");
+        try {
+            PolyglotEngine.Value addInts = runner.findGlobalSymbol("add_ints");
+            assertThrows(ArityException.class, addInts, 1);
+            assertThrows(ArityException.class, addInts, 1, 2, 3);
+            Assert.assertEquals(3, ((Number) addInts.execute(1, 2).get()).intValue());
+        } finally {
+            runner.dispose();
+        }
+    }
+
+    private static void assertThrows(Class<? extends Throwable> expected, PolyglotEngine.Value function, Object... arguments) {
+        try {
+            function.execute(arguments);
+        } catch (Exception e) {
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (expected.isInstance(t)) {
+                    return;
+                }
+            }
+            throw new AssertionError(e);
+        }
+        Assert.fail(expected.getSimpleName() + " expected");
+    }
+
+    // cached imports of more names than the inline cache holds
+    @Test
+    public void test049() {
+        Runner runner = new Runner("interop049");
+        for (int i = 0; i < 12; i++) {
+            ClassA a = new ClassA();
+            a.valueI = i;
+            runner.export(JavaInterop.asTruffleObject(a), "obj" + i);
+        }
+        Assert.assertEquals(132, runner.run());
+    }
+
     @Test
     public void testStrlen() throws Exception {
         Runner runner = new Runner("strlen");
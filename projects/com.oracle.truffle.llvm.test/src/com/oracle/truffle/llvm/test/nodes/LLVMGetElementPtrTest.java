@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNode.LLVMAddressOffsetGetElementPtrNode;
+import com.oracle.truffle.llvm.parser.LLVMBaseType;
+import com.oracle.truffle.llvm.parser.factories.LLVMGetElementPtrFactory;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+public class LLVMGetElementPtrTest {
+
+    private static final long BASE = 0x1000;
+
+    @Test
+    public void testZeroOffset() {
+        LLVMAddressNode gep = LLVMGetElementPtrFactory.create(LLVMBaseType.I32, base(), new LLVMI32LiteralNode(0), 4);
+        assertFolded(gep);
+        assertEquals(BASE, execute(gep));
+    }
+
+    @Test
+    public void testConstantOffset() {
+        LLVMAddressNode field = LLVMGetElementPtrFactory.create(LLVMBaseType.I64, base(), new LLVMI64LiteralNode(2), 16);
+        LLVMAddressNode element = LLVMGetElementPtrFactory.create(LLVMBaseType.I32, field, new LLVMI32LiteralNode(3), 4);
+        assertFolded(element);
+        assertEquals(BASE + 2 * 16 + 3 * 4, execute(element));
+    }
+
+    @Test
+    public void testVariableOffset() {
+        LLVMAddressNode field = LLVMGetElementPtrFactory.create(LLVMBaseType.I32, base(), new LLVMI32LiteralNode(1), 4);
+        LLVMAddressNode element = LLVMGetElementPtrFactory.create(LLVMBaseType.I32, field, new LLVMI32ArgumentNode(), 8);
+        assertFolded(element);
+        assertEquals(BASE + 4 + 5 * 8, execute(element, 5));
+        assertEquals(BASE + 4, execute(element, 0));
+        // i32 indices are sign-extended
+        assertEquals(BASE + 4 - 8, execute(element, -1));
+    }
+
+    private static LLVMAddressNode base() {
+        return new LLVMAddressLiteralNode(LLVMAddress.fromLong(BASE));
+    }
+
+    /**
+     * Checks that the whole index chain is a single node that increments the base address once.
+     */
+    private static void assertFolded(LLVMAddressNode gep) {
+        assertTrue(gep instanceof LLVMAddressOffsetGetElementPtrNode);
+        assertTrue(((LLVMAddressOffsetGetElementPtrNode) gep).getBaseAddress() instanceof LLVMAddressLiteralNode);
+    }
+
+    private static long execute(LLVMExpressionNode node, Object... arguments) {
+        CallTarget callTarget = Truffle.getRuntime().createCallTarget(new LLVMTestRootNode(node));
+        return ((LLVMAddress) callTarget.call(arguments)).getVal();
+    }
+
+    private static final class LLVMI32ArgumentNode extends LLVMI32Node {
+
+        @Override
+        public int executeI32(VirtualFrame frame) {
+            return (int) frame.getArguments()[0];
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMalloc.ManagedMallocObject;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMalloc.ManagedMallocReadNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMalloc.ManagedMallocWriteNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMalloc.Storage;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMallocFactory.ManagedMallocReadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleManagedMallocFactory.ManagedMallocWriteNodeGen;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+public class LLVMManagedMallocTest {
+
+    // more entries than fit into one word of the written bitmap
+    private static final int ENTRIES = 70;
+
+    @Test
+    public void testLongToObject() {
+        ManagedMallocObject malloc = new ManagedMallocObject(ENTRIES);
+        assertEquals(Storage.EMPTY, malloc.getStorage());
+        assertNull(read(malloc, 0));
+
+        write(malloc, 1, 42L);
+        write(malloc, ENTRIES - 1, -1L);
+        assertEquals(Storage.LONG, malloc.getStorage());
+        assertEquals(42L, read(malloc, 1));
+        assertEquals(-1L, read(malloc, ENTRIES - 1));
+        assertNull(read(malloc, 0));
+        assertNull(read(malloc, ENTRIES - 1 - Long.SIZE));
+
+        Object object = new Object();
+        write(malloc, 2, object);
+        assertEquals(Storage.OBJECT, malloc.getStorage());
+        assertEquals(42L, read(malloc, 1));
+        assertEquals(-1L, read(malloc, ENTRIES - 1));
+        assertEquals(object, read(malloc, 2));
+        for (int i = 0; i < ENTRIES; i++) {
+            if (i != 1 && i != 2 && i != ENTRIES - 1) {
+                assertNull(read(malloc, i));
+            }
+        }
+    }
+
+    @Test
+    public void testDoubleToObject() {
+        ManagedMallocObject malloc = new ManagedMallocObject(ENTRIES);
+        write(malloc, 0, 0.5);
+        assertEquals(Storage.DOUBLE, malloc.getStorage());
+        assertNull(read(malloc, 1));
+
+        write(malloc, 1, 3L);
+        assertEquals(Storage.OBJECT, malloc.getStorage());
+        assertEquals(0.5, read(malloc, 0));
+        assertEquals(3L, read(malloc, 1));
+        assertNull(read(malloc, 2));
+    }
+
+    @Test
+    public void testAddress() {
+        ManagedMallocObject malloc = new ManagedMallocObject(ENTRIES);
+        write(malloc, 3, LLVMAddress.fromLong(0x1000));
+        assertEquals(Storage.ADDRESS, malloc.getStorage());
+        assertEquals(0x1000, ((LLVMAddress) read(malloc, 3)).getVal());
+        assertNull(read(malloc, 4));
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        ManagedMallocObject malloc = new ManagedMallocObject(ENTRIES);
+        write(malloc, 0, 1L);
+        read(malloc, ENTRIES);
+    }
+
+    // shared by all accesses, so that the nodes see the storage transitions
+    private final CallTarget reader = Truffle.getRuntime().createCallTarget(new LLVMTestRootNode(new LLVMManagedReadNode()));
+    private final CallTarget writer = Truffle.getRuntime().createCallTarget(new LLVMTestRootNode(new LLVMManagedWriteNode()));
+
+    private Object read(ManagedMallocObject malloc, int index) {
+        return reader.call(malloc, index);
+    }
+
+    private void write(ManagedMallocObject malloc, int index, Object value) {
+        writer.call(malloc, index, value);
+    }
+
+    private static final class LLVMManagedReadNode extends LLVMExpressionNode {
+
+        @Child private ManagedMallocReadNode read = ManagedMallocReadNodeGen.create();
+
+        @Override
+        public Object executeGeneric(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            return read.executeRead((ManagedMallocObject) arguments[0], (int) arguments[1]);
+        }
+
+    }
+
+    private static final class LLVMManagedWriteNode extends LLVMExpressionNode {
+
+        @Child private ManagedMallocWriteNode write = ManagedMallocWriteNodeGen.create();
+
+        @Override
+        public Object executeGeneric(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            write.executeWrite((ManagedMallocObject) arguments[0], (int) arguments[1], arguments[2]);
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.nodes;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMRetNodeFactory.LLVMI32RetNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNode.LLVMAddressOffsetGetElementPtrNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMOffsetStoreNode.LLVMI32OffsetStoreNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMI32LoadNode.LLVMI32ProfilingLoadNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.load.LLVMOffsetLoadNode.LLVMI32OffsetLoadNode;
+import com.oracle.truffle.llvm.parser.LLVMBaseType;
+import com.oracle.truffle.llvm.parser.factories.LLVMBlockFactory;
+import com.oracle.truffle.llvm.parser.factories.LLVMBranchFactory;
+import com.oracle.truffle.llvm.parser.factories.LLVMFrameReadWriteFactory;
+import com.oracle.truffle.llvm.parser.factories.LLVMGetElementPtrFactory;
+import com.oracle.truffle.llvm.parser.factories.LLVMMemoryReadWriteFactory;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Checks that the instruction fusion turns loads and stores through a getelementptr into offset
+ * loads and stores, also if the getelementptr has several uses.
+ */
+public class LLVMOffsetAccessFusionTest {
+
+    private static final int INDEX = 2;
+    private static final int LOADED_VALUE = 41;
+    private static final int STORED_VALUE = 7;
+
+    private final FrameDescriptor frameDescriptor = new FrameDescriptor();
+    private final FrameSlot baseSlot = frameDescriptor.addFrameSlot("%base", FrameSlotKind.Object);
+    private final FrameSlot indexSlot = frameDescriptor.addFrameSlot("%i", FrameSlotKind.Int);
+    private final FrameSlot elementSlot = frameDescriptor.addFrameSlot("%p", FrameSlotKind.Object);
+    private final FrameSlot fieldSlot = frameDescriptor.addFrameSlot("%q", FrameSlotKind.Object);
+    private final FrameSlot loadedSlot = frameDescriptor.addFrameSlot("%x", FrameSlotKind.Int);
+    private final FrameSlot returnSlot = frameDescriptor.addFrameSlot("<return>", FrameSlotKind.Int);
+
+    @Test
+    public void testFusion() {
+        LLVMAddress memory = LLVMHeap.allocateMemory(4 * Integer.BYTES);
+        try {
+            LLVMMemory.putI32(memory.increment(INDEX * Integer.BYTES), LOADED_VALUE);
+            LLVMExpressionNode function = createFunction(memory);
+
+            // %p is used by a load and a store in its block, and is copied into both
+            assertEquals(1, NodeUtil.findAllNodeInstances(function, LLVMI32OffsetLoadNode.class).size());
+            assertEquals(1, NodeUtil.findAllNodeInstances(function, LLVMI32OffsetStoreNode.class).size());
+            // %q is also used in the next block, so it is not moved
+            assertEquals(1, NodeUtil.findAllNodeInstances(function, LLVMI32ProfilingLoadNode.class).size());
+            assertEquals(1, NodeUtil.findAllNodeInstances(function, LLVMAddressOffsetGetElementPtrNode.class).size());
+
+            assertEquals(LOADED_VALUE, execute(function));
+            assertEquals(STORED_VALUE, LLVMMemory.getI32(memory.increment(INDEX * Integer.BYTES)));
+        } finally {
+            LLVMHeap.freeMemory(memory);
+        }
+    }
+
+    /**
+     * Builds the nodes of the following function, which returns the value that was loaded through
+     * %p before the store through %p.
+     *
+     * <pre>
+     * 0:  %base = address of memory
+     *     %i = 2
+     *     %p = getelementptr i32, i32* %base, i32 %i
+     *     %x = load i32, i32* %p
+     *     %q = getelementptr i32, i32* %base, i32 3
+     *     store i32 7, i32* %p
+     *     store i32 %x, i32* %q
+     *     br 1
+     * 1:  %y = load i32, i32* %q
+     *     ret %y
+     * </pre>
+     */
+    private LLVMExpressionNode createFunction(LLVMAddress memory) {
+        LLVMNode[] entry = {
+                        write(LLVMBaseType.ADDRESS, new LLVMAddressLiteralNode(memory), baseSlot),
+                        write(LLVMBaseType.I32, new LLVMI32LiteralNode(INDEX), indexSlot),
+                        write(LLVMBaseType.ADDRESS, LLVMGetElementPtrFactory.create(LLVMBaseType.I32, address(baseSlot), read(LLVMBaseType.I32, indexSlot), Integer.BYTES), elementSlot),
+                        write(LLVMBaseType.I32, LLVMMemoryReadWriteFactory.createLoad(LLVMBaseType.I32, address(elementSlot), 0), loadedSlot),
+                        write(LLVMBaseType.ADDRESS, LLVMGetElementPtrFactory.create(LLVMBaseType.I32, address(baseSlot), new LLVMI32LiteralNode(INDEX + 1), Integer.BYTES), fieldSlot),
+                        LLVMMemoryReadWriteFactory.createStore(address(elementSlot), new LLVMI32LiteralNode(STORED_VALUE), LLVMBaseType.I32, Integer.BYTES),
+                        LLVMMemoryReadWriteFactory.createStore(address(fieldSlot), read(LLVMBaseType.I32, loadedSlot), LLVMBaseType.I32, Integer.BYTES)
+        };
+        LLVMBasicBlockNode[] blocks = {
+                        new LLVMBasicBlockNode(entry, LLVMBranchFactory.createUnconditionalBranch(1, new LLVMNode[0]), 0, "entry"),
+                        new LLVMBasicBlockNode(new LLVMNode[0], LLVMI32RetNodeGen.create((LLVMI32Node) LLVMMemoryReadWriteFactory.createLoad(LLVMBaseType.I32, address(fieldSlot), 0), returnSlot), 1, "exit")
+        };
+        LLVMStackFrameNuller[][] nullers = new LLVMStackFrameNuller[blocks.length][0];
+        return LLVMBlockFactory.createFunctionBlock(frameDescriptor, returnSlot, blocks, nullers, nullers);
+    }
+
+    private static LLVMNode write(LLVMBaseType type, LLVMExpressionNode value, FrameSlot slot) {
+        return LLVMFrameReadWriteFactory.createFrameWrite(type, value, slot);
+    }
+
+    private static LLVMExpressionNode read(LLVMBaseType type, FrameSlot slot) {
+        return LLVMFrameReadWriteFactory.createFrameRead(type, slot);
+    }
+
+    private static LLVMAddressNode address(FrameSlot slot) {
+        return (LLVMAddressNode) read(LLVMBaseType.ADDRESS, slot);
+    }
+
+    private Object execute(LLVMExpressionNode function) {
+        return Truffle.getRuntime().createCallTarget(new LLVMTestRootNode(function, frameDescriptor)).call();
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.nodes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMArgNodeFactory.LLVMDoubleArgNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMArgNodeFactory.LLVMI32ArgNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMArgNodeFactory.LLVMI64ArgNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode.LLVMResolvedDirectCallNode;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleGetArgFactory;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMDoubleLiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+
+public class LLVMPrimitiveArgumentsTest {
+
+    private static final LLVMRuntimeType[] PARAMETER_TYPES = {LLVMRuntimeType.I32, LLVMRuntimeType.DOUBLE, LLVMRuntimeType.I64};
+
+    // outside of the box caches, so that each boxed argument is a new object
+    private static final int I32_VALUE = 123456789;
+    private static final double DOUBLE_VALUE = 2.5e10;
+    private static final long I64_VALUE = 98765432123L;
+
+    @Test
+    public void testCarrierLayout() {
+        LLVMCaptureNode capture = new LLVMCaptureNode(PARAMETER_TYPES.length);
+        CallTarget callee = createCallee(capture, true);
+        Object[] decoded = (Object[]) createCaller(callee).call();
+
+        Object[] arguments = capture.arguments;
+        assertTrue(LLVMCallNode.hasPrimitiveArguments(arguments));
+        assertEquals(LLVMCallNode.ARG_START_INDEX + 1, arguments.length);
+        long[] bits = {I32_VALUE, Double.doubleToRawLongBits(DOUBLE_VALUE), I64_VALUE};
+        assertArrayEquals(bits, (long[]) arguments[LLVMCallNode.ARG_START_INDEX]);
+        assertArrayEquals(new Object[]{I32_VALUE, DOUBLE_VALUE, I64_VALUE}, decoded);
+    }
+
+    @Test
+    public void testBoxedLayout() {
+        LLVMCaptureNode capture = new LLVMCaptureNode(PARAMETER_TYPES.length);
+        CallTarget callee = createCallee(capture, false);
+        Object[] decoded = (Object[]) createCaller(callee).call();
+
+        Object[] arguments = capture.arguments;
+        assertFalse(LLVMCallNode.hasPrimitiveArguments(arguments));
+        assertEquals(LLVMCallNode.ARG_START_INDEX + PARAMETER_TYPES.length, arguments.length);
+        assertArrayEquals(new Object[]{I32_VALUE, DOUBLE_VALUE, I64_VALUE}, decoded);
+    }
+
+    @Test
+    public void testNarrowArgumentIsBoxed() {
+        // the carrier arrays would take more space than the box of a single int
+        LLVMCaptureNode capture = new LLVMCaptureNode(1);
+        CallTarget callee = createCallee(capture, true, new LLVMRuntimeType[]{LLVMRuntimeType.I32});
+        LLVMExpressionNode[] args = {new LLVMAddressLiteralNode(LLVMAddress.fromLong(0)), new LLVMI32LiteralNode(I32_VALUE)};
+        Object[] decoded = (Object[]) Truffle.getRuntime().createCallTarget(new LLVMTestRootNode(new LLVMResolvedDirectCallNode(callee, args))).call();
+
+        assertFalse(LLVMCallNode.hasPrimitiveArguments(capture.arguments));
+        assertEquals(LLVMCallNode.ARG_START_INDEX + 1, capture.arguments.length);
+        assertArrayEquals(new Object[]{I32_VALUE}, decoded);
+    }
+
+    @Test
+    public void testSum() {
+        long expected = I32_VALUE + (long) DOUBLE_VALUE + I64_VALUE;
+        assertEquals(expected, createCaller(createCallee(new LLVMSumNode(), true)).call());
+        assertEquals(expected, createCaller(createCallee(new LLVMSumNode(), false)).call());
+    }
+
+    private static CallTarget createCallee(LLVMExpressionNode body, boolean primitiveArguments) {
+        return createCallee(body, primitiveArguments, PARAMETER_TYPES);
+    }
+
+    private static CallTarget createCallee(LLVMExpressionNode body, boolean primitiveArguments, LLVMRuntimeType[] parameterTypes) {
+        return Truffle.getRuntime().createCallTarget(
+                        new LLVMFunctionStartNode(body, new LLVMNode[0], new LLVMNode[0], null, new FrameDescriptor(), "callee", new LLVMStackFrameNuller[0], primitiveArguments,
+                                        parameterTypes));
+    }
+
+    private static CallTarget createCaller(CallTarget callee) {
+        LLVMExpressionNode[] args = {new LLVMAddressLiteralNode(LLVMAddress.fromLong(0)), new LLVMI32LiteralNode(I32_VALUE), new LLVMDoubleLiteralNode(DOUBLE_VALUE),
+                        new LLVMI64LiteralNode(I64_VALUE)};
+        return Truffle.getRuntime().createCallTarget(new LLVMTestRootNode(new LLVMResolvedDirectCallNode(callee, args)));
+    }
+
+    /**
+     * Records the frame arguments and reads them back through <code>truffle_get_arg</code>.
+     */
+    private static final class LLVMCaptureNode extends LLVMExpressionNode {
+
+        @Children private final LLVMExpressionNode[] getArgs;
+
+        private Object[] arguments;
+
+        LLVMCaptureNode(int argumentCount) {
+            getArgs = new LLVMExpressionNode[argumentCount];
+            for (int i = 0; i < argumentCount; i++) {
+                getArgs[i] = LLVMTruffleGetArgFactory.create(new LLVMI32LiteralNode(i));
+            }
+        }
+
+        @Override
+        public Object executeGeneric(VirtualFrame frame) {
+            arguments = frame.getArguments();
+            Object[] values = new Object[getArgs.length];
+            for (int i = 0; i < getArgs.length; i++) {
+                values[i] = getArgs[i].executeGeneric(frame);
+            }
+            return values;
+        }
+
+    }
+
+    /**
+     * Reads the arguments through the argument nodes, like the function bodies of the parser.
+     */
+    private static final class LLVMSumNode extends LLVMI64Node {
+
+        @Child private LLVMI32Node i32 = LLVMI32ArgNodeGen.create(LLVMCallNode.ARG_START_INDEX);
+        @Child private LLVMDoubleNode doubleValue = LLVMDoubleArgNodeGen.create(LLVMCallNode.ARG_START_INDEX + 1);
+        @Child private LLVMI64Node i64 = LLVMI64ArgNodeGen.create(LLVMCallNode.ARG_START_INDEX + 2);
+
+        @Override
+        public long executeI64(VirtualFrame frame) {
+            return i32.executeI32(frame) + (long) doubleValue.executeDouble(frame) + i64.executeI64(frame);
+        }
+
+    }
+
+}
@@ -53,9 +53,32 @@ public final class LLVMHeap extends LLVMMemory {
         return LLVMAddress.fromLong(allocateMemory);
     }
 
+    /**
+     * Small blocks are cleared with {@link sun.misc.Unsafe#setMemory}. Large blocks are allocated
+     * with <code>calloc</code>, which gets them as fresh zero pages from the operating system
+     * without touching them.
+     */
     public static LLVMAddress allocateZeroedMemory(long l) {
+        if (l >= CALLOC_THRESHOLD) {
+            return LLVMAddress.fromLong((long) callocHandle.call(1L, l));
+        }
         long allocateMemory = allocateMemory(l).getVal();
-        UNSAFE.setMemory(allocateMemory, l, (byte) 0);
+        if (allocateMemory != 0) {
+            UNSAFE.setMemory(allocateMemory, l, (byte) 0);
+        }
+        return LLVMAddress.fromLong(allocateMemory);
+    }
+
+    /**
+     * Resizes a block of the C heap, which grows it in place if the following memory is free.
+     */
+    public static LLVMAddress reallocateMemory(LLVMAddress addr, long size) {
+        long reallocateMemory = (long) reallocHandle.call(addr.getVal(), size);
+        return LLVMAddress.fromLong(reallocateMemory);
+    }
+
+    public static LLVMAddress allocateAlignedMemory(long alignment, long size) {
+        long allocateMemory = (long) memalignHandle.call(alignment, size);
         return LLVMAddress.fromLong(allocateMemory);
     }
 
@@ -88,6 +111,12 @@ public final class LLVMHeap extends LLVMMemory {
     private static final NativeFunctionHandle memCopyHandle;
     private static final NativeFunctionHandle freeHandle;
     private static final NativeFunctionHandle mallocHandle;
+    private static final NativeFunctionHandle callocHandle;
+    private static final NativeFunctionHandle reallocHandle;
+    private static final NativeFunctionHandle memalignHandle;
+
+    // the default threshold above which glibc serves allocations with fresh mappings
+    private static final long CALLOC_THRESHOLD = 128 * 1024;
 
     static {
         final NativeFunctionInterface nfi = NativeFunctionInterfaceRuntime.getNativeFunctionInterface();
@@ -96,6 +125,9 @@ public final class LLVMHeap extends LLVMMemory {
         memSetHandle = nfi.getFunctionHandle("memset", void.class, long.class, int.class, long.class);
         freeHandle = nfi.getFunctionHandle("free", void.class, long.class);
         mallocHandle = nfi.getFunctionHandle("malloc", long.class, long.class);
+        callocHandle = nfi.getFunctionHandle("calloc", long.class, long.class, long.class);
+        reallocHandle = nfi.getFunctionHandle("realloc", long.class, long.class, long.class);
+        memalignHandle = nfi.getFunctionHandle("memalign", long.class, long.class, long.class);
     }
 
     public static void memMove(LLVMAddress dest, LLVMAddress source, long length) {
@@ -75,6 +75,11 @@ public abstract class LLVMMemory {
         return UNSAFE.getByte(LLVMMemory.extractAddr(addr));
     }
 
+    public static byte getI8(long ptr) {
+        assert ptr != 0;
+        return UNSAFE.getByte(ptr);
+    }
+
     public static short getI16(LLVMAddress addr) {
         return UNSAFE.getShort(LLVMMemory.extractAddr(addr));
     }
@@ -83,6 +88,11 @@ public abstract class LLVMMemory {
         return UNSAFE.getInt(LLVMMemory.extractAddr(addr));
     }
 
+    public static int getI32(long ptr) {
+        assert ptr != 0;
+        return UNSAFE.getInt(ptr);
+    }
+
     public static LLVMIVarBit getIVarBit(LLVMAddress addr, int bitWidth) {
         if (bitWidth % Byte.SIZE != 0) {
             CompilerDirectives.transferToInterpreter();
@@ -102,14 +112,29 @@ public abstract class LLVMMemory {
         return UNSAFE.getLong(LLVMMemory.extractAddr(addr));
     }
 
+    public static long getI64(long ptr) {
+        assert ptr != 0;
+        return UNSAFE.getLong(ptr);
+    }
+
     public static float getFloat(LLVMAddress addr) {
         return UNSAFE.getFloat(LLVMMemory.extractAddr(addr));
     }
 
+    public static float getFloat(long ptr) {
+        assert ptr != 0;
+        return UNSAFE.getFloat(ptr);
+    }
+
     public static double getDouble(LLVMAddress addr) {
         return UNSAFE.getDouble(LLVMMemory.extractAddr(addr));
     }
 
+    public static double getDouble(long ptr) {
+        assert ptr != 0;
+        return UNSAFE.getDouble(ptr);
+    }
+
     public static LLVM80BitFloat get80BitFloat(LLVMAddress addr) {
         byte[] bytes = new byte[LLVM80BitFloat.BYTE_WIDTH];
         LLVMAddress currentAddress = addr;
@@ -137,6 +162,11 @@ public abstract class LLVMMemory {
         UNSAFE.putByte(extractAddr(addr), value);
     }
 
+    public static void putI8(long ptr, byte value) {
+        assert ptr != 0;
+        UNSAFE.putByte(ptr, value);
+    }
+
     public static void putI16(LLVMAddress addr, short value) {
         UNSAFE.putShort(extractAddr(addr), value);
     }
@@ -145,10 +175,20 @@ public abstract class LLVMMemory {
         UNSAFE.putInt(extractAddr(addr), value);
     }
 
+    public static void putI32(long ptr, int value) {
+        assert ptr != 0;
+        UNSAFE.putInt(ptr, value);
+    }
+
     public static void putI64(LLVMAddress addr, long value) {
         UNSAFE.putLong(extractAddr(addr), value);
     }
 
+    public static void putI64(long ptr, long value) {
+        assert ptr != 0;
+        UNSAFE.putLong(ptr, value);
+    }
+
     public static void putIVarBit(LLVMAddress addr, LLVMIVarBit value) {
         byte[] bytes = value.getBytes();
         LLVMAddress currentAddress = addr;
@@ -170,10 +210,20 @@ public abstract class LLVMMemory {
         UNSAFE.putFloat(extractAddr(addr), value);
     }
 
+    public static void putFloat(long ptr, float value) {
+        assert ptr != 0;
+        UNSAFE.putFloat(ptr, value);
+    }
+
     public static void putDouble(LLVMAddress addr, double value) {
         UNSAFE.putDouble(extractAddr(addr), value);
     }
 
+    public static void putDouble(long ptr, double value) {
+        assert ptr != 0;
+        UNSAFE.putDouble(ptr, value);
+    }
+
     public static void put80BitFloat(LLVMAddress addr, LLVM80BitFloat value) {
         putByteArray(addr, value.getBytes());
     }
@@ -210,6 +260,22 @@ public abstract class LLVMMemory {
         return LLVMDoubleVector.createDoubleVector(addr, size);
     }
 
+    /**
+     * Copies <code>length</code> bytes starting at <code>addr</code> into the Java array.
+     */
+    public static void getBytes(LLVMAddress addr, byte[] target, int offset, int length) {
+        assert offset >= 0 && length >= 0 && offset + length <= target.length;
+        UNSAFE.copyMemory(null, extractAddr(addr), target, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset, length);
+    }
+
+    /**
+     * Copies <code>length</code> bytes from the Java array to the memory at <code>addr</code>.
+     */
+    public static void putBytes(LLVMAddress addr, byte[] source, int offset, int length) {
+        assert offset >= 0 && length >= 0 && offset + length <= source.length;
+        UNSAFE.copyMemory(source, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset, null, extractAddr(addr), length);
+    }
+
     public static void putStruct(LLVMAddress address, LLVMAddress value, int structSize) {
         LLVMHeap.memCopy(address, value, structSize);
     }
@@ -35,7 +35,8 @@ import com.oracle.truffle.llvm.runtime.options.LLVMOptions;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 
 /**
- * Implements a stack that grows from the top to the bottom.
+ * Implements a stack that grows from the top to the bottom. The stack belongs to the thread that
+ * allocated it, which is the only thread that may run Sulong code on it.
  */
 public final class LLVMStack extends LLVMMemory {
 
@@ -45,7 +46,9 @@ public final class LLVMStack extends LLVMMemory {
 
     @CompilationFinal private long lowerBounds;
     @CompilationFinal private long upperBounds;
+    @CompilationFinal private Thread ownerThread;
     private boolean isFreed = true;
+    private long foreignCallStackPointer;
 
     /**
      * Allocates the stack memory.
@@ -65,6 +68,7 @@ public final class LLVMStack extends LLVMMemory {
         final long stackAllocation = UNSAFE.allocateMemory(stackSize);
         lowerBounds = stackAllocation;
         upperBounds = stackAllocation + stackSize;
+        ownerThread = Thread.currentThread();
         isFreed = false;
         return LLVMAddress.fromLong(upperBounds);
     }
@@ -84,6 +88,8 @@ public final class LLVMStack extends LLVMMemory {
         UNSAFE.freeMemory(lowerBounds);
         lowerBounds = 0;
         upperBounds = 0;
+        foreignCallStackPointer = 0;
+        ownerThread = null;
         isFreed = true;
     }
 
@@ -143,4 +149,37 @@ public final class LLVMStack extends LLVMMemory {
         return LLVMAddress.fromLong(upperBounds);
     }
 
+    /**
+     * Records the stack pointer of a Sulong frame that calls into another language, so that
+     * functions that the other language calls back into allocate their frames below it.
+     *
+     * @return the previously recorded stack pointer, to be restored by
+     *         {@link #leaveForeignCall(long)}
+     */
+    public long enterForeignCall(LLVMAddress stackPointer) {
+        long previous = foreignCallStackPointer;
+        foreignCallStackPointer = stackPointer.getVal();
+        return previous;
+    }
+
+    public void leaveForeignCall(long previousStackPointer) {
+        foreignCallStackPointer = previousStackPointer;
+    }
+
+    /**
+     * The recorded stack pointer is not per thread, so calls into Sulong are only accepted from the
+     * thread that owns the stack.
+     *
+     * @return the stack pointer for a call from another language into Sulong, which is the top of
+     *         the stack unless a Sulong frame is waiting for a call into another language
+     * @throws IllegalStateException if the current thread does not own the stack
+     */
+    public LLVMAddress getForeignEntryStackPointer() {
+        if (Thread.currentThread() != ownerThread) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalStateException("Sulong code can only be called on the thread that runs the program, not on " + Thread.currentThread());
+        }
+        return LLVMAddress.fromLong(foreignCallStackPointer == 0 ? upperBounds : foreignCallStackPointer);
+    }
+
 }
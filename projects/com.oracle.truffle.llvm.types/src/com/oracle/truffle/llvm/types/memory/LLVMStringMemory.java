@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.memory;
+
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+/**
+ * Implements the scanning and copying functions of string.h directly on native memory. Strings
+ * are scanned a word at a time once the address is word aligned, so that the aligned reads never
+ * cross a page boundary. The bit tricks assume little-endian memory.
+ */
+public final class LLVMStringMemory extends LLVMMemory {
+
+    private static final int WORD_SIZE = Long.BYTES;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private LLVMStringMemory() {
+    }
+
+    /**
+     * Returns a mask in which the lowest set bit marks the first zero byte of the word.
+     */
+    private static long zeroBytes(long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    private static int firstMarkedByte(long mask) {
+        return Long.numberOfTrailingZeros(mask) / Byte.SIZE;
+    }
+
+    private static long broadcast(byte value) {
+        return Byte.toUnsignedLong(value) * LOW_BITS;
+    }
+
+    private static boolean isAligned(long address) {
+        return (address & (WORD_SIZE - 1)) == 0;
+    }
+
+    private static long toLength(long size) {
+        // size_t values beyond Long.MAX_VALUE can never be reached
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    public static long strlen(LLVMAddress string) {
+        long start = extractAddr(string);
+        long address = start;
+        while (!isAligned(address)) {
+            if (UNSAFE.getByte(address) == 0) {
+                return address - start;
+            }
+            address++;
+        }
+        while (true) {
+            long zeros = zeroBytes(UNSAFE.getLong(address));
+            if (zeros != 0) {
+                return address - start + firstMarkedByte(zeros);
+            }
+            address += WORD_SIZE;
+        }
+    }
+
+    private static long strnlen(long start, long maxLength) {
+        long i = 0;
+        while (i < maxLength && !isAligned(start + i)) {
+            if (UNSAFE.getByte(start + i) == 0) {
+                return i;
+            }
+            i++;
+        }
+        while (maxLength - i >= WORD_SIZE) {
+            long zeros = zeroBytes(UNSAFE.getLong(start + i));
+            if (zeros != 0) {
+                return i + firstMarkedByte(zeros);
+            }
+            i += WORD_SIZE;
+        }
+        while (i < maxLength) {
+            if (UNSAFE.getByte(start + i) == 0) {
+                return i;
+            }
+            i++;
+        }
+        return maxLength;
+    }
+
+    public static int strcmp(LLVMAddress str1, LLVMAddress str2) {
+        return compareStrings(extractAddr(str1), extractAddr(str2), Long.MAX_VALUE);
+    }
+
+    public static int strncmp(LLVMAddress str1, LLVMAddress str2, long n) {
+        return compareStrings(extractAddr(str1), extractAddr(str2), toLength(n));
+    }
+
+    private static int compareStrings(long str1, long str2, long maxLength) {
+        long i = 0;
+        if (isAligned(str1 ^ str2)) {
+            while (i < maxLength && !isAligned(str1 + i)) {
+                int c1 = Byte.toUnsignedInt(UNSAFE.getByte(str1 + i));
+                int c2 = Byte.toUnsignedInt(UNSAFE.getByte(str2 + i));
+                if (c1 != c2 || c1 == 0) {
+                    return c1 - c2;
+                }
+                i++;
+            }
+            while (maxLength - i >= WORD_SIZE) {
+                long word1 = UNSAFE.getLong(str1 + i);
+                if (word1 != UNSAFE.getLong(str2 + i) || zeroBytes(word1) != 0) {
+                    break;
+                }
+                i += WORD_SIZE;
+            }
+        }
+        while (i < maxLength) {
+            int c1 = Byte.toUnsignedInt(UNSAFE.getByte(str1 + i));
+            int c2 = Byte.toUnsignedInt(UNSAFE.getByte(str2 + i));
+            if (c1 != c2 || c1 == 0) {
+                return c1 - c2;
+            }
+            i++;
+        }
+        return 0;
+    }
+
+    public static int memcmp(LLVMAddress ptr1, LLVMAddress ptr2, long n) {
+        long address1 = extractAddrNullPointerAllowed(ptr1);
+        long address2 = extractAddrNullPointerAllowed(ptr2);
+        long length = toLength(n);
+        long i = 0;
+        while (length - i >= WORD_SIZE && UNSAFE.getLong(address1 + i) == UNSAFE.getLong(address2 + i)) {
+            i += WORD_SIZE;
+        }
+        while (i < length) {
+            int c1 = Byte.toUnsignedInt(UNSAFE.getByte(address1 + i));
+            int c2 = Byte.toUnsignedInt(UNSAFE.getByte(address2 + i));
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+            i++;
+        }
+        return 0;
+    }
+
+    public static LLVMAddress memchr(LLVMAddress ptr, int value, long n) {
+        long start = extractAddrNullPointerAllowed(ptr);
+        long length = toLength(n);
+        byte c = (byte) value;
+        long i = 0;
+        while (i < length && !isAligned(start + i)) {
+            if (UNSAFE.getByte(start + i) == c) {
+                return LLVMAddress.fromLong(start + i);
+            }
+            i++;
+        }
+        long pattern = broadcast(c);
+        while (length - i >= WORD_SIZE) {
+            long matches = zeroBytes(UNSAFE.getLong(start + i) ^ pattern);
+            if (matches != 0) {
+                return LLVMAddress.fromLong(start + i + firstMarkedByte(matches));
+            }
+            i += WORD_SIZE;
+        }
+        while (i < length) {
+            if (UNSAFE.getByte(start + i) == c) {
+                return LLVMAddress.fromLong(start + i);
+            }
+            i++;
+        }
+        return LLVMAddress.NULL_POINTER;
+    }
+
+    public static LLVMAddress strchr(LLVMAddress string, int value) {
+        long address = strchr(extractAddr(string), (byte) value);
+        return address == 0 ? LLVMAddress.NULL_POINTER : LLVMAddress.fromLong(address);
+    }
+
+    private static long strchr(long start, byte c) {
+        long address = start;
+        while (!isAligned(address)) {
+            byte current = UNSAFE.getByte(address);
+            if (current == c) {
+                return address;
+            } else if (current == 0) {
+                return 0;
+            }
+            address++;
+        }
+        long pattern = broadcast(c);
+        while (true) {
+            long word = UNSAFE.getLong(address);
+            long marks = zeroBytes(word) | zeroBytes(word ^ pattern);
+            if (marks != 0) {
+                long found = address + firstMarkedByte(marks);
+                // the first marked byte is either the character or the terminator
+                return UNSAFE.getByte(found) == c ? found : 0;
+            }
+            address += WORD_SIZE;
+        }
+    }
+
+    public static LLVMAddress strstr(LLVMAddress haystack, LLVMAddress needle) {
+        long haystackAddress = extractAddr(haystack);
+        long needleAddress = extractAddr(needle);
+        long needleLength = strlen(needle);
+        if (needleLength == 0) {
+            return haystack;
+        }
+        byte first = UNSAFE.getByte(needleAddress);
+        long candidate = strchr(haystackAddress, first);
+        while (candidate != 0) {
+            if (compareStrings(candidate, needleAddress, needleLength) == 0) {
+                return LLVMAddress.fromLong(candidate);
+            }
+            candidate = strchr(candidate + 1, first);
+        }
+        return LLVMAddress.NULL_POINTER;
+    }
+
+    public static LLVMAddress strcpy(LLVMAddress destination, LLVMAddress source) {
+        copy(extractAddr(destination), extractAddr(source), strlen(source) + 1);
+        return destination;
+    }
+
+    public static LLVMAddress strncpy(LLVMAddress destination, LLVMAddress source, long n) {
+        long length = toLength(n);
+        if (length == 0) {
+            return destination;
+        }
+        long target = extractAddr(destination);
+        long sourceAddress = extractAddr(source);
+        long copied = strnlen(sourceAddress, length);
+        copy(target, sourceAddress, copied);
+        UNSAFE.setMemory(target + copied, length - copied, (byte) 0);
+        return destination;
+    }
+
+    private static void copy(long target, long source, long length) {
+        long i = 0;
+        while (length - i >= WORD_SIZE) {
+            UNSAFE.putLong(target + i, UNSAFE.getLong(source + i));
+            i += WORD_SIZE;
+        }
+        while (i < length) {
+            UNSAFE.putByte(target + i, UNSAFE.getByte(source + i));
+            i++;
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+#include <jni.h>
+#include "native.h"
+
+#include <stdlib.h>
+
+/*
+ * A fixed pool of native functions that Sulong hands out as pointers to its own functions. Each
+ * stub takes the six integer argument registers of the x86_64 calling convention and forwards them
+ * with its index to LLVMUpcallStubs.upcall, which calls the assigned function.
+ */
+
+#define STUB_COUNT 64
+
+static JavaVM *vm;
+static jclass stubsClass;
+static jmethodID upcallMethod;
+
+static jlong upcall(jint index, jlong a0, jlong a1, jlong a2, jlong a3, jlong a4, jlong a5) {
+  JNIEnv *env;
+  bool attached = false;
+  if (vm->GetEnv((void **)&env, JNI_VERSION_1_6) != JNI_OK) {
+    if (vm->AttachCurrentThread((void **)&env, NULL) != JNI_OK) {
+      abort();
+    }
+    attached = true;
+  }
+  jlong result = env->CallStaticLongMethod(stubsClass, upcallMethod, index, a0, a1, a2, a3, a4, a5);
+  if (env->ExceptionCheck()) {
+    // the Java side records exceptions of the called function, so this is an internal error or a
+    // callback on a thread that does not own the stack of the context
+    env->ExceptionDescribe();
+    abort();
+  }
+  if (attached) {
+    vm->DetachCurrentThread();
+  }
+  return result;
+}
+
+template <int I> static jlong stub(jlong a0, jlong a1, jlong a2, jlong a3, jlong a4, jlong a5) {
+  return upcall(I, a0, a1, a2, a3, a4, a5);
+}
+
+template <int I> struct StubTable {
+  static void fill(void **table) {
+    table[I - 1] = (void *)&stub<I - 1>;
+    StubTable<I - 1>::fill(table);
+  }
+};
+
+template <> struct StubTable<0> {
+  static void fill(void **table) {}
+};
+
+static void *stubs[STUB_COUNT];
+
+JNIEXPORT void JNICALL Java_com_oracle_truffle_llvm_nodes_impl_func_LLVMUpcallStubs_initialize(JNIEnv *env, jclass c) {
+  env->GetJavaVM(&vm);
+  stubsClass = (jclass)env->NewGlobalRef(c);
+  upcallMethod = env->GetStaticMethodID(c, "upcall", "(IJJJJJJ)J");
+  StubTable<STUB_COUNT>::fill(stubs);
+}
+
+JNIEXPORT jint JNICALL Java_com_oracle_truffle_llvm_nodes_impl_func_LLVMUpcallStubs_getStubCount(JNIEnv *env, jclass c) {
+  return STUB_COUNT;
+}
+
+JNIEXPORT jlong JNICALL Java_com_oracle_truffle_llvm_nodes_impl_func_LLVMUpcallStubs_getStubAddress(JNIEnv *env, jclass c, jint index) {
+  return (jlong)stubs[index];
+}
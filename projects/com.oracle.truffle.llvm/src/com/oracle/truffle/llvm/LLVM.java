@@ -244,6 +244,9 @@ public class LLVM {
                 for (RootCallTarget destructor : context.getGlobalVarDeallocs()) {
                     destructor.call();
                 }
+                context.getStdio().flush();
+                context.getMemoryMappings().unmapAll();
+                context.getUpcallStubs().releaseAll();
                 context.getStack().free();
             }
         };
@@ -0,0 +1,54 @@
+#define _GNU_SOURCE
+#include <search.h>
+
+/*
+ * Passes Sulong functions to native library functions that call them back.
+ */
+
+static int values[] = { 7, 3, 9, 1, 5 };
+static int comparisons;
+static int visited;
+static int sum;
+static int released;
+
+static int compare(const void *a, const void *b) {
+  comparisons++;
+  return *(const int *)a - *(const int *)b;
+}
+
+static void visit(const void *node, VISIT order, int depth) {
+  if (order == postorder || order == leaf) {
+    visited++;
+    sum += **(const int **)node;
+  }
+}
+
+static void release(void *node) { released++; }
+
+int main() {
+  size_t count = 5;
+  int key = 9;
+  int *found = lfind(&key, values, &count, sizeof(int), compare);
+  if (found != &values[2] || comparisons != 3) {
+    return 1;
+  }
+  void *root = 0;
+  for (int i = 0; i < 5; i++) {
+    if (tsearch(&values[i], &root, compare) == 0) {
+      return 2;
+    }
+  }
+  int **node = tfind(&key, &root, compare);
+  if (node == 0 || *node != &values[2]) {
+    return 3;
+  }
+  twalk(root, visit);
+  if (visited != 5 || sum != 25) {
+    return 4;
+  }
+  tdestroy(root, release);
+  if (released != 5) {
+    return 5;
+  }
+  return 0;
+}
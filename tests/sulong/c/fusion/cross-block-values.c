@@ -0,0 +1,31 @@
+volatile int input[] = { 4, 17, -2, 8, 31, 6 };
+
+__attribute__((noinline)) int branchOnLoad(int *array, int n) {
+  int result = 0;
+  for (int i = 0; i < n; i++) {
+    int value = array[i] * 3;
+    if (array[i] > 5) {
+      result += value;
+    } else {
+      result -= value;
+    }
+  }
+  return result;
+}
+
+__attribute__((noinline)) int useAfterLoop(int *array, int n) {
+  int first = array[0] + array[1];
+  int last = 0;
+  for (int i = 0; i < n; i++) {
+    last = array[i] - first;
+  }
+  return first * 2 + last;
+}
+
+int main() {
+  int values[6];
+  for (int i = 0; i < 6; i++) {
+    values[i] = input[i];
+  }
+  return (branchOnLoad(values, 6) + useAfterLoop(values, 6)) & 0xff;
+}
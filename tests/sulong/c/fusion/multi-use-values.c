@@ -0,0 +1,27 @@
+volatile int input[] = { 3, -7, 12, 5, 0, 9 };
+
+__attribute__((noinline)) int scale(int *array, int n, int f) {
+  int sum = 0;
+  for (int i = 0; i < n; i++) {
+    int value = array[i];
+    array[i] = value * f;
+    sum += value + array[i];
+  }
+  return sum;
+}
+
+__attribute__((noinline)) int compareTwice(int a, int b) {
+  int less = a < b;
+  int sum = a + b;
+  return less * sum + less + (sum > 3) * sum;
+}
+
+int main() {
+  int values[6];
+  for (int i = 0; i < 6; i++) {
+    values[i] = input[i];
+  }
+  int result = scale(values, 6, input[3]);
+  result += compareTwice(input[0], input[1]) + compareTwice(input[1], input[2]);
+  return result & 0xff;
+}
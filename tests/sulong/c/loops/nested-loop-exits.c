@@ -0,0 +1,49 @@
+#include <stdlib.h>
+
+int find(int *values, int n, int key) {
+  for (int i = 0; i < n; i++) {
+    if (values[i] == key) {
+      return i;
+    }
+  }
+  return -1;
+}
+
+int countPairs(int n) {
+  int count = 0;
+  for (int i = 0; i < n; i++) {
+    for (int j = 0; j < n; j++) {
+      if (j > i) {
+        goto next;
+      }
+      if (i + j == 7) {
+        break;
+      }
+      count++;
+    }
+    count += 2;
+  next:;
+  }
+  return count;
+}
+
+int main() {
+  int values[] = { 4, 8, 15, 16, 23, 42 };
+  if (find(values, 6, 23) != 4 || find(values, 6, 5) != -1) {
+    abort();
+  }
+  int sum = 0;
+  int i = 0;
+  while (1) {
+    int j = i;
+    do {
+      sum += j;
+      j--;
+    } while (j > 0);
+    if (sum > 1000) {
+      break;
+    }
+    i++;
+  }
+  return (countPairs(10) + sum + i) % 256;
+}
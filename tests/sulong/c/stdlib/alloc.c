@@ -0,0 +1,46 @@
+#include <errno.h>
+#include <stdint.h>
+#include <stdlib.h>
+
+int main() {
+  int *zeroed = calloc(1000, sizeof(int));
+  for (int i = 0; i < 1000; i++) {
+    if (zeroed[i] != 0) {
+      return 1;
+    }
+  }
+  free(zeroed);
+  char *large = calloc(1 << 20, 1);
+  if (large == NULL || large[0] != 0 || large[(1 << 20) - 1] != 0) {
+    return 2;
+  }
+  free(large);
+  if (calloc(SIZE_MAX / 2, 4) != NULL || errno != ENOMEM) {
+    return 3;
+  }
+  long *array = NULL;
+  for (long length = 1; length <= 100000; length++) {
+    array = realloc(array, length * sizeof(long));
+    array[length - 1] = length;
+  }
+  for (long i = 0; i < 100000; i++) {
+    if (array[i] != i + 1) {
+      return 4;
+    }
+  }
+  free(array);
+  void *aligned = aligned_alloc(64, 256);
+  if (aligned == NULL || (uintptr_t)aligned % 64 != 0) {
+    return 5;
+  }
+  free(aligned);
+  void *memory;
+  if (posix_memalign(&memory, 4096, 100) != 0 || (uintptr_t)memory % 4096 != 0) {
+    return 6;
+  }
+  free(memory);
+  if (posix_memalign(&memory, 3, 100) != EINVAL) {
+    return 7;
+  }
+  return 0;
+}
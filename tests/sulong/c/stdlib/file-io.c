@@ -0,0 +1,83 @@
+#include <errno.h>
+#include <fcntl.h>
+#include <stdio.h>
+#include <string.h>
+#include <unistd.h>
+
+/*
+ * Checks open, read, write, lseek and close on a regular file, that a duplicated descriptor shares
+ * the file offset, and that reading or writing a descriptor without the access fails with EBADF.
+ */
+
+int main() {
+  char name[64];
+  char buffer[16];
+  sprintf(name, "/tmp/sulong-file-io-%d", (int)getpid());
+
+  int fd = open(name, O_RDWR | O_CREAT | O_TRUNC, 0600);
+  if (fd < 0) {
+    return 1;
+  }
+  if (write(fd, "hello world", 11) != 11) {
+    return 2;
+  }
+  if (lseek(fd, 0, SEEK_CUR) != 11 || lseek(fd, 6, SEEK_SET) != 6) {
+    return 3;
+  }
+  if (read(fd, buffer, 3) != 3 || memcmp(buffer, "wor", 3) != 0) {
+    return 4;
+  }
+  if (lseek(fd, 0, SEEK_CUR) != 9) {
+    return 5;
+  }
+  int copy = dup(fd);
+  if (read(copy, buffer, sizeof(buffer)) != 2 || memcmp(buffer, "ld", 2) != 0) {
+    return 6;
+  }
+  if (lseek(fd, 0, SEEK_CUR) != 11 || read(fd, buffer, sizeof(buffer)) != 0) {
+    return 7;
+  }
+  if (lseek(fd, -5, SEEK_END) != 6 || write(fd, "there", 5) != 5) {
+    return 8;
+  }
+  close(copy);
+  if (close(fd) != 0) {
+    return 9;
+  }
+
+  int readOnly = open(name, O_RDONLY);
+  if (readOnly < 0) {
+    return 10;
+  }
+  errno = 0;
+  if (write(readOnly, "x", 1) != -1 || errno != EBADF) {
+    return 11;
+  }
+  if (read(readOnly, buffer, sizeof(buffer)) != 11 || memcmp(buffer, "hello there", 11) != 0) {
+    return 12;
+  }
+  close(readOnly);
+
+  int writeOnly = open(name, O_WRONLY | O_APPEND);
+  if (writeOnly < 0) {
+    return 13;
+  }
+  errno = 0;
+  if (read(writeOnly, buffer, sizeof(buffer)) != -1 || errno != EBADF) {
+    return 14;
+  }
+  if (write(writeOnly, "!", 1) != 1 || lseek(writeOnly, 0, SEEK_CUR) != 12) {
+    return 15;
+  }
+  close(writeOnly);
+
+  errno = 0;
+  if (read(writeOnly, buffer, sizeof(buffer)) != -1 || errno != EBADF) {
+    return 16;
+  }
+  if (open(name, O_RDWR | O_CREAT | O_EXCL, 0600) != -1 || errno != EEXIST) {
+    return 17;
+  }
+  unlink(name);
+  return 0;
+}
@@ -0,0 +1,37 @@
+#include <math.h>
+#include <stdlib.h>
+
+volatile float quarter = 0.25f;
+volatile float minusOneAndHalf = -1.5f;
+volatile float two = 2.0f;
+volatile float nanValue = NAN;
+volatile double third = 1.0 / 3.0;
+volatile double minusTwoAndHalf = -2.5;
+
+int main() {
+  if (sqrtf(quarter) != 0.5f) {
+    abort();
+  } else if (fabsf(minusOneAndHalf) != 1.5f) {
+    abort();
+  } else if (floorf(minusOneAndHalf) != -2.0f || ceilf(minusOneAndHalf) != -1.0f || truncf(minusOneAndHalf) != -1.0f) {
+    abort();
+  } else if (rintf(minusOneAndHalf) != -2.0f || rint(minusTwoAndHalf) != -2.0 || trunc(minusTwoAndHalf) != -2.0) {
+    abort();
+  } else if (powf(two, 10.0f) != 1024.0f || expf(0.0f * two) != 1.0f || logf(two / two) != 0.0f) {
+    abort();
+  } else if (fabsf(sinf(quarter) - 0.24740396f) > 1e-6f || fabsf(cosf(quarter) - 0.96891242f) > 1e-6f) {
+    abort();
+  } else if (fabsf(atan2f(two, two) - 0.78539816f) > 1e-6f || fabs(tanh(third) - 0.32151273753163434) > 1e-15) {
+    abort();
+  } else if (copysignf(two, minusOneAndHalf) != -2.0f || copysign(third, -0.0) != -third) {
+    abort();
+  } else if (fminf(nanValue, two) != 2.0f || fmaxf(two, nanValue) != 2.0f || fmin(third, minusTwoAndHalf) != -2.5) {
+    abort();
+  } else if (fmaf(two, quarter, minusOneAndHalf) != -1.0f) {
+    abort();
+  } else if (fma(third, 3.0, -1.0) != -5.551115123125783e-17) {
+    // the unfused computation rounds the product to 1.0 and returns 0
+    abort();
+  }
+  return 0;
+}
@@ -0,0 +1,101 @@
+#include <errno.h>
+#include <fcntl.h>
+#include <stdio.h>
+#include <string.h>
+#include <sys/mman.h>
+#include <unistd.h>
+
+/*
+ * Checks the error paths of mmap and munmap on file mappings, and that a shared writable mapping
+ * writes through to the file. Unmapping a part of a mapping may either succeed or be rejected with
+ * EINVAL, but must leave the rest of the mapping accessible. The pages of an anonymous mapping can
+ * be unmapped one by one and in any order.
+ */
+
+#define PAGES 4
+
+int main() {
+  char name[64];
+  sprintf(name, "/tmp/sulong-mmap-%d", (int)getpid());
+  long pageSize = sysconf(_SC_PAGESIZE);
+  long size = PAGES * pageSize;
+
+  int fd = open(name, O_RDWR | O_CREAT | O_TRUNC, 0600);
+  if (fd < 0 || ftruncate(fd, size) != 0) {
+    return 1;
+  }
+  char *shared = mmap(NULL, size, PROT_READ | PROT_WRITE, MAP_SHARED, fd, 0);
+  if (shared == MAP_FAILED) {
+    return 2;
+  }
+  memcpy(shared + pageSize, "mapped", 6);
+  if (msync(shared, size, MS_SYNC) != 0) {
+    return 3;
+  }
+  char buffer[6];
+  if (pread(fd, buffer, 6, pageSize) != 6 || memcmp(buffer, "mapped", 6) != 0) {
+    return 4;
+  }
+
+  errno = 0;
+  if (mmap(NULL, pageSize, PROT_READ, MAP_SHARED, fd, 100) != MAP_FAILED || errno != EINVAL) {
+    return 5;
+  }
+
+  int readOnly = open(name, O_RDONLY);
+  errno = 0;
+  if (mmap(NULL, size, PROT_READ | PROT_WRITE, MAP_SHARED, readOnly, 0) != MAP_FAILED || errno != EACCES) {
+    return 6;
+  }
+  int writeOnly = open(name, O_WRONLY);
+  errno = 0;
+  if (mmap(NULL, size, PROT_READ, MAP_PRIVATE, writeOnly, 0) != MAP_FAILED || errno != EACCES) {
+    return 7;
+  }
+  close(writeOnly);
+
+  char *mapped = mmap(NULL, size, PROT_READ, MAP_SHARED, readOnly, 0);
+  if (mapped == MAP_FAILED) {
+    return 8;
+  }
+  errno = 0;
+  int result = munmap(mapped + 3 * pageSize, pageSize);
+  if (result != 0 && (result != -1 || errno != EINVAL)) {
+    return 9;
+  }
+  errno = 0;
+  result = munmap(mapped + 2 * pageSize, pageSize);
+  if (result != 0 && (result != -1 || errno != EINVAL)) {
+    return 10;
+  }
+  if (memcmp(mapped + pageSize, "mapped", 6) != 0) {
+    return 11;
+  }
+  if (munmap(mapped, 2 * pageSize) != 0 && munmap(mapped, size) != 0) {
+    return 12;
+  }
+  close(readOnly);
+
+  if (munmap(shared, size) != 0) {
+    return 13;
+  }
+  close(fd);
+  unlink(name);
+
+  char *anonymous = mmap(NULL, size, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+  if (anonymous == MAP_FAILED) {
+    return 14;
+  }
+  if (munmap(anonymous + pageSize, pageSize) != 0 || munmap(anonymous + 3 * pageSize, pageSize) != 0) {
+    return 15;
+  }
+  anonymous[0] = 1;
+  anonymous[2 * pageSize] = 2;
+  if (anonymous[0] + anonymous[2 * pageSize] != 3) {
+    return 16;
+  }
+  if (munmap(anonymous + 2 * pageSize, pageSize) != 0 || munmap(anonymous, pageSize) != 0) {
+    return 17;
+  }
+  return 0;
+}
@@ -0,0 +1,41 @@
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+
+int main(int argc, char **argv) {
+  int file = open(argv[0], O_RDONLY);
+  if (file < 0) {
+    return 1;
+  }
+  struct stat fileStat;
+  if (fstat(file, &fileStat) < 0 || fileStat.st_size <= 0) {
+    return 2;
+  }
+  const unsigned char *mapped = mmap(NULL, fileStat.st_size, PROT_READ, MAP_PRIVATE, file, 0);
+  if (mapped == MAP_FAILED) {
+    return 3;
+  }
+  unsigned char buffer[256];
+  long position = 0;
+  while (position < fileStat.st_size) {
+    ssize_t count = read(file, buffer, sizeof(buffer));
+    if (count <= 0) {
+      return 4;
+    }
+    for (ssize_t i = 0; i < count; i++) {
+      if (mapped[position + i] != buffer[i]) {
+        return 5;
+      }
+    }
+    position += count;
+  }
+  if (msync((void *)mapped, fileStat.st_size, MS_SYNC) != 0) {
+    return 6;
+  }
+  if (munmap((void *)mapped, fileStat.st_size) != 0) {
+    return 7;
+  }
+  close(file);
+  return 0;
+}
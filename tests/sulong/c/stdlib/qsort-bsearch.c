@@ -0,0 +1,72 @@
+#define _GNU_SOURCE
+#include <stdlib.h>
+
+struct entry {
+  char key;
+  short value;
+  int order;
+};
+
+static int compareKeys(const void *a, const void *b) { return ((const struct entry *)a)->key - ((const struct entry *)b)->key; }
+
+static int compareInts(const void *a, const void *b, void *direction) {
+  int x = *(const int *)a;
+  int y = *(const int *)b;
+  return *(int *)direction * (x < y ? -1 : x > y);
+}
+
+static int compareKeyToInt(const void *key, const void *element) {
+  int x = *(const int *)key;
+  int y = *(const int *)element;
+  return x < y ? -1 : x > y;
+}
+
+int main() {
+  struct entry entries[100];
+  int values[37];
+  int direction = -1;
+  int i;
+
+  for (i = 0; i < 100; i++) {
+    entries[i].key = (char)((i * 7) % 13);
+    entries[i].value = (short)(i * 3);
+    entries[i].order = i;
+  }
+  qsort(entries, 100, sizeof(struct entry), compareKeys);
+  for (i = 1; i < 100; i++) {
+    if (entries[i - 1].key > entries[i].key) {
+      return 1;
+    }
+    if (entries[i - 1].key == entries[i].key && entries[i - 1].order > entries[i].order) {
+      return 2;
+    }
+    if (entries[i].value != entries[i].order * 3) {
+      return 3;
+    }
+  }
+
+  for (i = 0; i < 37; i++) {
+    values[i] = (i * 17) % 37 - 18;
+  }
+  qsort_r(values, 37, sizeof(int), compareInts, &direction);
+  for (i = 0; i < 37; i++) {
+    if (values[i] != 18 - i) {
+      return 4;
+    }
+  }
+
+  direction = 1;
+  qsort_r(values, 37, sizeof(int), compareInts, &direction);
+  for (i = -18; i <= 18; i++) {
+    int *found = bsearch(&i, values, 37, sizeof(int), compareKeyToInt);
+    if (found == NULL || *found != i || found != &values[i + 18]) {
+      return 5;
+    }
+  }
+  i = 19;
+  if (bsearch(&i, values, 37, sizeof(int), compareKeyToInt) != NULL || bsearch(&i, values, 0, sizeof(int), compareKeyToInt) != NULL) {
+    return 6;
+  }
+  qsort(values, 0, sizeof(int), compareKeyToInt);
+  return 0;
+}
@@ -0,0 +1,61 @@
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <unistd.h>
+
+/*
+ * Redirects stdout to a temporary file and writes to the same file through a second descriptor,
+ * which makes the points at which stdout is flushed visible in the file.
+ */
+
+static int raw;
+
+static void rawWrite(const char *s) {
+  write(raw, s, strlen(s));
+}
+
+int main() {
+  char name[] = "/tmp/sulong-stdio-XXXXXX";
+  int file = mkstemp(name);
+  if (file < 0) {
+    return 1;
+  }
+  unlink(name);
+  int savedStdout = dup(1);
+  dup2(file, 1);
+  raw = file;
+
+  printf("a%d", 1);
+  puts("b");
+  fwrite("c\n", 1, 2, stdout);
+  rawWrite("[1]");
+  fflush(stdout);
+  rawWrite("[2]");
+
+  setvbuf(stdout, NULL, _IOLBF, BUFSIZ);
+  printf("d\ne");
+  rawWrite("[3]");
+  putchar('\n');
+  rawWrite("[4]");
+  fflush(stdout);
+
+  setvbuf(stdout, NULL, _IONBF, 0);
+  printf("f");
+  rawWrite("[5]");
+  fputs("g", stdout);
+  rawWrite("[6]");
+
+  fflush(stdout);
+  dup2(savedStdout, 1);
+  close(savedStdout);
+
+  char buffer[128];
+  ssize_t length = pread(file, buffer, sizeof(buffer) - 1, 0);
+  close(file);
+  if (length < 0) {
+    return 2;
+  }
+  buffer[length] = '\0';
+  const char *expected = "[1]a1b\nc\n[2]d\n[3]e\n[4]f[5]g[6]";
+  return strcmp(buffer, expected) == 0 ? 0 : 3;
+}
@@ -0,0 +1,66 @@
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <unistd.h>
+
+/*
+ * Checks that a prompt without a newline is written to stdout before input is read from stdin.
+ * stdin is unbuffered and stdout line buffered, for which glibc flushes stdout before reading.
+ */
+
+static int createFile(const char *content) {
+  char name[] = "/tmp/sulong-stdio-XXXXXX";
+  int file = mkstemp(name);
+  if (file >= 0) {
+    unlink(name);
+    write(file, content, strlen(content));
+    lseek(file, 0, SEEK_SET);
+  }
+  return file;
+}
+
+int main() {
+  int input = createFile("x\n42\nline\n");
+  int output = createFile("");
+  if (input < 0 || output < 0) {
+    return 1;
+  }
+  int savedStdin = dup(0);
+  int savedStdout = dup(1);
+  dup2(input, 0);
+  dup2(output, 1);
+  setvbuf(stdin, NULL, _IONBF, 0);
+  setvbuf(stdout, NULL, _IOLBF, BUFSIZ);
+
+  printf("char? ");
+  int c = getchar();
+  write(output, "|", 1);
+  getchar();
+  printf("number? ");
+  int number = 0;
+  int matched = scanf("%d\n", &number);
+  write(output, "|", 1);
+  printf("line? ");
+  char line[16];
+  char *result = fgets(line, sizeof(line), stdin);
+  write(output, "|", 1);
+
+  fflush(stdout);
+  dup2(savedStdin, 0);
+  dup2(savedStdout, 1);
+  close(savedStdin);
+  close(savedStdout);
+
+  char buffer[128];
+  ssize_t length = pread(output, buffer, sizeof(buffer) - 1, 0);
+  close(input);
+  close(output);
+  if (length < 0) {
+    return 2;
+  }
+  buffer[length] = '\0';
+  if (c != 'x' || matched != 1 || number != 42 || result == NULL || strcmp(line, "line\n") != 0) {
+    return 3;
+  }
+  return strcmp(buffer, "char? |number? |line? |") == 0 ? 0 : 4;
+}
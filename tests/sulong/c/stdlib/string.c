@@ -0,0 +1,54 @@
+#include <string.h>
+
+static int sign(int value) { return value < 0 ? -1 : value > 0; }
+
+int main() {
+  char buffer[64];
+  char other[64];
+  const char *text = "the quick brown fox jumps over the lazy dog";
+  int offset;
+
+  for (offset = 0; offset < 8; offset++) {
+    char *s = buffer + offset;
+    strcpy(s, text);
+    if (strlen(s) != 43) {
+      return 1;
+    }
+    if (strcmp(s, text) != 0) {
+      return 2;
+    }
+    if (strchr(s, 'z') != s + 37 || strchr(s, 'X') != NULL || strchr(s, '\0') != s + 43) {
+      return 3;
+    }
+    if (memchr(s, 'g', 43) != s + 42 || memchr(s, 'g', 42) != NULL) {
+      return 4;
+    }
+    if (strstr(s, "lazy") != s + 35 || strstr(s, "lazz") != NULL || strstr(s, "") != s) {
+      return 5;
+    }
+    strcpy(other + (7 - offset), text);
+    other[7 - offset + 40] = 'a';
+    if (sign(strcmp(s, other + (7 - offset))) != 1 || sign(strncmp(s, other + (7 - offset), 40)) != 0 ||
+        sign(strncmp(other + (7 - offset), s, 41)) != -1) {
+      return 6;
+    }
+    if (sign(memcmp(s, other + (7 - offset), 40)) != 0 || sign(memcmp(s, other + (7 - offset), 43)) != 1) {
+      return 7;
+    }
+    memset(other, 'x', sizeof(other));
+    strncpy(other, s, 10);
+    if (memcmp(other, text, 10) != 0 || other[10] != 'x') {
+      return 8;
+    }
+    strncpy(other, "fox", 20);
+    if (strcmp(other, "fox") != 0 || other[19] != '\0' || other[20] != 'x') {
+      return 9;
+    }
+  }
+  buffer[0] = (char) 0xe4;
+  buffer[1] = '\0';
+  if (sign(strcmp(buffer, "a")) != 1 || sign(memcmp(buffer, "a", 1)) != 1) {
+    return 10;
+  }
+  return 0;
+}
@@ -0,0 +1,44 @@
+#include <sys/time.h>
+#include <time.h>
+
+int main() {
+  struct timespec previous;
+  if (clock_gettime(CLOCK_MONOTONIC, &previous) != 0) {
+    return 1;
+  }
+  for (int i = 0; i < 1000; i++) {
+    struct timespec current;
+    clock_gettime(CLOCK_MONOTONIC, &current);
+    if (current.tv_nsec < 0 || current.tv_nsec >= 1000000000) {
+      return 2;
+    }
+    if (current.tv_sec < previous.tv_sec || (current.tv_sec == previous.tv_sec && current.tv_nsec < previous.tv_nsec)) {
+      return 3;
+    }
+    previous = current;
+  }
+  struct timespec realtime;
+  if (clock_gettime(CLOCK_REALTIME, &realtime) != 0) {
+    return 4;
+  }
+  struct timeval timeOfDay;
+  if (gettimeofday(&timeOfDay, NULL) != 0 || timeOfDay.tv_usec < 0 || timeOfDay.tv_usec >= 1000000) {
+    return 5;
+  }
+  time_t seconds;
+  time_t result = time(&seconds);
+  if (result != seconds) {
+    return 6;
+  }
+  if (timeOfDay.tv_sec < realtime.tv_sec || timeOfDay.tv_sec - realtime.tv_sec > 1 || result < timeOfDay.tv_sec || result - timeOfDay.tv_sec > 1) {
+    return 7;
+  }
+  struct timespec cpu;
+  if (clock_gettime(CLOCK_PROCESS_CPUTIME_ID, &cpu) != 0 || cpu.tv_nsec < 0 || cpu.tv_nsec >= 1000000000) {
+    return 8;
+  }
+  if (clock() < 0) {
+    return 9;
+  }
+  return 0;
+}
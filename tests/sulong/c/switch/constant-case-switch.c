@@ -0,0 +1,93 @@
+#include <stdlib.h>
+
+int dense(int op) {
+  switch (op) {
+  case 0:
+    return 3;
+  case 1:
+    return 5;
+  case 2:
+    return 7;
+  case 3:
+    return 11;
+  case 5:
+    return 13;
+  case 6:
+    return 17;
+  case 7:
+    return 19;
+  case 8:
+    return 23;
+  case 9:
+    return 29;
+  case 11:
+    return 31;
+  default:
+    return 1;
+  }
+}
+
+int sparse(long value) {
+  switch (value) {
+  case -9223372036854775807L - 1:
+    return 1;
+  case -100000:
+    return 2;
+  case -1:
+    return 3;
+  case 0:
+    return 4;
+  case 42:
+    return 5;
+  case 1000:
+    return 6;
+  case 65536:
+    return 7;
+  case 1L << 40:
+    return 8;
+  case 9223372036854775807L:
+    return 9;
+  default:
+    return 0;
+  }
+}
+
+int chars(signed char c) {
+  switch (c) {
+  case -128:
+    return 1;
+  case -3:
+    return 2;
+  case -2:
+    return 3;
+  case -1:
+    return 4;
+  case 'a':
+    return 5;
+  case 'b':
+    return 6;
+  case 'c':
+    return 7;
+  case 'd':
+    return 8;
+  case 127:
+    return 9;
+  default:
+    return 0;
+  }
+}
+
+int main() {
+  int sum = 0;
+  for (int i = -2; i < 14; i++) {
+    sum += dense(i);
+  }
+  long sparseValues[] = { -9223372036854775807L - 1, -100001, -100000, -1, 0, 1, 42, 999, 1000, 65536, 1L << 40, (1L << 40) + 1, 9223372036854775807L };
+  for (int i = 0; i < sizeof(sparseValues) / sizeof(sparseValues[0]); i++) {
+    sum += sparse(sparseValues[i]) * (i + 1);
+  }
+  for (int c = -128; c < 128; c++) {
+    sum += chars((signed char)c);
+  }
+  return sum % 256;
+}